@@ -0,0 +1,69 @@
+package com.maemong.attendance.adapters.db;
+
+import org.jdbi.v3.core.Handle;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 근무시간 집계 테이블(agg_emp_day / agg_emp_month / agg_day) 재구성·검증.
+ * 평소 증감은 attendance 트리거(V4, 삭제는 V8)가 맡고, 여기서는 원본 기록 기준으로 전체를 다시 만들거나 어긋남을 센다.
+ */
+final class AttendanceAggregates {
+	private AttendanceAggregates() {}
+
+	// 보관(V8)된 연도는 원본이 보관 DB로 옮겨졌으므로 집계를 그대로 두고 재구성/검증에서 뺀다
+	private static final String HOT_DAY =
+			" NOT EXISTS (SELECT 1 FROM attendance_archives x WHERE work_day BETWEEN x.first_day AND x.last_day)";
+	private static final String HOT_YM = " ym / 100 NOT IN (SELECT year FROM attendance_archives)";
+
+	// 출퇴근이 모두 있는 기록의 근무 분(자정 넘김 포함). 하나라도 NULL이면 SUM에서 제외
+	private static final String MINUTES = "((out_min - in_min + 1440) % 1440)";
+
+	private static final String EMP_DAY_FROM_ROWS =
+			"SELECT employee_id, work_day, IFNULL(SUM(" + MINUTES + "), 0), COUNT(*) FROM attendance";
+	private static final String EMP_MONTH_FROM_EMP_DAY =
+			"SELECT employee_id, CAST(strftime('%Y%m', work_day + 2440587.5) AS INTEGER) AS ym, SUM(minutes), SUM(shifts) FROM agg_emp_day";
+	private static final String DAY_FROM_ROWS =
+			"SELECT work_day, IFNULL(SUM(" + MINUTES + "), 0), COUNT(*) FROM attendance";
+
+	/** 월 집계 키(yyyymm) */
+	static int yearMonth(long epochDay) {
+		LocalDate d = LocalDate.ofEpochDay(epochDay);
+		return d.getYear() * 100 + d.getMonthValue();
+	}
+
+	/** 집계 테이블 전체(보관 연도 제외)를 원본에서 다시 만든다. 반환: 일 집계(사번×일) 행 수 */
+	static int rebuild(Handle h) {
+		h.execute("DELETE FROM agg_emp_day WHERE" + HOT_DAY);
+		h.execute("DELETE FROM agg_emp_month WHERE" + HOT_YM);
+		h.execute("DELETE FROM agg_day WHERE" + HOT_DAY);
+		int n = h.execute("INSERT INTO agg_emp_day(employee_id, work_day, minutes, shifts) " +
+				EMP_DAY_FROM_ROWS + " WHERE" + HOT_DAY + " GROUP BY employee_id, work_day");
+		h.execute("INSERT INTO agg_emp_month(employee_id, ym, minutes, shifts) " + EMP_MONTH_FROM_EMP_DAY + " WHERE" + HOT_DAY + " GROUP BY employee_id, ym");
+		h.execute("INSERT INTO agg_day(work_day, minutes, shifts) " + DAY_FROM_ROWS + " WHERE" + HOT_DAY + " GROUP BY work_day");
+		return n;
+	}
+
+	/** 원본에서 계산한 값과 저장된 집계를 비교(보관 연도 제외): 테이블별 불일치 버킷 수(양방향 차집합) */
+	static Map<String, Integer> verify(Handle h) {
+		Map<String, Integer> out = new LinkedHashMap<>();
+		out.put("agg_emp_day", mismatches(h,
+				EMP_DAY_FROM_ROWS + " WHERE" + HOT_DAY + " GROUP BY employee_id, work_day",
+				"SELECT employee_id, work_day, minutes, shifts FROM agg_emp_day WHERE" + HOT_DAY));
+		out.put("agg_emp_month", mismatches(h,
+				"SELECT employee_id, CAST(strftime('%Y%m', work_day + 2440587.5) AS INTEGER) AS ym, IFNULL(SUM(" + MINUTES + "), 0), COUNT(*) FROM attendance" +
+						" WHERE" + HOT_DAY + " GROUP BY employee_id, ym",
+				"SELECT employee_id, ym, minutes, shifts FROM agg_emp_month WHERE" + HOT_YM));
+		out.put("agg_day", mismatches(h,
+				DAY_FROM_ROWS + " WHERE" + HOT_DAY + " GROUP BY work_day",
+				"SELECT work_day, minutes, shifts FROM agg_day WHERE" + HOT_DAY));
+		return out;
+	}
+
+	private static int mismatches(Handle h, String expected, String stored) {
+		return h.createQuery("SELECT (SELECT COUNT(*) FROM (" + expected + " EXCEPT " + stored + "))" +
+						" + (SELECT COUNT(*) FROM (" + stored + " EXCEPT " + expected + "))")
+				.mapTo(Integer.class).one();
+	}
+}
@@ -0,0 +1,166 @@
+package com.maemong.attendance.adapters.db;
+
+import org.jdbi.v3.core.Handle;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 연도별 보관 DB(attendance-YYYY.db) 다루기: 등록, 청크 이동, ATTACH, 빈 페이지 반환.
+ * 보관 DB는 hot DB와 같은 attendance 열(id 유지) + 전문검색 색인을 가진다.
+ * 보관 목록은 hot DB의 attendance_archives(V8)에 있다.
+ */
+final class AttendanceArchive {
+	private AttendanceArchive() {}
+
+	// 한 연결에 붙여 둘 보관 DB 수 상한(SQLite 기본 ATTACH 한도 10보다 작게)
+	static final int MAX_ATTACHED = 8;
+
+	/** 보관 연도 + 구간(epoch-day, 양끝 포함) */
+	record Year(int year, long firstDay, long lastDay, String file) {
+		boolean overlaps(long from, long to) { return firstDay <= to && from <= lastDay; }
+	}
+
+	static String fileName(int year) { return "attendance-" + year + ".db"; }
+
+	static String schema(int year) { return "arc_" + year; }
+
+	static List<Year> load(Handle h) {
+		return h.createQuery("SELECT year, first_day, last_day, file FROM attendance_archives ORDER BY year")
+				.map((rs, ctx) -> new Year(rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getString(4)))
+				.list();
+	}
+
+	/** 이동 전에 먼저 등록: 이후 그 구간의 삭제는 집계 트리거가 건너뛰고, 조회는 보관 DB도 함께 읽는다(V8) */
+	static void register(Handle h, int year) {
+		h.createUpdate("INSERT INTO attendance_archives(year, first_day, last_day, file) VALUES (:y, :f, :t, :file)" +
+						" ON CONFLICT(year) DO NOTHING")
+				.bind("y", year)
+				.bind("f", LocalDate.of(year, 1, 1).toEpochDay())
+				.bind("t", LocalDate.of(year, 12, 31).toEpochDay())
+				.bind("file", fileName(year))
+				.execute();
+	}
+
+	static void recordMoved(Handle h, int year, int moved) {
+		h.createUpdate("UPDATE attendance_archives SET rows = rows + :n, archived_at = datetime('now') WHERE year = :y")
+				.bind("n", moved)
+				.bind("y", year)
+				.execute();
+	}
+
+	/**
+	 * 보관 구간의 기록을 최대 chunk건 보관 DB로 옮긴다. 반환: 옮긴 행 수(0이면 끝)
+	 * WAL에서는 여러 DB에 걸친 트랜잭션이 DB별로만 원자적이라, 한 트랜잭션으로 복사+삭제하면 두 커밋 사이에
+	 * 죽었을 때 hot DB에서만 지워지고 보관 DB에는 없는 행이 생길 수 있다. 그래서 보관 DB로의 복사를 먼저 커밋하고,
+	 * 그 다음 트랜잭션에서 같은 id를 hot DB에서 지운다. 사이에 끊기면 행이 양쪽에 남을 뿐이고,
+	 * 다시 보관하면 INSERT OR REPLACE로 덮어쓴 뒤 지우므로 중복이 남지 않는다.
+	 * 등록된 보관 구간의 행은 고칠 수 없으므로(저장소가 거절) 두 트랜잭션 사이에 내용이 바뀌지 않는다.
+	 * 지운 수는 같은 트랜잭션에서 보관 목록(rows)에 더한다.
+	 * 보관 DB는 attach()로 이 연결에 붙어 있어야 한다.
+	 */
+	static int moveChunk(Handle h, Year y, int chunk) {
+		String s = schema(y.year());
+		List<Long> ids = h.inTransaction(tx -> {
+			List<Long> found = tx.createQuery("SELECT id FROM main.attendance WHERE work_day BETWEEN :f AND :t LIMIT :n")
+					.bind("f", y.firstDay())
+					.bind("t", y.lastDay())
+					.bind("n", chunk)
+					.mapTo(Long.class)
+					.list();
+			if (found.isEmpty()) return found;
+			tx.createUpdate("INSERT OR REPLACE INTO " + s + ".attendance(id, employee_id, work_day, in_min, out_min, memo, created_at, updated_at)" +
+							" SELECT id, employee_id, work_day, in_min, out_min, memo, created_at, updated_at FROM main.attendance WHERE id IN (<ids>)")
+					.bindList("ids", found)
+					.execute();
+			tx.createUpdate("INSERT OR REPLACE INTO " + s + ".attendance_fts(rowid, memo, name)" +
+							" SELECT a.id, a.memo, e.name FROM main.attendance a LEFT JOIN main.employees e ON e.id = a.employee_id WHERE a.id IN (<ids>)")
+					.bindList("ids", found)
+					.execute();
+			return found;
+		});
+		if (ids.isEmpty()) return 0;
+		h.useTransaction(tx -> {
+			int deleted = tx.createUpdate("DELETE FROM main.attendance WHERE id IN (<ids>)")
+					.bindList("ids", ids)
+					.execute();
+			recordMoved(tx, y.year(), deleted); // 같은 트랜잭션: 보관 목록의 행 수는 hot DB에서 실제로 빠진 수와 늘 같다
+		});
+		return ids.size();
+	}
+
+	/** 이 연결에 붙어 있으면 뗀다 */
+	static void detach(Handle h, Year y) {
+		String s = schema(y.year());
+		boolean attached = h.createQuery("PRAGMA database_list").map((rs, ctx) -> rs.getString(2)).list().contains(s);
+		if (attached) h.execute("DETACH DATABASE " + s);
+	}
+
+	/** 보관 DB 파일과 테이블을 만든다(이미 있으면 그대로). 등록 전에 해 두어야 조회 쪽 ATTACH가 실패하지 않는다 */
+	static void prepare(Handle h, Path file, int year) {
+		String s = schema(year);
+		h.execute("ATTACH DATABASE ? AS " + s, file.toString());
+		try {
+			createSchema(h, s);
+		} finally {
+			h.execute("DETACH DATABASE " + s);
+		}
+	}
+
+	// hot DB와 같은 열/조회 인덱스. 보관 DB는 읽기 위주라 자연키 유일 인덱스 대신 사번+기간 인덱스만 둔다
+	private static void createSchema(Handle h, String s) {
+		h.execute("CREATE TABLE IF NOT EXISTS " + s + ".attendance (" +
+				"id INTEGER PRIMARY KEY, employee_id INTEGER NOT NULL, work_day INTEGER NOT NULL," +
+				" in_min INTEGER, out_min INTEGER, memo TEXT, created_at TEXT, updated_at TEXT)");
+		h.execute("CREATE INDEX IF NOT EXISTS " + s + ".idx_attendance_date_emp ON attendance (work_day, employee_id, in_min, out_min, memo)");
+		h.execute("CREATE INDEX IF NOT EXISTS " + s + ".idx_attendance_emp_date ON attendance (employee_id, work_day)");
+		h.execute("CREATE VIRTUAL TABLE IF NOT EXISTS " + s + ".attendance_fts USING fts5(memo, name," +
+				" tokenize = 'unicode61 remove_diacritics 2', content = '', contentless_delete = 1, detail = column)");
+	}
+
+	/**
+	 * 필요한 보관 DB가 이 연결에 붙어 있게 한다(이미 붙어 있으면 그대로 재사용).
+	 * 붙일 자리가 모자라면 이번 조회에 쓰지 않는 보관 DB부터 뗀다.
+	 */
+	static void attach(Handle h, Path dir, List<Year> needed) {
+		Set<String> attached = new LinkedHashSet<>();
+		for (String name : h.createQuery("PRAGMA database_list").map((rs, ctx) -> rs.getString(2)).list()) {
+			if (name.startsWith("arc_")) attached.add(name);
+		}
+		Set<String> want = new HashSet<>();
+		for (Year y : needed) want.add(schema(y.year()));
+		for (Year y : needed) {
+			String s = schema(y.year());
+			if (attached.contains(s)) continue;
+			if (attached.size() >= MAX_ATTACHED) {
+				for (Iterator<String> it = attached.iterator(); it.hasNext(); ) {
+					String old = it.next();
+					if (want.contains(old)) continue;
+					h.execute("DETACH DATABASE " + old);
+					it.remove();
+					break;
+				}
+			}
+			h.execute("ATTACH DATABASE ? AS " + s, dir.resolve(y.file()).toString());
+			attached.add(s);
+		}
+	}
+
+	/** 자동 vacuum 방식이 INCREMENTAL인지(아니면 빈 페이지를 조금씩 돌려줄 수 없다) */
+	static boolean incrementalVacuumEnabled(Handle h) {
+		return h.createQuery("PRAGMA auto_vacuum").mapTo(Integer.class).one() == 2;
+	}
+
+	/** 한 번만: auto_vacuum=INCREMENTAL로 바꾸고 전체 VACUUM(설정은 VACUUM 때 적용됨) */
+	static void enableIncrementalVacuum(Handle h) {
+		h.execute("PRAGMA auto_vacuum = INCREMENTAL");
+		h.execute("VACUUM");
+	}
+
+	/** 빈 페이지를 최대 pages개 파일에서 돌려준다. 반환: 남은 빈 페이지 수 */
+	static int releaseFreePages(Handle h, int pages) {
+		h.execute("PRAGMA incremental_vacuum(" + pages + ")");
+		return h.createQuery("PRAGMA freelist_count").mapTo(Integer.class).one();
+	}
+}
@@ -1,92 +1,561 @@
 package com.maemong.attendance.adapters.db;
 
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.domain.UpsertResult;
 import com.maemong.attendance.ports.AttendanceRepository;
+import com.maemong.attendance.util.DateTimeUtil;
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.SqlStatement;
+import org.jdbi.v3.core.statement.StatementException;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
 
+import java.nio.file.Path;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.*;
 import java.util.*;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class AttendanceRepositoryJdbi implements AttendanceRepository {
-	private final Jdbi jdbi;
-	public AttendanceRepositoryJdbi(Jdbi jdbi) { this.jdbi = jdbi; }
+	private final Jdbi jdbi;   // 쓰기
+	private final Jdbi reader; // 조회
+	private final Path archiveDir; // 연도별 보관 DB 폴더(null이면 보관 기능 없음)
+	private volatile List<AttendanceArchive.Year> archives; // 보관 목록 캐시(null = 다시 읽기)
+	private volatile long archivesLoadedAt;
+
+	public AttendanceRepositoryJdbi(Jdbi jdbi) { this(jdbi, jdbi); }
+	public AttendanceRepositoryJdbi(Jdbi writer, Jdbi reader) { this(writer, reader, null); }
+	public AttendanceRepositoryJdbi(Jdbi writer, Jdbi reader, Path archiveDir) {
+		this.jdbi = writer;
+		this.reader = reader;
+		this.archiveDir = archiveDir;
+	}
+
+	private static final int STREAM_FETCH_SIZE = 500;
+	// IN 목록 한 번에 넣을 id 수(바인드 변수 한도보다 충분히 작게)
+	private static final int DELETE_CHUNK = 500;
+	// 보관 이동 한 트랜잭션의 행 수 / 빈 페이지 반환 한 단계의 페이지 수(4KiB 페이지 기준 1MiB)
+	// 단계 하나가 쓰기 연결을 잡는 시간 = 그동안 화면 저장이 기다리는 최대 시간
+	private static final int ARCHIVE_CHUNK = 200;
+	private static final int VACUUM_STEP_PAGES = 256;
+	// 유지보수 명령(다른 프로세스)이 보관했을 수도 있으므로 보관 목록은 잠깐만 캐시
+	private static final long ARCHIVE_LIST_TTL_NANOS = 10_000_000_000L;
+
+	// 조회 컬럼 고정(순서 = mapRow의 인덱스): idx_attendance_date_emp(covering)로 응답 가능하도록 SELECT * 대신 사용
+	private static final String COLUMNS = "id, employee_id, work_day, in_min, out_min, memo";
 
 	private static final RowMapper<AttendanceRecord> MAPPER = (rs, ctx) -> mapRow(rs);
 
+	// work_day = epoch-day, in_min/out_min = 자정 기준 분 → 문자열 파싱 없이 인덱스로 읽는다
 	private static AttendanceRecord mapRow(ResultSet rs) throws SQLException {
-		return new AttendanceRecord(
-				rs.getLong("id"),
-				rs.getLong("employee_id"),
-				LocalDate.parse(rs.getString("work_date")),
-				rs.getString("clock_in") == null ? null : LocalTime.parse(rs.getString("clock_in")),
-				rs.getString("clock_out") == null ? null : LocalTime.parse(rs.getString("clock_out")),
-				rs.getString("memo")
-		);
+		long id = rs.getLong(1);
+		long employeeId = rs.getLong(2);
+		LocalDate day = LocalDate.ofEpochDay(rs.getInt(3));
+		int in = rs.getInt(4);
+		LocalTime clockIn = rs.wasNull() ? null : DateTimeUtil.ofMinuteOfDay(in);
+		int out = rs.getInt(5);
+		LocalTime clockOut = rs.wasNull() ? null : DateTimeUtil.ofMinuteOfDay(out);
+		return new AttendanceRecord(id, employeeId, day, clockIn, clockOut, rs.getString(6));
+	}
+
+	private static Integer minutes(LocalTime t) {
+		return t == null ? null : DateTimeUtil.minuteOfDay(t);
+	}
+
+	private static final String INSERT_SQL =
+			"INSERT INTO attendance(employee_id,work_day,in_min,out_min,memo,updated_at) " +
+					"VALUES (:eid,:day,:in,:out,:memo,datetime('now'))";
+	private static final String UPDATE_SQL =
+			"UPDATE attendance SET employee_id=:eid, work_day=:day, in_min=:in, out_min=:out, memo=:memo, updated_at=datetime('now') WHERE id=:id";
+
+	// 자연키 충돌 시 퇴근/메모만 갱신, 값이 같으면 UPDATE 자체를 건너뜀(변경 0건 → 쓰기/트리거 없음)
+	// 충돌 대상은 V5의 ux_attendance_natural_key 열과 동일해야 한다
+	private static final String UPSERT_SQL = INSERT_SQL +
+			" ON CONFLICT (employee_id, work_day, in_min) DO UPDATE" +
+			" SET out_min=excluded.out_min, memo=excluded.memo, updated_at=excluded.updated_at" +
+			" WHERE out_min IS NOT excluded.out_min OR memo IS NOT excluded.memo";
+	// 출근 시각이 없는 기록은 자연키가 없다(하루 여러 건 가능): 값이 모두 같은 행이 이미 있을 때만 건너뜀
+	private static final String UPSERT_UNTIMED_SQL =
+			"INSERT INTO attendance(employee_id,work_day,in_min,out_min,memo,updated_at) " +
+					"SELECT :eid,:day,:in,:out,:memo,datetime('now') WHERE NOT EXISTS (" +
+					"SELECT 1 FROM attendance WHERE employee_id=:eid AND work_day=:day AND in_min IS NULL" +
+					" AND out_min IS :out AND memo IS :memo)";
+
+	private static String upsertSql(AttendanceRecord r) {
+		return r.clockIn() == null ? UPSERT_UNTIMED_SQL : UPSERT_SQL;
+	}
+
+	private static <S extends SqlStatement<S>> S bindRecord(S stmt, AttendanceRecord r) {
+		return stmt
+				.bind("eid", r.employeeId())
+				.bind("day", r.workDate().toEpochDay())
+				.bind("in", minutes(r.clockIn()))
+				.bind("out", minutes(r.clockOut()))
+				.bind("memo", r.memo());
+	}
+
+	private static AttendanceRecord withId(AttendanceRecord r, long id) {
+		return new AttendanceRecord(id, r.employeeId(), r.workDate(), r.clockIn(), r.clockOut(), r.memo());
 	}
 
+	// 집계 테이블(agg_*)은 attendance 트리거가 같은 문장 안에서 갱신한다(V4)
 	@Override public AttendanceRecord save(AttendanceRecord r) {
+		return jdbi.withHandle(h -> saveOne(h, r));
+	}
+
+	private static AttendanceRecord saveOne(Handle h, AttendanceRecord r) {
+		try {
+			return insertOrUpdate(h, r);
+		} catch (StatementException ex) {
+			if (ex.getCause() instanceof SQLiteException se && se.getResultCode() == SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE) {
+				throw new IllegalArgumentException("같은 사번·날짜·출근시각의 기록이 이미 있습니다: "
+						+ r.employeeId() + " " + r.workDate() + " " + r.clockIn());
+			}
+			throw ex;
+		}
+	}
+
+	private static AttendanceRecord insertOrUpdate(Handle h, AttendanceRecord r) {
 		if (r.id() == null) {
-			long id = jdbi.withHandle(h -> h.createUpdate(
-							"INSERT INTO attendance(employee_id,work_date,clock_in,clock_out,memo,updated_at) " +
-									"VALUES (:eid,:date,:in,:out,:memo,datetime('now'))")
-					.bind("eid", r.employeeId())
-					.bind("date", r.workDate().toString())
-					.bind("in", r.clockIn() == null ? null : r.clockIn().toString())
-					.bind("out", r.clockOut() == null ? null : r.clockOut().toString())
-					.bind("memo", r.memo())
+			long id = bindRecord(h.createUpdate(INSERT_SQL), r)
 					.executeAndReturnGeneratedKeys("id")
-					.mapTo(Long.class).one());
-			return new AttendanceRecord(id, r.employeeId(), r.workDate(), r.clockIn(), r.clockOut(), r.memo());
+					.mapTo(Long.class).one();
+			return withId(r, id);
 		} else {
-			jdbi.useHandle(h -> h.createUpdate(
-							"UPDATE attendance SET employee_id=:eid, work_date=:date, clock_in=:in, clock_out=:out, memo=:memo, updated_at=datetime('now') WHERE id=:id")
+			int n = bindRecord(h.createUpdate(UPDATE_SQL), r)
 					.bind("id", r.id())
-					.bind("eid", r.employeeId())
-					.bind("date", r.workDate().toString())
-					.bind("in", r.clockIn() == null ? null : r.clockIn().toString())
-					.bind("out", r.clockOut() == null ? null : r.clockOut().toString())
-					.bind("memo", r.memo())
-					.execute());
+					.execute();
+			if (n == 0) throw missing(r.id());
 			return r;
 		}
 	}
 
+	// 수정할 id가 hot DB에 없다: 이미 지워졌거나 보관 DB로 옮겨진 기록(보관된 기록은 읽기 전용)
+	private static IllegalArgumentException missing(long id) {
+		return new IllegalArgumentException("수정할 기록이 없습니다(삭제되었거나 보관된 연도의 기록): " + id);
+	}
+
+	@Override public BatchResult saveAll(Collection<AttendanceRecord> records) {
+		List<AttendanceRecord> rows = new ArrayList<>(records);
+		if (rows.isEmpty()) return new BatchResult(List.of(), List.of());
+		return jdbi.withHandle(h -> saveAll(h, rows));
+	}
+
+	// WAL + synchronous=NORMAL(balanced)은 커밋 때 WAL을 fsync하지 않아 정전이면 마지막 커밋들이 사라질 수 있다.
+	// 이 커밋만 FULL로 WAL까지 fsync하고 연결의 원래 설정으로 돌려놓는다(이미 FULL 이상이면 그대로)
+	@Override public BatchResult saveAllDurable(Collection<AttendanceRecord> records) {
+		List<AttendanceRecord> rows = new ArrayList<>(records);
+		if (rows.isEmpty()) return new BatchResult(List.of(), List.of());
+		return jdbi.withHandle(h -> {
+			int sync = h.createQuery("PRAGMA synchronous").mapTo(Integer.class).one();
+			if (sync >= SYNC_FULL) return saveAll(h, rows);
+			h.execute("PRAGMA synchronous = " + SYNC_FULL);
+			try {
+				return saveAll(h, rows);
+			} finally {
+				h.execute("PRAGMA synchronous = " + sync);
+			}
+		});
+	}
+
+	private static final int SYNC_FULL = 2; // PRAGMA synchronous: 0 OFF, 1 NORMAL, 2 FULL, 3 EXTRA
+
+	private static BatchResult saveAll(Handle h, List<AttendanceRecord> rows) {
+		try {
+			return h.inTransaction(tx -> saveBatch(tx, rows));
+		} catch (Exception batchFailed) {
+			// 배치 중 한 행이라도 실패하면 전체가 롤백되므로, 행 단위(세이브포인트)로 다시 저장해 실패 행만 골라낸다
+			return h.inTransaction(tx -> saveEachWithSavepoint(tx, rows));
+		}
+	}
+
+	private static BatchResult saveBatch(Handle h, List<AttendanceRecord> rows) {
+		PreparedBatch inserts = h.prepareBatch(INSERT_SQL);
+		PreparedBatch updates = h.prepareBatch(UPDATE_SQL);
+		int insertCount = 0;
+		for (AttendanceRecord r : rows) {
+			if (r.id() == null) {
+				bindRecord(inserts, r).add();
+				insertCount++;
+			} else {
+				bindRecord(updates, r).bind("id", r.id()).add();
+			}
+		}
+		if (updates.size() > 0) {
+			// 없는 id가 하나라도 있으면 롤백하고 행 단위 저장으로 그 행만 실패 처리
+			int[] counts = updates.execute();
+			for (int n : counts) if (n == 0) throw new IllegalArgumentException("수정할 기록이 없는 행이 있습니다.");
+		}
+		if (inserts.size() > 0) inserts.execute();
+
+		// 배치 INSERT는 생성 키를 돌려주지 않는다.
+		// 쓰기 락을 쥔 한 트랜잭션 안에서 AUTOINCREMENT 키는 연속 발급되므로 마지막 키에서 역산한다.
+		long nextId = insertCount == 0 ? 0
+				: h.createQuery("SELECT last_insert_rowid()").mapTo(Long.class).one() - insertCount + 1;
+		List<AttendanceRecord> saved = new ArrayList<>(rows.size());
+		for (AttendanceRecord r : rows) saved.add(r.id() == null ? withId(r, nextId++) : r);
+		return new BatchResult(saved, List.of());
+	}
+
+	private static BatchResult saveEachWithSavepoint(Handle h, List<AttendanceRecord> rows) {
+		List<AttendanceRecord> saved = new ArrayList<>(rows.size());
+		List<BatchResult.Failure> failures = new ArrayList<>();
+		for (int i = 0; i < rows.size(); i++) {
+			String sp = "row" + i;
+			h.savepoint(sp);
+			try {
+				saved.add(saveOne(h, rows.get(i)));
+				h.releaseSavepoint(sp);
+			} catch (Exception ex) {
+				h.rollbackToSavepoint(sp);
+				failures.add(new BatchResult.Failure(i, ex.getMessage()));
+			}
+		}
+		return new BatchResult(saved, failures);
+	}
+
+	@Override public UpsertResult upsertAll(Collection<AttendanceRecord> records) {
+		List<AttendanceRecord> rows = new ArrayList<>(records);
+		if (rows.isEmpty()) return new UpsertResult(0, 0, 0, List.of());
+		try {
+			return jdbi.inTransaction(h -> upsertBatch(h, rows));
+		} catch (Exception batchFailed) {
+			return jdbi.inTransaction(h -> upsertEachWithSavepoint(h, rows));
+		}
+	}
+
+	private static UpsertResult upsertBatch(Handle h, List<AttendanceRecord> rows) {
+		long maxIdBefore = maxId(h);
+		PreparedBatch timed = h.prepareBatch(UPSERT_SQL);
+		PreparedBatch untimed = h.prepareBatch(UPSERT_UNTIMED_SQL);
+		for (AttendanceRecord r : rows) bindRecord(r.clockIn() == null ? untimed : timed, r).add();
+		int changed = 0;
+		// 추가/갱신 1, 값이 같아 건너뜀 0
+		if (timed.size() > 0) for (int n : timed.execute()) changed += n;
+		if (untimed.size() > 0) for (int n : untimed.execute()) changed += n;
+		return upsertResult(h, maxIdBefore, rows.size(), changed, List.of());
+	}
+
+	private static UpsertResult upsertEachWithSavepoint(Handle h, List<AttendanceRecord> rows) {
+		long maxIdBefore = maxId(h);
+		List<BatchResult.Failure> failures = new ArrayList<>();
+		int changed = 0;
+		for (int i = 0; i < rows.size(); i++) {
+			String sp = "row" + i;
+			h.savepoint(sp);
+			try {
+				changed += bindRecord(h.createUpdate(upsertSql(rows.get(i))), rows.get(i)).execute();
+				h.releaseSavepoint(sp);
+			} catch (Exception ex) {
+				h.rollbackToSavepoint(sp);
+				failures.add(new BatchResult.Failure(i, ex.getMessage()));
+			}
+		}
+		return upsertResult(h, maxIdBefore, rows.size() - failures.size(), changed, failures);
+	}
+
+	private static long maxId(Handle h) {
+		return h.createQuery("SELECT IFNULL(MAX(id), 0) FROM attendance").mapTo(Long.class).one();
+	}
+
+	// 변경 건수만으로는 추가/갱신을 구분할 수 없으므로, 시작 전 최대 id보다 큰 행 = 이번에 추가된 행으로 센다
+	// (충돌로 끝난 INSERT도 AUTOINCREMENT 번호는 소비하므로 sqlite_sequence 차이는 쓸 수 없다)
+	private static UpsertResult upsertResult(Handle h, long maxIdBefore, int attempted, int changed, List<BatchResult.Failure> failures) {
+		int inserted = h.createQuery("SELECT COUNT(*) FROM attendance WHERE id > :m")
+				.bind("m", maxIdBefore)
+				.mapTo(Integer.class).one();
+		return new UpsertResult(inserted, changed - inserted, attempted - changed, failures);
+	}
+
 	@Override public Optional<AttendanceRecord> findById(long id) {
-		return jdbi.withHandle(h -> h.createQuery("SELECT * FROM attendance WHERE id=:id")
+		return reader.withHandle(h -> h.createQuery("SELECT " + COLUMNS + " FROM attendance WHERE id=:id")
 				.bind("id", id)
 				.map(MAPPER)
 				.findOne());
 	}
 
 	@Override public List<AttendanceRecord> findByDate(LocalDate date) {
-		return jdbi.withHandle(h -> h.createQuery("SELECT * FROM attendance WHERE work_date=:d ORDER BY employee_id")
-				.bind("d", date.toString())
+		List<AttendanceArchive.Year> years = archivesIn(date, date);
+		return reader.withHandle(h -> h.createQuery(union(h, years, "SELECT " + COLUMNS + " FROM {src}attendance WHERE work_day=:d") + " ORDER BY employee_id")
+				.bind("d", date.toEpochDay())
 				.map(MAPPER)
 				.list());
 	}
 
 	@Override public List<AttendanceRecord> findByMonth(YearMonth ym) {
-		String prefix = ym.toString(); // e.g. 2025-10
-		return jdbi.withHandle(h -> h.createQuery("SELECT * FROM attendance WHERE work_date LIKE :p || '%' ORDER BY work_date, employee_id")
-				.bind("p", prefix)
+		// 반열린 구간 [1일, 다음달 1일) → work_day 선두 인덱스 범위 탐색
+		List<AttendanceArchive.Year> years = archivesIn(ym.atDay(1), ym.atEndOfMonth());
+		return reader.withHandle(h -> h.createQuery(union(h, years, "SELECT " + COLUMNS + " FROM {src}attendance WHERE work_day >= :f AND work_day < :t") +
+						" ORDER BY work_day, employee_id")
+				.bind("f", ym.atDay(1).toEpochDay())
+				.bind("t", ym.plusMonths(1).atDay(1).toEpochDay())
 				.map(MAPPER)
 				.list());
 	}
 
 	@Override public List<AttendanceRecord> findByEmployeeAndRange(long employeeId, LocalDate from, LocalDate to) {
-		return jdbi.withHandle(h -> h.createQuery("SELECT * FROM attendance WHERE employee_id=:eid AND work_date BETWEEN :f AND :t ORDER BY work_date")
+		List<AttendanceArchive.Year> years = archivesIn(from, to);
+		return reader.withHandle(h -> h.createQuery(union(h, years, "SELECT " + COLUMNS + " FROM {src}attendance WHERE employee_id=:eid AND work_day BETWEEN :f AND :t") +
+						" ORDER BY work_day")
 				.bind("eid", employeeId)
-				.bind("f", from.toString())
-				.bind("t", to.toString())
+				.bind("f", from.toEpochDay())
+				.bind("t", to.toEpochDay())
 				.map(MAPPER)
 				.list());
 	}
 
+	@Override public List<AttendanceRecord> findPage(LocalDate from, LocalDate to, PageKey after, int limit) {
+		if (limit <= 0) throw new IllegalArgumentException("페이지 크기는 1 이상이어야 합니다.");
+		// 키셋: 행 값 비교로 직전 페이지 끝 다음부터. 행 값 비교만으로는 인덱스 탐색 범위가 좁혀지지 않으므로
+		// 하한(:f)을 직전 키의 근무일로 당겨 깊은 페이지도 OFFSET처럼 앞부분을 다시 훑지 않게 한다
+		LocalDate lower = (after == null || after.workDate().isBefore(from)) ? from : after.workDate();
+		String keyset = after == null ? "" : " AND (work_day, employee_id, id) > (:ad, :ae, :ai)";
+		List<AttendanceArchive.Year> years = archivesIn(lower, to);
+		// 보관 DB가 걸치면 DB마다 키셋 다음 limit건만 뽑고(각자 인덱스 순서로 멈춤) 합친 것을 다시 정렬해 자른다
+		String arm = "SELECT " + COLUMNS + " FROM {src}attendance WHERE work_day BETWEEN :f AND :t" + keyset +
+				" ORDER BY work_day, employee_id, id LIMIT :n";
+		return reader.withHandle(h -> {
+			Query q = h.createQuery(years.isEmpty() ? arm.replace("{src}", "")
+							: union(h, years, "SELECT * FROM (" + arm + ")") + " ORDER BY work_day, employee_id, id LIMIT :n")
+					.bind("f", lower.toEpochDay())
+					.bind("t", to.toEpochDay())
+					.bind("n", limit);
+			if (after != null) {
+				q.bind("ad", after.workDate().toEpochDay())
+						.bind("ae", after.employeeId())
+						.bind("ai", after.id());
+			}
+			return q.map(MAPPER).list();
+		});
+	}
+
+	@Override public List<AttendanceRecord> searchRecords(String query, DateRange range) {
+		String match = toMatchQuery(query);
+		if (match == null) return List.of();
+		DateRange r = range == null ? DateRange.all() : range;
+		long f = r.from() == null ? Long.MIN_VALUE : r.from().toEpochDay();
+		long t = r.to() == null ? Long.MAX_VALUE : r.to().toEpochDay();
+		// FTS가 rowid(=attendance.id) 역순으로 후보를 내고 기간은 원본 행에서 거른다.
+		// rowid 순서는 FTS가 정렬 없이 내주므로 흔한 단어도 LIMIT에서 바로 멈춘다(근무일 정렬은 받은 뒤에)
+		String arm = "SELECT a.id, a.employee_id, a.work_day, a.in_min, a.out_min, a.memo" +
+				" FROM {src}attendance_fts f JOIN {src}attendance a ON a.id = f.rowid" +
+				" WHERE f.attendance_fts MATCH :q AND a.work_day BETWEEN :f AND :t" +
+				" ORDER BY f.rowid DESC LIMIT :n";
+		List<AttendanceArchive.Year> years = archivesIn(f, t);
+		List<AttendanceRecord> found = reader.withHandle(h -> h.createQuery(
+						union(h, years, years.isEmpty() ? arm : "SELECT * FROM (" + arm + ")"))
+				.bind("q", match)
+				.bind("f", f)
+				.bind("t", t)
+				.bind("n", SEARCH_LIMIT)
+				.map(MAPPER)
+				.list());
+		found.sort(SEARCH_ORDER);
+		// 보관 DB마다 상한만큼 받을 수 있으므로 최근 근무일 기준으로 다시 자른다
+		return found.size() > SEARCH_LIMIT ? new ArrayList<>(found.subList(0, SEARCH_LIMIT)) : found;
+	}
+
+	// 검색 결과 표시 순서: 최근 근무일 → 사번 → id
+	private static final Comparator<AttendanceRecord> SEARCH_ORDER = Comparator
+			.comparing(AttendanceRecord::workDate, Comparator.reverseOrder())
+			.thenComparingLong(AttendanceRecord::employeeId)
+			.thenComparing(AttendanceRecord::id);
+
+	/**
+	 * 사용자 입력 → FTS5 MATCH 식. 글자/숫자가 아닌 문자로 나눈 단어(토크나이저와 같은 기준)를
+	 * 따옴표로 감싼 접두어(*) 질의로 만들고 AND로 잇는다. 연산자/특수문자는 남지 않는다.
+	 * 검색할 단어가 없으면 null.
+	 */
+	static String toMatchQuery(String query) {
+		if (query == null) return null;
+		StringJoiner sj = new StringJoiner(" ");
+		for (String w : query.split("[^\\p{L}\\p{N}]+")) {
+			if (!w.isEmpty()) sj.add('"' + w + "\"*");
+		}
+		return sj.length() == 0 ? null : sj.toString();
+	}
+
 	@Override public boolean deleteById(long id) {
 		int n = jdbi.withHandle(h -> h.createUpdate("DELETE FROM attendance WHERE id=:id").bind("id", id).execute());
 		return n > 0;
 	}
-}
\ No newline at end of file
+
+	@Override public int deleteByIds(Collection<Long> ids) {
+		List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+		if (distinct.isEmpty()) return 0;
+		return jdbi.inTransaction(h -> {
+			int n = 0;
+			for (int i = 0; i < distinct.size(); i += DELETE_CHUNK) {
+				List<Long> chunk = distinct.subList(i, Math.min(i + DELETE_CHUNK, distinct.size()));
+				n += h.createUpdate("DELETE FROM attendance WHERE id IN (<ids>)")
+						.bindList("ids", chunk)
+						.execute();
+			}
+			return n;
+		});
+	}
+
+	// ===== 집계 조회 =====
+
+	@Override public Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to) {
+		boolean wholeMonths = from.getDayOfMonth() == 1 && to.equals(to.withDayOfMonth(to.lengthOfMonth()));
+		// 달 단위 구간이면 월 집계(사번×월), 아니면 일 집계(사번×일) 범위 합
+		String sql = wholeMonths
+				? "SELECT employee_id, SUM(minutes) FROM agg_emp_month WHERE ym BETWEEN :f AND :t GROUP BY employee_id HAVING SUM(minutes) > 0 ORDER BY employee_id"
+				: "SELECT employee_id, SUM(minutes) FROM agg_emp_day WHERE work_day BETWEEN :f AND :t GROUP BY employee_id HAVING SUM(minutes) > 0 ORDER BY employee_id";
+		long f = wholeMonths ? AttendanceAggregates.yearMonth(from.toEpochDay()) : from.toEpochDay();
+		long t = wholeMonths ? AttendanceAggregates.yearMonth(to.toEpochDay()) : to.toEpochDay();
+		return reader.withHandle(h -> h.createQuery(sql).bind("f", f).bind("t", t)
+				.map((rs, ctx) -> Map.entry(rs.getLong(1), rs.getInt(2)))
+				.collect(toOrderedMap()));
+	}
+
+	@Override public Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long employeeId) {
+		String sql = employeeId == null
+				? "SELECT work_day, minutes FROM agg_day WHERE work_day BETWEEN :f AND :t AND minutes > 0 ORDER BY work_day"
+				: "SELECT work_day, minutes FROM agg_emp_day WHERE employee_id=:e AND work_day BETWEEN :f AND :t AND minutes > 0 ORDER BY work_day";
+		return reader.withHandle(h -> {
+			Query q = h.createQuery(sql).bind("f", from.toEpochDay()).bind("t", to.toEpochDay());
+			if (employeeId != null) q.bind("e", employeeId);
+			return q.map((rs, ctx) -> Map.entry(LocalDate.ofEpochDay(rs.getLong(1)), rs.getInt(2)))
+					.collect(toOrderedMap());
+		});
+	}
+
+	// 조회 순서(ORDER BY)를 유지하는 Map 수집
+	private static <K> Collector<Map.Entry<K, Integer>, ?, Map<K, Integer>> toOrderedMap() {
+		return Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Integer::sum, LinkedHashMap::new);
+	}
+
+	@Override public int rebuildAggregates() {
+		return jdbi.inTransaction(AttendanceAggregates::rebuild);
+	}
+
+	@Override public Map<String, Integer> verifyAggregates() {
+		return reader.withHandle(AttendanceAggregates::verify);
+	}
+
+	@Override public Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to) {
+		List<AttendanceArchive.Year> years = archivesIn(from, to);
+		Handle h = reader.open();
+		try {
+			Query q = h.createQuery(union(h, years, "SELECT " + COLUMNS + " FROM {src}attendance WHERE work_day BETWEEN :f AND :t") +
+							" ORDER BY work_day, employee_id")
+					.bind("f", from.toEpochDay())
+					.bind("t", to.toEpochDay())
+					.setFetchSize(STREAM_FETCH_SIZE);
+			// 끝까지 읽거나(커서 종료) 스트림을 닫으면 연결도 풀에 반납
+			q.getContext().addCleanable(h::close);
+			return q.map(MAPPER).stream().onClose(h::close);
+		} catch (RuntimeException e) {
+			h.close();
+			throw e;
+		}
+	}
+
+	// ===== 연도별 보관 =====
+
+	@Override public int archiveYear(int year) {
+		if (archiveDir == null) throw new IllegalStateException("보관 폴더가 설정되지 않았습니다.");
+		Path file = archiveDir.resolve(AttendanceArchive.fileName(year));
+		// 파일을 먼저 만든 뒤 등록: 등록 순간부터 그 연도 조회는 보관 DB도 함께 읽는다
+		jdbi.useHandle(h -> {
+			AttendanceArchive.prepare(h, file, year);
+			AttendanceArchive.register(h, year);
+		});
+		archives = null;
+		AttendanceArchive.Year y = archives().stream().filter(a -> a.year() == year).findFirst().orElseThrow();
+
+		// 청크마다 쓰기 연결을 반납하므로 옮기는 동안에도 화면의 저장이 사이사이 끼어든다(대기 = 청크 한 번 길이)
+		int moved = 0;
+		try {
+			for (int n; (n = jdbi.withHandle(h -> {
+				AttendanceArchive.attach(h, archiveDir, List.of(y)); // 쓰기 연결은 하나라 처음 한 번만 실제로 붙는다
+				return AttendanceArchive.moveChunk(h, y, ARCHIVE_CHUNK);
+			})) > 0; ) {
+				moved += n;
+			}
+		} finally {
+			jdbi.useHandle(h -> AttendanceArchive.detach(h, y));
+		}
+		releaseFreePages();
+		return moved;
+	}
+
+	// 옮기고 남은 빈 페이지를 단계별로 파일에서 돌려준다. 처음 한 번은 auto_vacuum 전환을 위해 전체 VACUUM
+	private void releaseFreePages() {
+		if (!jdbi.withHandle(AttendanceArchive::incrementalVacuumEnabled)) {
+			jdbi.useHandle(AttendanceArchive::enableIncrementalVacuum);
+			return;
+		}
+		int free;
+		do { // 단계마다 쓰기 연결을 반납
+			free = jdbi.withHandle(h -> AttendanceArchive.releaseFreePages(h, VACUUM_STEP_PAGES));
+		} while (free > 0);
+	}
+
+	// ===== 변경 기록 =====
+	@Override public ChangeBatch changesSince(long seq) {
+		return reader.withHandle(h -> ChangeLog.since(h, ChangeLog.ATTENDANCE, seq));
+	}
+
+	@Override public long lastChangeSeq() {
+		return reader.withHandle(ChangeLog::head);
+	}
+
+	@Override public int pruneChanges(int keep) {
+		return jdbi.withHandle(h -> ChangeLog.prune(h, keep));
+	}
+
+	@Override public List<Integer> archivedYears() {
+		return archives().stream().map(AttendanceArchive.Year::year).toList();
+	}
+
+	private List<AttendanceArchive.Year> archives() {
+		List<AttendanceArchive.Year> a = archives;
+		long now = System.nanoTime();
+		if (a == null || now - archivesLoadedAt > ARCHIVE_LIST_TTL_NANOS) {
+			archives = a = reader.withHandle(AttendanceArchive::load);
+			archivesLoadedAt = now;
+		}
+		return a;
+	}
+
+	private List<AttendanceArchive.Year> archivesIn(LocalDate from, LocalDate to) {
+		return archivesIn(from.toEpochDay(), to.toEpochDay());
+	}
+
+	// 조회 구간에 걸친 보관 연도(대부분 빈 목록 → hot DB만 읽는다)
+	private List<AttendanceArchive.Year> archivesIn(long from, long to) {
+		if (archiveDir == null) return List.of();
+		List<AttendanceArchive.Year> hit = new ArrayList<>(0);
+		for (AttendanceArchive.Year y : archives()) if (y.overlaps(from, to)) hit.add(y);
+		return hit;
+	}
+
+	/**
+	 * arm의 {src} 자리에 hot DB와 걸친 보관 DB를 하나씩 넣어 UNION ALL로 잇는다(필요한 보관 DB는 이 연결에 ATTACH).
+	 * 걸친 보관 연도가 없으면 hot DB 문장 그대로. 뒤에 붙이는 ORDER BY는 결과 열 이름으로 써야 한다.
+	 */
+	private String union(Handle h, List<AttendanceArchive.Year> years, String arm) {
+		String hot = arm.replace("{src}", "");
+		if (years.isEmpty()) return hot;
+		AttendanceArchive.attach(h, archiveDir, years);
+		StringBuilder sql = new StringBuilder(hot);
+		for (AttendanceArchive.Year y : years) {
+			sql.append(" UNION ALL ").append(arm.replace("{src}", AttendanceArchive.schema(y.year()) + "."));
+		}
+		return sql.toString();
+	}
+}
@@ -0,0 +1,87 @@
+package com.maemong.attendance.adapters.db;
+
+import com.maemong.attendance.domain.Change;
+import com.maemong.attendance.domain.ChangeBatch;
+import org.jdbi.v3.core.Handle;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 변경 기록(change_log, V9) 읽기/정리. 기록은 attendance/employees 트리거가 같은 트랜잭션에서 남긴다.
+ * 쓰기 연결이 하나뿐이라 seq는 커밋 순서와 같고, 읽는 쪽은 seq 범위만 보면 빠짐없이 따라잡는다.
+ */
+final class ChangeLog {
+	private ChangeLog() {}
+
+	static final String ATTENDANCE = "A";
+	static final String EMPLOYEE = "E";
+
+	/** 한 번에 돌려줄 변경 수 상한(넘으면 hasMore) */
+	static final int BATCH_LIMIT = 5000;
+
+	/**
+	 * seq 이후의 entity 변경. 한 읽기 트랜잭션에서 head와 본문을 함께 읽어
+	 * 다른 종류의 변경만 있었던 구간도 lastSeq를 끝까지 당겨 둔다.
+	 */
+	static ChangeBatch since(Handle h, String entity, long seq) {
+		return h.inTransaction(tx -> {
+			long head = head(tx);
+			if (seq >= head) return new ChangeBatch(List.of(), head, false, false);
+			// 요청 seq 바로 다음 기록이 이미 잘렸으면 증분으로 못 따라잡는다
+			long first = tx.createQuery("SELECT IFNULL(MIN(seq), 0) FROM change_log").mapTo(Long.class).one();
+			if (first > seq + 1) return new ChangeBatch(List.of(), head, false, true);
+
+			List<Change> changes = tx.createQuery(
+							"SELECT seq, entity, op, row_id, employee_id, work_day, old_work_day, old_employee_id FROM change_log" +
+									" WHERE seq > :s AND entity = :e ORDER BY seq LIMIT :n")
+					.bind("s", seq)
+					.bind("e", entity)
+					.bind("n", BATCH_LIMIT)
+					.map((rs, ctx) -> mapRow(rs))
+					.list();
+			boolean more = changes.size() == BATCH_LIMIT;
+			long last = more ? changes.getLast().seq() : head;
+			return new ChangeBatch(changes, last, more, false);
+		});
+	}
+
+	/** 마지막 변경 seq(기록이 없으면 0) */
+	static long head(Handle h) {
+		// sqlite_sequence는 잘라낸 뒤에도 최대값을 기억한다(AUTOINCREMENT)
+		return h.createQuery("SELECT IFNULL(MAX(seq), 0) FROM sqlite_sequence WHERE name = 'change_log'")
+				.mapTo(Long.class)
+				.one();
+	}
+
+	/** 최근 keep건만 남기고 앞에서부터 지운다. 반환: 지운 건수 */
+	static int prune(Handle h, int keep) {
+		long head = head(h);
+		return h.createUpdate("DELETE FROM change_log WHERE seq <= :cut")
+				.bind("cut", head - Math.max(1, keep))
+				.execute();
+	}
+
+	private static Change mapRow(ResultSet rs) throws SQLException {
+		Change.Entity entity = EMPLOYEE.equals(rs.getString(2)) ? Change.Entity.EMPLOYEE : Change.Entity.ATTENDANCE;
+		Change.Op op = switch (rs.getString(3)) {
+			case "I" -> Change.Op.INSERT;
+			case "D" -> Change.Op.DELETE;
+			default -> Change.Op.UPDATE;
+		};
+		return new Change(rs.getLong(1), entity, op, rs.getLong(4),
+				longOrNull(rs, 5), dayOrNull(rs, 6), dayOrNull(rs, 7), longOrNull(rs, 8));
+	}
+
+	private static Long longOrNull(ResultSet rs, int col) throws SQLException {
+		long v = rs.getLong(col);
+		return rs.wasNull() ? null : v;
+	}
+
+	private static LocalDate dayOrNull(ResultSet rs, int col) throws SQLException {
+		long v = rs.getLong(col);
+		return rs.wasNull() ? null : LocalDate.ofEpochDay(v);
+	}
+}
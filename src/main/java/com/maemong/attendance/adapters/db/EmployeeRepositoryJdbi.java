@@ -1,6 +1,7 @@
 package com.maemong.attendance.adapters.db;
 
 
+import com.maemong.attendance.domain.ChangeBatch;
 import com.maemong.attendance.domain.Employee;
 import com.maemong.attendance.domain.enums.Rank;
 import com.maemong.attendance.ports.EmployeeRepository;
@@ -10,12 +11,22 @@ import org.jdbi.v3.core.mapper.RowMapper;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 public class EmployeeRepositoryJdbi implements EmployeeRepository {
-	private final Jdbi jdbi;
-	public EmployeeRepositoryJdbi(Jdbi jdbi) { this.jdbi = jdbi; }
+	private final Jdbi jdbi;   // 쓰기
+	private final Jdbi reader; // 조회
+	public EmployeeRepositoryJdbi(Jdbi jdbi) { this(jdbi, jdbi); }
+	public EmployeeRepositoryJdbi(Jdbi writer, Jdbi reader) {
+		this.jdbi = writer;
+		this.reader = reader;
+	}
 
 	private static final RowMapper<Employee> MAPPER = (rs, ctx) -> mapRow(rs);
 
@@ -89,30 +100,78 @@ public class EmployeeRepositoryJdbi implements EmployeeRepository {
 
 
 	@Override public Optional<Employee> findById(long id) {
-		return jdbi.withHandle(h -> h.createQuery("SELECT * FROM employees WHERE id = :id")
+		return reader.withHandle(h -> h.createQuery("SELECT * FROM employees WHERE id = :id")
 				.bind("id", id)
 				.map(MAPPER)
 				.findOne());
 	}
 
 
+	// 기본키 조회만(행 페이지의 주소/메모 등은 디코딩하지 않는다)
+	@Override public boolean existsById(long id) {
+		return reader.withHandle(h -> h.createQuery("SELECT 1 FROM employees WHERE id = :id")
+				.bind("id", id)
+				.mapTo(Integer.class)
+				.findOne()
+				.isPresent());
+	}
+
+
+	// 사번만: 이름 인덱스(name + rowid)를 훑는 covering 스캔이라 테이블 페이지를 읽지 않는다
+	@Override public long[] findIds() {
+		long[] ids = reader.withHandle(h -> h.createQuery("SELECT id FROM employees")
+				.mapTo(Long.class)
+				.stream()
+				.mapToLong(Long::longValue)
+				.toArray());
+		Arrays.sort(ids);
+		return ids;
+	}
+
+
 	@Override public List<Employee> findAll() {
-		return jdbi.withHandle(h -> h.createQuery("SELECT * FROM employees ORDER BY id DESC")
+		return reader.withHandle(h -> h.createQuery("SELECT * FROM employees ORDER BY id DESC")
 				.map(MAPPER)
 				.list());
 	}
 
 
 	@Override public List<Employee> searchByName(String nameLike) {
-		return jdbi.withHandle(h -> h.createQuery("SELECT * FROM employees WHERE name LIKE :q ORDER BY name")
+		return reader.withHandle(h -> h.createQuery("SELECT * FROM employees WHERE name LIKE :q ORDER BY name")
 				.bind("q", "%" + nameLike + "%")
 				.map(MAPPER)
 				.list());
 	}
 
 
+	// id, name만 읽는 투영 조회: idx_employees_name(name + rowid)을 이름순으로 훑는 covering 스캔
+	// (ORDER BY id로 하면 주소/메모까지 담긴 테이블 페이지를 전부 읽게 된다)
+	@Override public Map<Long, String> findNames() {
+		return reader.withHandle(h -> h.createQuery("SELECT id, name FROM employees ORDER BY name, id")
+				.map((rs, ctx) -> Map.entry(rs.getLong(1), rs.getString(2)))
+				.collect(toOrderedMap()));
+	}
+
+
+	@Override public Map<Long, String> searchNames(String nameLike) {
+		return reader.withHandle(h -> h.createQuery("SELECT id, name FROM employees WHERE name LIKE :q ORDER BY name")
+				.bind("q", "%" + nameLike + "%")
+				.map((rs, ctx) -> Map.entry(rs.getLong(1), rs.getString(2)))
+				.collect(toOrderedMap()));
+	}
+
+	private static Collector<Map.Entry<Long, String>, ?, Map<Long, String>> toOrderedMap() {
+		return Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new);
+	}
+
+
 	@Override public boolean deleteById(long id) {
 		int n = jdbi.withHandle(h -> h.createUpdate("DELETE FROM employees WHERE id=:id").bind("id", id).execute());
 		return n > 0;
 	}
-}
\ No newline at end of file
+
+
+	@Override public ChangeBatch changesSince(long seq) {
+		return reader.withHandle(h -> ChangeLog.since(h, ChangeLog.EMPLOYEE, seq));
+	}
+}
@@ -0,0 +1,215 @@
+package com.maemong.attendance.adapters.journal;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.ports.AttendanceRepository;
+import com.maemong.attendance.ports.AttendanceWriteQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연 쓰기(write-behind) + 묶음 커밋.
+ * - submit: 일지에 한 줄 쓰고(프로세스가 죽어도 남음) 큐에 넣은 뒤 바로 돌아온다.
+ * - 쓰기 스레드 하나가 큐에 쌓인 것을 모두 꺼내 일지를 한 번 fsync하고 saveAllDurable 한 트랜잭션으로 저장한다.
+ *   한 묶음을 저장하는 동안 들어온 것은 다음 묶음이 되므로, 몰릴수록 커밋 한 번이 더 많은 기록을 나른다.
+ * - 저장이 끝나면 묶음을 처리 끝으로 표시하고(큐가 비면 일지를 비운다), 각 future를 저장 결과로 끝낸다.
+ * - 시작할 때 처리 끝 표시가 없는 항목은 다시 저장한다. 이미 들어간 것 중 출근 시각이 있는 것은 자연키 중복으로,
+ *   출근 시각이 없는 것(메모만/퇴근만 — 자연키 인덱스가 NULL을 서로 다른 값으로 보므로 중복으로 걸리지 않는다)은
+ *   같은 날 같은 내용의 행을 세어 그만큼 건너뛰는 식으로 걸러진다.
+ * 묶음 커밋은 DB 프로필과 무관하게 fsync까지 마친 뒤 일지를 비우므로(balanced의 synchronous=NORMAL이어도)
+ * 정전이 나도 일지나 DB 중 한 곳에는 남는다. 커밋 한 번에 fsync 한 번이라 묶음이 클수록 싸다.
+ */
+public final class WriteBehindAttendanceQueue implements AttendanceWriteQueue, AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindAttendanceQueue.class);
+
+	// 큐가 빈 동안 처리 끝 표시를 디스크로 내리기 전 기다리는 시간(몰리는 중에는 다음 묶음의 fsync에 얹힌다)
+	private static final long IDLE_FORCE_MS = 200;
+
+	private record Pending(long seq, AttendanceRecord record, CompletableFuture<AttendanceRecord> future) {}
+
+	private final AttendanceRepository repo;
+	private final WriteBehindJournal journal;
+	private final int maxBatch;
+	private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+	private final Object lock = new Object(); // 일지 쓰기 + seq + 큐 넣기를 한 번에
+	private final Thread writer;
+	private long seq; // 일지 항목 번호(일지를 비우면 이어서 늘어나기만 한다)
+	private volatile boolean closing;
+
+	private WriteBehindAttendanceQueue(AttendanceRepository repo, WriteBehindJournal journal, int maxBatch) {
+		this.repo = repo;
+		this.journal = journal;
+		this.maxBatch = maxBatch;
+		this.writer = new Thread(this::run, "attendance-write-behind");
+		writer.setDaemon(true);
+	}
+
+	/**
+	 * 일지를 열고, 이전 실행에서 처리되지 못한 항목을 먼저 저장한 뒤 쓰기 스레드를 시작한다.
+	 * maxBatch: 한 트랜잭션에 넣을 최대 기록 수
+	 */
+	public static WriteBehindAttendanceQueue start(AttendanceRepository repo, Path journalFile, int maxBatch) throws IOException {
+		if (maxBatch < 1) throw new IllegalArgumentException("묶음 크기는 1 이상이어야 합니다: " + maxBatch);
+		WriteBehindJournal journal = WriteBehindJournal.open(journalFile);
+		List<WriteBehindJournal.Entry> pending = journal.pending();
+		if (!pending.isEmpty()) replay(repo, pending);
+		journal.clear();
+		journal.force();
+		WriteBehindAttendanceQueue q = new WriteBehindAttendanceQueue(repo, journal, maxBatch);
+		q.writer.start();
+		return q;
+	}
+
+	// 출근 시각이 없는 기록의 내용(자연키로 중복이 걸리지 않으므로 재적용 때 직접 센다)
+	private record Untimed(long employeeId, LocalDate workDate, LocalTime clockOut, String memo) {
+		static Untimed of(AttendanceRecord r) {
+			return new Untimed(r.employeeId(), r.workDate(), r.clockOut(), r.memo());
+		}
+	}
+
+	// 중단된 항목 다시 저장. 묶음 커밋 뒤 일지를 비우기 전에 죽었다면 이미 DB에 있는 항목이다.
+	// 출근 시각이 있는 것은 자연키 중복으로 실패하므로 두 번 들어가지 않는다. 없는 것은 그 사번·날짜에 이미 있는
+	// 같은 내용의 행 수만큼 건너뛴다(같은 내용을 두 번 맡긴 경우도 맞게 센다). 일지에는 커밋 여부가 없으므로,
+	// 맡기기 전부터 같은 내용의 행이 있었다면 새 항목도 들어간 것으로 본다 — 같은 메모만 기록을 두 번 남기지 않는 쪽.
+	private static void replay(AttendanceRepository repo, List<WriteBehindJournal.Entry> pending) {
+		List<AttendanceRecord> rows = new ArrayList<>(pending.size());
+		Map<Untimed, Integer> existing = new HashMap<>();
+		Set<Untimed> loadedDays = new HashSet<>(); // 사번·날짜만 채운 키
+		int skipped = 0;
+		for (WriteBehindJournal.Entry e : pending) {
+			AttendanceRecord r = e.record();
+			if (r.clockIn() != null) {
+				rows.add(r);
+				continue;
+			}
+			if (loadedDays.add(new Untimed(r.employeeId(), r.workDate(), null, null))) {
+				for (AttendanceRecord old : repo.findByEmployeeAndRange(r.employeeId(), r.workDate(), r.workDate())) {
+					if (old.clockIn() == null) existing.merge(Untimed.of(old), 1, Integer::sum);
+				}
+			}
+			Untimed key = Untimed.of(r);
+			int left = existing.getOrDefault(key, 0);
+			if (left > 0) {
+				existing.put(key, left - 1);
+				skipped++;
+			} else {
+				rows.add(r);
+			}
+		}
+		BatchResult r = repo.saveAllDurable(rows); // 다음 줄에서 일지를 비운다
+		log.info("지연 쓰기 일지 재적용: {}건 중 저장 {}건, 이미 있음 {}건, 자연키 중복이거나 실패 {}건",
+				pending.size(), r.okCount(), skipped, r.failCount());
+		for (BatchResult.Failure f : r.failures()) log.debug("재적용 건너뜀 #{}: {}", f.index(), f.message());
+	}
+
+	@Override public CompletableFuture<AttendanceRecord> submit(AttendanceRecord r) {
+		if (r == null) throw new IllegalArgumentException("근태 기록이 제공되지 않았습니다.");
+		if (r.id() != null) throw new IllegalArgumentException("지연 쓰기는 새 기록만 받습니다: id=" + r.id());
+		CompletableFuture<AttendanceRecord> future = new CompletableFuture<>();
+		synchronized (lock) {
+			if (closing) throw new IllegalStateException("저장 큐가 닫혔습니다.");
+			long s = ++seq;
+			journal.append(s, r);
+			queue.add(new Pending(s, r, future));
+		}
+		return future;
+	}
+
+	/** 큐에 남은 기록 수(쓰기 스레드가 처리 중인 묶음 제외) */
+	public int backlog() { return queue.size(); }
+
+	private void run() {
+		List<Pending> batch = new ArrayList<>(maxBatch);
+		boolean unforced = false; // 처리 끝 표시/비우기를 아직 fsync하지 않음
+		while (true) {
+			Pending first;
+			try {
+				first = queue.poll(IDLE_FORCE_MS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				first = null;
+			}
+			if (first == null) {
+				if (unforced) {
+					forceQuietly();
+					unforced = false;
+				}
+				if (closing && queue.isEmpty()) return;
+				continue;
+			}
+			batch.clear();
+			batch.add(first);
+			queue.drainTo(batch, maxBatch - 1);
+			try {
+				flush(batch);
+			} catch (RuntimeException e) {
+				// 일지 표시/비우기 실패: 항목은 일지에 남아 다음 시작 때 재적용(이미 들어간 것은 replay에서 걸러짐)
+				log.warn("지연 쓰기 일지 갱신 실패", e);
+			}
+			unforced = true;
+		}
+	}
+
+	private void flush(List<Pending> batch) {
+		List<AttendanceRecord> rows = new ArrayList<>(batch.size());
+		for (Pending p : batch) rows.add(p.record());
+		try {
+			journal.force(); // 이 묶음(과 앞 묶음의 처리 끝 표시)을 디스크까지: 이후 무슨 일이 나도 재시작 때 다시 저장된다
+			complete(batch, repo.saveAllDurable(rows)); // 커밋이 디스크에 내려간 뒤에야 아래에서 일지를 비운다
+		} catch (RuntimeException e) {
+			log.warn("지연 쓰기 묶음 저장 실패({}건)", batch.size(), e);
+			for (Pending p : batch) p.future().completeExceptionally(e);
+		}
+		// 결과를 알린 묶음은 처리 끝(실패도 호출자가 알았으므로 다시 저장하지 않는다)
+		synchronized (lock) {
+			if (queue.isEmpty()) journal.clear();
+			else journal.markResolved(batch.get(batch.size() - 1).seq());
+		}
+	}
+
+	// saveAll 결과(성공은 입력 순서대로, 실패는 입력 순번)를 각 future로
+	private static void complete(List<Pending> batch, BatchResult result) {
+		Map<Integer, String> failed = new HashMap<>();
+		for (BatchResult.Failure f : result.failures()) failed.put(f.index(), f.message());
+		Iterator<AttendanceRecord> saved = result.saved().iterator();
+		for (int i = 0; i < batch.size(); i++) {
+			String msg = failed.get(i);
+			if (msg != null) batch.get(i).future().completeExceptionally(new IllegalArgumentException(msg));
+			else batch.get(i).future().complete(saved.next());
+		}
+	}
+
+	private void forceQuietly() {
+		try {
+			journal.force();
+		} catch (RuntimeException e) {
+			log.warn("지연 쓰기 일지 fsync 실패", e);
+		}
+	}
+
+	/** 새로 받지 않고, 남은 기록을 모두 저장한 뒤 일지를 닫는다 */
+	@Override public void close() {
+		synchronized (lock) {
+			if (closing) return;
+			closing = true;
+		}
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			journal.close();
+		} catch (IOException e) {
+			log.warn("지연 쓰기 일지 닫기 실패", e);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.maemong.attendance.adapters.journal;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.util.DateTimeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * 지연 쓰기 일지(텍스트, 한 줄 = 한 항목, UTF-8).
+ *   A\tseq\t사번\t근무일(epoch-day)\t출근 분\t퇴근 분\t메모   — 맡긴 기록(시각 없음 = 빈 칸, 메모 없음 = 빈 칸, 있으면 '=' + 이스케이프)
+ *   C\tseq                                                   — seq 이하 항목은 처리 끝(성공/실패 모두)
+ * 줄 쓰기는 OS 버퍼까지(프로세스가 죽어도 남음), fsync는 쓰기 스레드가 묶음마다 한 번. 잠금은 부르는 쪽이 잡는다.
+ */
+final class WriteBehindJournal implements AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindJournal.class);
+
+	/** 일지의 한 항목 */
+	record Entry(long seq, AttendanceRecord record) {}
+
+	private final Path file;
+	private final FileChannel ch;
+
+	private WriteBehindJournal(Path file, FileChannel ch) {
+		this.file = file;
+		this.ch = ch;
+	}
+
+	static WriteBehindJournal open(Path file) throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		ch.position(ch.size());
+		return new WriteBehindJournal(file, ch);
+	}
+
+	Path file() { return file; }
+
+	/** 처리 끝 표시가 없는 항목(이전 실행이 DB에 넣지 못했을 수 있는 것). 잘린 마지막 줄은 버린다 */
+	List<Entry> pending() throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		long resolved = 0;
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			if (line.isEmpty()) continue;
+			try {
+				String[] f = line.split("\t", -1);
+				long seq = Long.parseLong(f[1]);
+				switch (f[0]) {
+					case "A" -> entries.add(new Entry(seq, decode(f)));
+					case "C" -> resolved = Math.max(resolved, seq);
+					default -> throw new IllegalArgumentException(f[0]);
+				}
+			} catch (RuntimeException e) {
+				log.warn("지연 쓰기 일지의 읽을 수 없는 줄을 건너뜁니다: {}", line);
+			}
+		}
+		long done = resolved;
+		entries.removeIf(e -> e.seq() <= done);
+		return entries;
+	}
+
+	void append(long seq, AttendanceRecord r) {
+		write("A\t" + seq + '\t' + r.employeeId() + '\t' + r.workDate().toEpochDay() + '\t'
+				+ minutes(r.clockIn()) + '\t' + minutes(r.clockOut()) + '\t' + (r.memo() == null ? "" : "=" + escape(r.memo())) + '\n');
+	}
+
+	void markResolved(long seq) {
+		write("C\t" + seq + '\n');
+	}
+
+	/** 모두 처리됨: 파일을 비운다 */
+	void clear() {
+		try {
+			ch.truncate(0);
+			ch.position(0);
+		} catch (IOException e) {
+			throw new UncheckedIOException("지연 쓰기 일지를 비우지 못했습니다: " + file, e);
+		}
+	}
+
+	/** 지금까지 쓴 줄을 디스크까지(fsync) */
+	void force() {
+		try {
+			ch.force(false);
+		} catch (IOException e) {
+			throw new UncheckedIOException("지연 쓰기 일지를 디스크에 쓰지 못했습니다: " + file, e);
+		}
+	}
+
+	private void write(String line) {
+		ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+		try {
+			while (buf.hasRemaining()) ch.write(buf);
+		} catch (IOException e) {
+			throw new UncheckedIOException("지연 쓰기 일지에 쓰지 못했습니다: " + file, e);
+		}
+	}
+
+	@Override public void close() throws IOException {
+		ch.close();
+	}
+
+	private static String minutes(LocalTime t) {
+		return t == null ? "" : Integer.toString(DateTimeUtil.minuteOfDay(t));
+	}
+
+	private static LocalTime time(String s) {
+		return s.isEmpty() ? null : DateTimeUtil.ofMinuteOfDay(Integer.parseInt(s));
+	}
+
+	private static AttendanceRecord decode(String[] f) {
+		if (f.length != 7) throw new IllegalArgumentException("칸 수: " + f.length);
+		String memo = f[6].isEmpty() ? null : unescape(f[6].substring(1));
+		return new AttendanceRecord(null, Long.parseLong(f[2]), LocalDate.ofEpochDay(Long.parseLong(f[3])),
+				time(f[4]), time(f[5]), memo);
+	}
+
+	private static String escape(String s) {
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '\\' -> sb.append("\\\\");
+				case '\t' -> sb.append("\\t");
+				case '\n' -> sb.append("\\n");
+				case '\r' -> sb.append("\\r");
+				default -> sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static String unescape(String s) {
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c != '\\' || i + 1 == s.length()) { sb.append(c); continue; }
+			char n = s.charAt(++i);
+			sb.append(switch (n) {
+				case 't' -> '\t';
+				case 'n' -> '\n';
+				case 'r' -> '\r';
+				default -> n;
+			});
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,408 @@
+package com.maemong.attendance.adapters.memory;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.util.DateTimeUtil;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * 근태 기록 열 저장: 행마다 객체를 두지 않고 열별 기본형 배열에 담는다.
+ * - 사번 int / 근무일 epoch-day int / 출퇴근 자정 기준 분 short(-1 = 없음) / 메모는 사전 번호 int(0 = 없음)
+ * - 정렬 색인 두 개: (근무일, 사번, id)와 (사번, 근무일, id). 색인 원소는 행 슬롯 번호
+ * 잠금은 부르는 쪽(ColumnarAttendanceRepository)이 잡는다.
+ */
+final class AttendanceColumns {
+	static final short NO_TIME = -1;
+	private static final int INITIAL_CAPACITY = 1024;
+	// 한 번에 이보다 많이 바뀌면 색인을 한 행씩 끼워 넣지 않고 끝난 뒤 통째로 다시 정렬
+	private static final int INCREMENTAL_LIMIT = 256;
+
+	// 열(슬롯 번호로 같은 행)
+	private long[] ids = new long[INITIAL_CAPACITY];
+	private int[] emp = new int[INITIAL_CAPACITY];
+	private int[] day = new int[INITIAL_CAPACITY];
+	private short[] in = new short[INITIAL_CAPACITY];
+	private short[] out = new short[INITIAL_CAPACITY];
+	private int[] memo = new int[INITIAL_CAPACITY];
+	private int slots;                       // 쓴 슬롯 수(삭제로 빈 슬롯 포함)
+	private int[] free = new int[16];        // 삭제로 빈 슬롯(다음 추가에 재사용)
+	private int freeCount;
+	private final SlotMap slotById = new SlotMap();
+	private long maxId;
+
+	// 메모 사전: 같은 문구는 한 번만 저장(번호 0 = 메모 없음)
+	private String[] words = new String[64];
+	private int wordCount = 1;
+	private final Map<String, Integer> codes = new HashMap<>();
+
+	// 정렬 색인(앞의 live개가 유효)
+	private int[] byDate = new int[INITIAL_CAPACITY];
+	private int[] byEmp = new int[INITIAL_CAPACITY];
+	private int live;
+	private boolean deferIndex; // 일괄 변경 중(endBatch에서 다시 정렬)
+
+	private final IntBinaryOperator dateOrder = this::compareByDate;
+	private final IntBinaryOperator empOrder = this::compareByEmp;
+
+	int size() { return live; }
+	long maxId() { return maxId; }
+
+	// ===== 열 읽기 =====
+	long id(int s) { return ids[s]; }
+	int employee(int s) { return emp[s]; }
+	int day(int s) { return day[s]; }
+	int clockIn(int s) { return in[s]; }
+	int clockOut(int s) { return out[s]; }
+	int memoCode(int s) { return memo[s]; }
+	String word(int code) { return words[code]; }
+	int wordCount() { return wordCount; }
+
+	/** 출퇴근이 모두 있으면 근무 분(자정 넘김 포함), 아니면 0 — 집계 테이블(V4)과 같은 규칙 */
+	int minutes(int s) {
+		return in[s] < 0 || out[s] < 0 ? 0 : (out[s] - in[s] + 1440) % 1440;
+	}
+
+	/** 슬롯의 기록(경계에서만 객체로 만든다) */
+	AttendanceRecord record(int s) {
+		return new AttendanceRecord(ids[s], (long) emp[s], LocalDate.ofEpochDay(day[s]),
+				time(in[s]), time(out[s]), words[memo[s]]);
+	}
+
+	private static LocalTime time(short m) {
+		return m < 0 ? null : DateTimeUtil.ofMinuteOfDay(m);
+	}
+
+	/** id의 슬롯(없으면 -1) */
+	int slotOf(long id) { return slotById.get(id); }
+
+	// ===== 변경 =====
+
+	/** 일괄 변경 시작: 건수가 많으면 색인 갱신을 endBatch까지 미룬다 */
+	void beginBatch(int expected) {
+		deferIndex = expected > INCREMENTAL_LIMIT;
+	}
+
+	void endBatch() {
+		if (deferIndex) {
+			deferIndex = false;
+			reindex();
+		}
+	}
+
+	/** id 기준으로 넣거나 덮어쓴다(r.id() 필수). 반환: 슬롯 */
+	int put(AttendanceRecord r) {
+		long id = r.id();
+		if (id <= 0) throw new IllegalArgumentException("기록 id가 올바르지 않습니다: " + id);
+		if (r.workDate() == null) throw new IllegalArgumentException("날짜가 올바르지 않습니다.");
+		int e = employeeKey(r.employeeId());
+		int d = Math.toIntExact(r.workDate().toEpochDay());
+		short i = minute(r.clockIn());
+		short o = minute(r.clockOut());
+		int m = code(r.memo());
+
+		int s = slotById.get(id);
+		if (s >= 0) {
+			boolean moved = emp[s] != e || day[s] != d || in[s] != i;
+			if (moved && !deferIndex) unindex(s);
+			emp[s] = e; day[s] = d; in[s] = i; out[s] = o; memo[s] = m;
+			if (moved && !deferIndex) index(s);
+			return s;
+		}
+		s = freeCount > 0 ? free[--freeCount] : nextSlot();
+		ids[s] = id; emp[s] = e; day[s] = d; in[s] = i; out[s] = o; memo[s] = m;
+		slotById.put(id, s);
+		maxId = Math.max(maxId, id);
+		if (deferIndex) live++;
+		else index(s);
+		return s;
+	}
+
+	boolean remove(long id) {
+		int s = slotById.remove(id);
+		if (s < 0) return false;
+		if (deferIndex) live--;
+		else unindex(s);
+		ids[s] = 0;
+		if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+		free[freeCount++] = s;
+		return true;
+	}
+
+	/** 전부 비운다(메모 사전 포함) */
+	void clear() {
+		slots = 0;
+		freeCount = 0;
+		live = 0;
+		maxId = 0;
+		slotById.clear();
+		Arrays.fill(words, 1, wordCount, null);
+		wordCount = 1;
+		codes.clear();
+	}
+
+	private int nextSlot() {
+		if (slots == ids.length) {
+			int cap = slots * 2;
+			ids = Arrays.copyOf(ids, cap);
+			emp = Arrays.copyOf(emp, cap);
+			day = Arrays.copyOf(day, cap);
+			in = Arrays.copyOf(in, cap);
+			out = Arrays.copyOf(out, cap);
+			memo = Arrays.copyOf(memo, cap);
+			byDate = Arrays.copyOf(byDate, cap);
+			byEmp = Arrays.copyOf(byEmp, cap);
+		}
+		return slots++;
+	}
+
+	static int employeeKey(Long employeeId) {
+		if (employeeId == null) throw new IllegalArgumentException("사번이 올바르지 않습니다.");
+		if (employeeId < Integer.MIN_VALUE || employeeId > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("사번이 범위를 벗어났습니다: " + employeeId);
+		}
+		return employeeId.intValue();
+	}
+
+	static short minute(LocalTime t) {
+		return t == null ? NO_TIME : (short) DateTimeUtil.minuteOfDay(t);
+	}
+
+	private int code(String s) {
+		if (s == null) return 0;
+		Integer c = codes.get(s);
+		if (c != null) return c;
+		if (wordCount == words.length) words = Arrays.copyOf(words, wordCount * 2);
+		words[wordCount] = s;
+		codes.put(s, wordCount);
+		return wordCount++;
+	}
+
+	/** 메모의 사전 번호(사전에 없으면 -1: 그 메모를 가진 행이 없음) */
+	int codeOf(String s) {
+		if (s == null) return 0;
+		Integer c = codes.get(s);
+		return c == null ? -1 : c;
+	}
+
+	// ===== 색인 =====
+
+	private int compareByDate(int a, int b) {
+		int c = Integer.compare(day[a], day[b]);
+		if (c == 0) c = Integer.compare(emp[a], emp[b]);
+		return c != 0 ? c : Long.compare(ids[a], ids[b]);
+	}
+
+	private int compareByEmp(int a, int b) {
+		int c = Integer.compare(emp[a], emp[b]);
+		if (c == 0) c = Integer.compare(day[a], day[b]);
+		return c != 0 ? c : Long.compare(ids[a], ids[b]);
+	}
+
+	int dateAt(int pos) { return byDate[pos]; }
+	int empAt(int pos) { return byEmp[pos]; }
+
+	// 한 행 끼우기/빼기: 이진 탐색 + 배열 밀기(O(n) 복사지만 수십만 행도 수십 µs)
+	private void index(int s) {
+		insert(byDate, s, dateOrder);
+		insert(byEmp, s, empOrder);
+		live++;
+	}
+
+	private void unindex(int s) {
+		delete(byDate, s, dateOrder);
+		delete(byEmp, s, empOrder);
+		live--;
+	}
+
+	private void insert(int[] idx, int s, IntBinaryOperator order) {
+		int lo = 0, hi = live;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (order.applyAsInt(idx[mid], s) < 0) lo = mid + 1; else hi = mid;
+		}
+		System.arraycopy(idx, lo, idx, lo + 1, live - lo);
+		idx[lo] = s;
+	}
+
+	// 키(…, id)가 유일하므로 이진 탐색으로 정확한 자리를 찾는다. 부르기 전에 열 값을 바꾸면 안 된다
+	private void delete(int[] idx, int s, IntBinaryOperator order) {
+		int lo = 0, hi = live - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int c = order.applyAsInt(idx[mid], s);
+			if (c == 0) {
+				System.arraycopy(idx, mid + 1, idx, mid, live - mid - 1);
+				return;
+			}
+			if (c < 0) lo = mid + 1; else hi = mid - 1;
+		}
+		throw new IllegalStateException("색인에 없는 슬롯: " + s);
+	}
+
+	/** 살아 있는 슬롯으로 두 색인을 처음부터 다시 만든다 */
+	private void reindex() {
+		int n = 0;
+		for (int s = 0; s < slots; s++) if (ids[s] != 0) byDate[n++] = s;
+		live = n;
+		System.arraycopy(byDate, 0, byEmp, 0, n);
+		int[] tmp = new int[n];
+		sort(byDate, tmp, 0, n, dateOrder);
+		sort(byEmp, tmp, 0, n, empOrder);
+	}
+
+	// 슬롯 배열 병합 정렬(기본형 int[]를 비교자로 정렬하는 표준 API가 없어서)
+	private static void sort(int[] a, int[] tmp, int from, int to, IntBinaryOperator order) {
+		if (to - from < 16) {
+			for (int i = from + 1; i < to; i++) {
+				int v = a[i], j = i - 1;
+				while (j >= from && order.applyAsInt(a[j], v) > 0) a[j + 1] = a[j--];
+				a[j + 1] = v;
+			}
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		sort(a, tmp, from, mid, order);
+		sort(a, tmp, mid, to, order);
+		if (order.applyAsInt(a[mid - 1], a[mid]) <= 0) return; // 이미 이어져 있음
+		System.arraycopy(a, from, tmp, from, to - from);
+		for (int i = from, l = from, r = mid; i < to; i++) {
+			a[i] = r >= to || (l < mid && order.applyAsInt(tmp[l], tmp[r]) <= 0) ? tmp[l++] : tmp[r++];
+		}
+	}
+
+	/** (근무일) 색인에서 근무일 >= d인 첫 위치 */
+	int lowerDay(long d) {
+		int lo = 0, hi = live;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (day[byDate[mid]] < d) lo = mid + 1; else hi = mid;
+		}
+		return lo;
+	}
+
+	/** (근무일, 사번, id) 색인에서 키가 (d, e, id)보다 큰 첫 위치 */
+	int afterKey(long d, long e, long id) {
+		int lo = 0, hi = live;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			int s = byDate[mid];
+			int c = Long.compare(day[s], d);
+			if (c == 0) c = Long.compare(emp[s], e);
+			if (c == 0) c = Long.compare(ids[s], id);
+			if (c <= 0) lo = mid + 1; else hi = mid;
+		}
+		return lo;
+	}
+
+	/** (사번, 근무일) 색인에서 키 >= (e, d)인 첫 위치 */
+	int lowerEmp(long e, long d) {
+		int lo = 0, hi = live;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			int s = byEmp[mid];
+			int c = Long.compare(emp[s], e);
+			if (c == 0) c = Long.compare(day[s], d);
+			if (c < 0) lo = mid + 1; else hi = mid;
+		}
+		return lo;
+	}
+
+	/** 자연키(사번, 근무일, 출근 분)가 같은 행의 슬롯(없으면 -1). 출근이 없는 기록은 자연키가 없다 */
+	int findNatural(int e, int d, int inMin) {
+		if (inMin == NO_TIME) return -1;
+		for (int p = lowerEmp(e, d); p < live; p++) {
+			int s = byEmp[p];
+			if (emp[s] != e || day[s] != d) break;
+			if (in[s] == inMin) return s;
+		}
+		return -1;
+	}
+
+	/** 출근이 없고 퇴근·메모까지 같은 행의 슬롯(없으면 -1): 출근 없는 기록의 재가져오기 중복 판단용 */
+	int findUntimed(int e, int d, int outMin, String memoText) {
+		for (int p = lowerEmp(e, d); p < live; p++) {
+			int s = byEmp[p];
+			if (emp[s] != e || day[s] != d) break;
+			if (in[s] == NO_TIME && out[s] == outMin && Objects.equals(words[memo[s]], memoText)) return s;
+		}
+		return -1;
+	}
+
+	/** id → 슬롯 해시(선형 탐사, 삭제는 뒤 칸을 당겨 메운다). 박싱 없이 수십만 건 */
+	private static final class SlotMap {
+		private long[] keys = new long[INITIAL_CAPACITY * 2];
+		private int[] values = new int[INITIAL_CAPACITY * 2];
+		private boolean[] used = new boolean[INITIAL_CAPACITY * 2];
+		private int size;
+
+		int get(long key) {
+			int mask = keys.length - 1;
+			for (int i = hash(key) & mask; used[i]; i = (i + 1) & mask) {
+				if (keys[i] == key) return values[i];
+			}
+			return -1;
+		}
+
+		void put(long key, int value) {
+			if ((size + 1) * 2 > keys.length) grow();
+			int mask = keys.length - 1;
+			int i = hash(key) & mask;
+			for (; used[i]; i = (i + 1) & mask) {
+				if (keys[i] == key) { values[i] = value; return; }
+			}
+			used[i] = true;
+			keys[i] = key;
+			values[i] = value;
+			size++;
+		}
+
+		int remove(long key) {
+			int mask = keys.length - 1;
+			int i = hash(key) & mask;
+			for (; used[i]; i = (i + 1) & mask) {
+				if (keys[i] == key) break;
+			}
+			if (!used[i]) return -1;
+			int removed = values[i];
+			// 뒤따르는 묶음에서 제자리가 비워진 칸 이전인 것을 당겨 온다
+			for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+				int home = hash(keys[j]) & mask;
+				if (((j - home) & mask) >= ((j - i) & mask)) {
+					keys[i] = keys[j];
+					values[i] = values[j];
+					i = j;
+				}
+			}
+			used[i] = false;
+			size--;
+			return removed;
+		}
+
+		void clear() {
+			Arrays.fill(used, false);
+			size = 0;
+		}
+
+		private void grow() {
+			long[] k = keys;
+			int[] v = values;
+			boolean[] u = used;
+			keys = new long[k.length * 2];
+			values = new int[k.length * 2];
+			used = new boolean[k.length * 2];
+			size = 0;
+			for (int i = 0; i < k.length; i++) if (u[i]) put(k[i], v[i]);
+		}
+
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+}
@@ -0,0 +1,397 @@
+package com.maemong.attendance.adapters.memory;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.domain.UpsertResult;
+import com.maemong.attendance.ports.AttendanceRepository;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 열 저장소(AttendanceColumns) 위의 AttendanceRepository: 디스크 없이 기간/월/사번 조회와 근무시간 집계를
+ * 정렬 색인 범위로 바로 답한다. 단독(테스트·벤치마크)으로 쓰거나 MirroredAttendanceRepository의 읽기 사본으로 쓴다.
+ * - 단독일 때 id는 여기서 발급하고, 자연키(사번, 근무일, 출근시각) 중복은 SQLite와 같은 메시지로 막는다.
+ * - 검색은 메모만 본다(직원 이름은 이 저장소에 없다). 변경 기록·연도 보관은 없다.
+ * 읽기는 공유 잠금, 쓰기는 배타 잠금(한 메서드 = 한 번의 잠금이라 일괄 저장 중간 상태는 보이지 않는다).
+ */
+public class ColumnarAttendanceRepository implements AttendanceRepository {
+	private final AttendanceColumns cols = new AttendanceColumns();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private <T> T read(Supplier<T> f) {
+		lock.readLock().lock();
+		try { return f.get(); } finally { lock.readLock().unlock(); }
+	}
+
+	private <T> T write(Supplier<T> f) {
+		lock.writeLock().lock();
+		try { return f.get(); } finally { lock.writeLock().unlock(); }
+	}
+
+	/** 메모리에 있는 기록 수 */
+	public int size() { return read(cols::size); }
+
+	// ===== 쓰기 =====
+
+	@Override public AttendanceRecord save(AttendanceRecord r) {
+		return write(() -> saveOne(r));
+	}
+
+	private AttendanceRecord saveOne(AttendanceRecord r) {
+		int dup = natural(r);
+		if (dup >= 0 && (r.id() == null || cols.id(dup) != r.id())) {
+			throw new IllegalArgumentException("같은 사번·날짜·출근시각의 기록이 이미 있습니다: "
+					+ r.employeeId() + " " + r.workDate() + " " + r.clockIn());
+		}
+		if (r.id() == null) {
+			AttendanceRecord saved = new AttendanceRecord(cols.maxId() + 1, r.employeeId(), r.workDate(), r.clockIn(), r.clockOut(), r.memo());
+			cols.put(saved);
+			return saved;
+		}
+		// DB 저장소와 같이 없는 id의 수정은 실패(이미 지워졌거나 보관된 기록)
+		if (cols.slotOf(r.id()) < 0) {
+			throw new IllegalArgumentException("수정할 기록이 없습니다(삭제되었거나 보관된 연도의 기록): " + r.id());
+		}
+		cols.put(r);
+		return r;
+	}
+
+	@Override public BatchResult saveAll(Collection<AttendanceRecord> records) {
+		return write(() -> {
+			List<AttendanceRecord> saved = new ArrayList<>(records.size());
+			List<BatchResult.Failure> failures = new ArrayList<>();
+			cols.beginBatch(records.size());
+			try {
+				int i = 0;
+				for (AttendanceRecord r : records) {
+					try {
+						saved.add(saveOne(r));
+					} catch (IllegalArgumentException ex) {
+						failures.add(new BatchResult.Failure(i, ex.getMessage()));
+					}
+					i++;
+				}
+			} finally {
+				cols.endBatch();
+			}
+			return new BatchResult(saved, failures);
+		});
+	}
+
+	// 메모리 저장소는 내려갈 디스크가 없다
+	@Override public BatchResult saveAllDurable(Collection<AttendanceRecord> records) {
+		return saveAll(records);
+	}
+
+	@Override public UpsertResult upsertAll(Collection<AttendanceRecord> records) {
+		return write(() -> {
+			int inserted = 0, updated = 0, unchanged = 0;
+			List<BatchResult.Failure> failures = new ArrayList<>();
+			cols.beginBatch(records.size());
+			try {
+				int i = 0;
+				for (AttendanceRecord r : records) {
+					try {
+						switch (upsertOne(r)) {
+							case 0 -> inserted++;
+							case 1 -> updated++;
+							default -> unchanged++;
+						}
+					} catch (IllegalArgumentException ex) {
+						failures.add(new BatchResult.Failure(i, ex.getMessage()));
+					}
+					i++;
+				}
+			} finally {
+				cols.endBatch();
+			}
+			return new UpsertResult(inserted, updated, unchanged, failures);
+		});
+	}
+
+	// 0 = 추가, 1 = 퇴근/메모 갱신, 2 = 값이 같아 그대로 (AttendanceRepositoryJdbi의 UPSERT_SQL과 같은 규칙)
+	private int upsertOne(AttendanceRecord r) {
+		int s = natural(r);
+		if (s < 0) {
+			// 출근 없는 기록은 자연키가 없다: 값이 모두 같은 행이 있을 때만 건너뜀(UPSERT_UNTIMED_SQL과 같은 규칙)
+			if (r.clockIn() == null && cols.findUntimed(AttendanceColumns.employeeKey(r.employeeId()),
+					Math.toIntExact(r.workDate().toEpochDay()), AttendanceColumns.minute(r.clockOut()), r.memo()) >= 0) return 2;
+			cols.put(new AttendanceRecord(cols.maxId() + 1, r.employeeId(), r.workDate(), r.clockIn(), r.clockOut(), r.memo()));
+			return 0;
+		}
+		if (cols.clockOut(s) == AttendanceColumns.minute(r.clockOut()) && Objects.equals(cols.word(cols.memoCode(s)), r.memo())) return 2;
+		AttendanceRecord old = cols.record(s);
+		cols.put(new AttendanceRecord(old.id(), old.employeeId(), old.workDate(), old.clockIn(), r.clockOut(), r.memo()));
+		return 1;
+	}
+
+	// 자연키가 같은 행의 슬롯(없으면 -1)
+	private int natural(AttendanceRecord r) {
+		if (r.workDate() == null) throw new IllegalArgumentException("날짜가 올바르지 않습니다.");
+		return cols.findNatural(AttendanceColumns.employeeKey(r.employeeId()), Math.toIntExact(r.workDate().toEpochDay()),
+				AttendanceColumns.minute(r.clockIn()));
+	}
+
+	@Override public boolean deleteById(long id) {
+		return write(() -> cols.remove(id));
+	}
+
+	@Override public int deleteByIds(Collection<Long> ids) {
+		return write(() -> {
+			cols.beginBatch(ids.size());
+			try {
+				int n = 0;
+				for (Long id : new LinkedHashSet<>(ids)) if (id != null && cols.remove(id)) n++;
+				return n;
+			} finally {
+				cols.endBatch();
+			}
+		});
+	}
+
+	// ===== MirroredAttendanceRepository용: id 그대로 넣기/빼기/전체 교체 =====
+
+	/** 이미 id가 있는 기록들을 그대로 반영(같은 id는 덮어쓴다) */
+	void putAll(Collection<AttendanceRecord> records) {
+		write(() -> {
+			cols.beginBatch(records.size());
+			try {
+				for (AttendanceRecord r : records) cols.put(r);
+			} finally {
+				cols.endBatch();
+			}
+			return null;
+		});
+	}
+
+	void removeAll(Collection<Long> ids) {
+		write(() -> {
+			cols.beginBatch(ids.size());
+			try {
+				for (Long id : ids) cols.remove(id);
+			} finally {
+				cols.endBatch();
+			}
+			return null;
+		});
+	}
+
+	/** 전부 비우고 rows로 다시 채운다. 반환: 채운 행 수 */
+	int replaceAll(Stream<AttendanceRecord> rows) {
+		return write(() -> {
+			cols.clear();
+			cols.beginBatch(Integer.MAX_VALUE);
+			try {
+				rows.forEach(cols::put);
+			} finally {
+				cols.endBatch();
+			}
+			return cols.size();
+		});
+	}
+
+	// ===== 조회 =====
+
+	@Override public Optional<AttendanceRecord> findById(long id) {
+		return read(() -> {
+			int s = cols.slotOf(id);
+			return s < 0 ? Optional.empty() : Optional.of(cols.record(s));
+		});
+	}
+
+	@Override public List<AttendanceRecord> findByDate(LocalDate date) {
+		return byDateRange(date.toEpochDay(), date.toEpochDay());
+	}
+
+	@Override public List<AttendanceRecord> findByMonth(YearMonth ym) {
+		return byDateRange(ym.atDay(1).toEpochDay(), ym.atEndOfMonth().toEpochDay());
+	}
+
+	// (근무일, 사번, id) 색인의 [from, to] 구간을 그 순서대로
+	private List<AttendanceRecord> byDateRange(long from, long to) {
+		return read(() -> {
+			int p = cols.lowerDay(from), end = cols.lowerDay(to + 1);
+			List<AttendanceRecord> out = new ArrayList<>(end - p);
+			for (; p < end; p++) out.add(cols.record(cols.dateAt(p)));
+			return out;
+		});
+	}
+
+	@Override public List<AttendanceRecord> findByEmployeeAndRange(long employeeId, LocalDate from, LocalDate to) {
+		return read(() -> {
+			List<AttendanceRecord> out = new ArrayList<>();
+			long t = to.toEpochDay();
+			for (int p = cols.lowerEmp(employeeId, from.toEpochDay()); p < cols.size(); p++) {
+				int s = cols.empAt(p);
+				if (cols.employee(s) != employeeId || cols.day(s) > t) break;
+				out.add(cols.record(s));
+			}
+			return out;
+		});
+	}
+
+	@Override public List<AttendanceRecord> findPage(LocalDate from, LocalDate to, PageKey after, int limit) {
+		if (limit <= 0) throw new IllegalArgumentException("페이지 크기는 1 이상이어야 합니다.");
+		return read(() -> {
+			int p = cols.lowerDay(from.toEpochDay());
+			if (after != null) p = Math.max(p, cols.afterKey(after.workDate().toEpochDay(), after.employeeId(), after.id()));
+			long t = to.toEpochDay();
+			List<AttendanceRecord> out = new ArrayList<>(Math.min(limit, 1024));
+			for (; p < cols.size() && out.size() < limit; p++) {
+				int s = cols.dateAt(p);
+				if (cols.day(s) > t) break;
+				out.add(cols.record(s));
+			}
+			return out;
+		});
+	}
+
+	/**
+	 * 메모 키워드 검색: 공백 등으로 나눈 단어를 모두 메모 어절의 앞부분으로 포함(AND).
+	 * 메모 사전에서 한 번만 맞춰 보고, 행은 사전 번호로 거른다.
+	 */
+	@Override public List<AttendanceRecord> searchRecords(String query, DateRange range) {
+		List<String> terms = terms(query);
+		if (terms.isEmpty()) return List.of();
+		DateRange r = range == null ? DateRange.all() : range;
+		return read(() -> {
+			boolean[] hit = new boolean[cols.wordCount()];
+			boolean any = false;
+			for (int c = 1; c < hit.length; c++) any |= hit[c] = matches(cols.word(c), terms);
+			if (!any) return List.<AttendanceRecord>of();
+			int p = r.from() == null ? 0 : cols.lowerDay(r.from().toEpochDay());
+			int end = r.to() == null ? cols.size() : cols.lowerDay(r.to().toEpochDay() + 1);
+			List<AttendanceRecord> found = new ArrayList<>();
+			for (; p < end; p++) {
+				int s = cols.dateAt(p);
+				if (hit[cols.memoCode(s)]) found.add(cols.record(s));
+			}
+			// SQLite 쪽과 같이 최근에 입력된(id가 큰) 기록부터 상한만큼 고른 뒤 최근 근무일 순
+			if (found.size() > SEARCH_LIMIT) {
+				found.sort(Comparator.comparing(AttendanceRecord::id).reversed());
+				found = new ArrayList<>(found.subList(0, SEARCH_LIMIT));
+			}
+			found.sort(SEARCH_ORDER);
+			return found;
+		});
+	}
+
+	private static final Comparator<AttendanceRecord> SEARCH_ORDER = Comparator
+			.comparing(AttendanceRecord::workDate, Comparator.reverseOrder())
+			.thenComparingLong(AttendanceRecord::employeeId)
+			.thenComparing(AttendanceRecord::id);
+
+	// 검색어 → 소문자 단어 목록(FTS 토크나이저와 같은 기준: 글자/숫자가 아닌 문자로 나눔)
+	private static List<String> terms(String query) {
+		if (query == null) return List.of();
+		List<String> out = new ArrayList<>();
+		for (String w : query.split("[^\\p{L}\\p{N}]+")) if (!w.isEmpty()) out.add(w.toLowerCase(Locale.ROOT));
+		return out;
+	}
+
+	private static boolean matches(String memo, List<String> terms) {
+		String[] tokens = memo.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+		for (String t : terms) {
+			boolean found = false;
+			for (String tok : tokens) if (tok.startsWith(t)) { found = true; break; }
+			if (!found) return false;
+		}
+		return true;
+	}
+
+	// ===== 근무시간 집계: 집계 테이블 없이 색인 범위를 바로 더한다 =====
+
+	@Override public Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to) {
+		return read(() -> {
+			Map<Long, Integer> out = new LinkedHashMap<>();
+			long f = from.toEpochDay(), t = to.toEpochDay();
+			// (사번, 근무일) 색인에서 사번마다 [from, to] 구간만 집어 더하고 다음 사번으로 건너뛴다
+			int p = 0;
+			while (p < cols.size()) {
+				int e = cols.employee(cols.empAt(p));
+				int sum = 0;
+				for (p = cols.lowerEmp(e, f); p < cols.size(); p++) {
+					int s = cols.empAt(p);
+					if (cols.employee(s) != e || cols.day(s) > t) break;
+					sum += cols.minutes(s);
+				}
+				if (sum > 0) out.put((long) e, sum);
+				p = cols.lowerEmp((long) e + 1, Long.MIN_VALUE);
+			}
+			return out;
+		});
+	}
+
+	@Override public Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long employeeId) {
+		return read(() -> {
+			long f = from.toEpochDay(), t = to.toEpochDay();
+			boolean all = employeeId == null;
+			int p = all ? cols.lowerDay(f) : cols.lowerEmp(employeeId, f);
+			Map<LocalDate, Integer> out = new LinkedHashMap<>();
+			int curDay = Integer.MIN_VALUE, sum = 0;
+			for (; p < cols.size(); p++) {
+				int s = all ? cols.dateAt(p) : cols.empAt(p);
+				if (cols.day(s) > t || (!all && cols.employee(s) != employeeId)) break;
+				if (cols.day(s) != curDay) {
+					if (sum > 0) out.put(LocalDate.ofEpochDay(curDay), sum);
+					curDay = cols.day(s);
+					sum = 0;
+				}
+				sum += cols.minutes(s);
+			}
+			if (sum > 0) out.put(LocalDate.ofEpochDay(curDay), sum);
+			return out;
+		});
+	}
+
+	/** 따로 둔 집계가 없으므로 다시 만들 것도 없다. 반환: 사번×일 버킷 수(SQLite 쪽 반환값과 같은 뜻) */
+	@Override public int rebuildAggregates() {
+		return read(() -> {
+			int n = 0;
+			for (int p = 0, prevE = 0, prevD = 0; p < cols.size(); p++) {
+				int s = cols.empAt(p);
+				if (p == 0 || cols.employee(s) != prevE || cols.day(s) != prevD) n++;
+				prevE = cols.employee(s);
+				prevD = cols.day(s);
+			}
+			return n;
+		});
+	}
+
+	/** 집계를 매번 원본 열에서 계산하므로 어긋날 수 없다(테이블 이름은 SQLite 쪽과 맞춤) */
+	@Override public Map<String, Integer> verifyAggregates() {
+		Map<String, Integer> out = new LinkedHashMap<>();
+		out.put("agg_emp_day", 0);
+		out.put("agg_emp_month", 0);
+		out.put("agg_day", 0);
+		return out;
+	}
+
+	/** 구간을 잠금 안에서 목록으로 떠서 흘려보낸다(잠금을 스트림 소비자에게 넘기지 않도록) */
+	@Override public Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to) {
+		return byDateRange(from.toEpochDay(), to.toEpochDay()).stream();
+	}
+
+	// ===== 보관/변경 기록: 메모리 저장소에는 없다 =====
+
+	@Override public int archiveYear(int year) {
+		throw new IllegalStateException("메모리 저장소는 연도 보관을 지원하지 않습니다.");
+	}
+
+	@Override public List<Integer> archivedYears() { return List.of(); }
+
+	@Override public ChangeBatch changesSince(long seq) {
+		return new ChangeBatch(List.of(), seq, false, false);
+	}
+
+	@Override public long lastChangeSeq() { return 0; }
+
+	@Override public int pruneChanges(int keep) { return 0; }
+}
@@ -0,0 +1,225 @@
+package com.maemong.attendance.adapters.memory;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.Change;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.domain.UpsertResult;
+import com.maemong.attendance.ports.AttendanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * SQLite 저장소 앞에 메모리 열 사본(ColumnarAttendanceRepository)을 두는 write-through 저장소.
+ * - 쓰기: DB에 먼저 쓰고 성공한 결과를 사본에 반영한다. DB가 원본이다.
+ * - 조회(일/월/기간/페이지/사번별, 근무시간 집계, 스트림): 사본에서 바로 답한다.
+ * - 검색(직원 이름 포함)·보관·변경 기록·집계 재구성/검증: DB 그대로.
+ * 다른 프로세스(유지보수 명령 등)의 변경은 변경 기록(change_log)으로 따라잡는다: 조회 때 SYNC_INTERVAL에 한 번,
+ * 그리고 쓰기 직후에. 기록이 잘려 따라잡을 수 없으면(reset) 전체를 다시 읽는다.
+ */
+public final class MirroredAttendanceRepository implements AttendanceRepository {
+	private static final Logger log = LoggerFactory.getLogger(MirroredAttendanceRepository.class);
+
+	// 조회 때 변경 기록을 확인하는 최소 간격(그 사이 다른 프로세스의 변경은 최대 이만큼 늦게 보인다)
+	private static final long SYNC_INTERVAL_NANOS = 1_000_000_000L;
+	private static final LocalDate ALL_FROM = LocalDate.of(1, 1, 1);
+	private static final LocalDate ALL_TO = LocalDate.of(9999, 12, 31);
+
+	private final AttendanceRepository db;
+	private final ColumnarAttendanceRepository memory = new ColumnarAttendanceRepository();
+	private final Object sync = new Object(); // 쓰기와 따라잡기를 한 줄로
+	private long seen = -1;                   // 사본에 반영한 마지막 변경 seq(-1 = 아직 안 읽음), sync로 보호
+	private volatile boolean loaded;
+	private volatile long syncedAt;
+
+	public MirroredAttendanceRepository(AttendanceRepository db) {
+		this.db = db;
+	}
+
+	/** DB 전체(보관 연도 포함)를 사본으로 읽는다. 반환: 행 수. 부르지 않으면 첫 조회 때 읽는다 */
+	public int load() {
+		synchronized (sync) {
+			return reload();
+		}
+	}
+
+	private int reload() {
+		long t0 = System.nanoTime();
+		long head = db.lastChangeSeq(); // 읽기 전에 받아 두면 읽는 동안의 변경은 다음 따라잡기에서 다시 반영된다
+		int n;
+		try (Stream<AttendanceRecord> rows = db.streamByRange(ALL_FROM, ALL_TO)) {
+			n = memory.replaceAll(rows);
+		}
+		seen = head;
+		syncedAt = System.nanoTime();
+		loaded = true;
+		log.info("근태 메모리 사본 적재: {}건, {} ms", n, (syncedAt - t0) / 1_000_000);
+		return n;
+	}
+
+	// 조회 전: 아직 안 읽었거나 마지막 확인이 오래됐으면 따라잡는다
+	private ColumnarAttendanceRepository fresh() {
+		if (!loaded || System.nanoTime() - syncedAt >= SYNC_INTERVAL_NANOS) {
+			synchronized (sync) {
+				if (!loaded || System.nanoTime() - syncedAt >= SYNC_INTERVAL_NANOS) catchUp(Set.of());
+			}
+		}
+		return memory;
+	}
+
+	/**
+	 * seen 이후 변경을 사본에 반영. own은 방금 이 저장소가 쓰고 사본에 넣은 id(다시 읽지 않는다).
+	 * 추가/수정은 id별 마지막 변경의 근무일을 DB에서 날짜 단위로 읽어 그 id만 넣는다.
+	 */
+	private void catchUp(Set<Long> own) {
+		if (!loaded) {
+			reload();
+			return;
+		}
+		Map<Long, LocalDate> pending = new LinkedHashMap<>();
+		List<Long> deleted = new ArrayList<>();
+		ChangeBatch b;
+		do {
+			b = db.changesSince(seen);
+			if (b.reset()) {
+				reload();
+				return;
+			}
+			for (Change c : b.changes()) {
+				if (c.op() == Change.Op.DELETE) {
+					pending.remove(c.rowId());
+					deleted.add(c.rowId());
+				} else if (!own.contains(c.rowId())) {
+					pending.put(c.rowId(), c.workDate());
+				}
+			}
+			seen = b.lastSeq();
+		} while (b.hasMore());
+
+		if (!deleted.isEmpty()) memory.removeAll(deleted);
+		if (!pending.isEmpty()) {
+			Map<LocalDate, List<Long>> byDay = new TreeMap<>();
+			pending.forEach((id, day) -> byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(id));
+			List<AttendanceRecord> rows = new ArrayList<>(pending.size());
+			for (LocalDate day : byDay.keySet()) {
+				for (AttendanceRecord r : db.findByDate(day)) if (pending.remove(r.id()) != null) rows.add(r);
+			}
+			memory.putAll(rows);
+			// 그 날짜에 없으면 이후 다른 날로 옮겨졌다가 지워진 것 → 사본에서도 뺀다
+			if (!pending.isEmpty()) memory.removeAll(pending.keySet());
+		}
+		syncedAt = System.nanoTime();
+	}
+
+	// ===== 쓰기: DB → 사본 =====
+
+	@Override public AttendanceRecord save(AttendanceRecord r) {
+		synchronized (sync) {
+			fresh();
+			AttendanceRecord saved = db.save(r);
+			memory.putAll(List.of(saved));
+			catchUp(Set.of(saved.id()));
+			return saved;
+		}
+	}
+
+	@Override public BatchResult saveAll(Collection<AttendanceRecord> records) {
+		synchronized (sync) {
+			fresh();
+			BatchResult result = db.saveAll(records);
+			memory.putAll(result.saved());
+			catchUp(ids(result.saved()));
+			return result;
+		}
+	}
+
+	@Override public BatchResult saveAllDurable(Collection<AttendanceRecord> records) {
+		synchronized (sync) {
+			fresh();
+			BatchResult result = db.saveAllDurable(records);
+			memory.putAll(result.saved());
+			catchUp(ids(result.saved()));
+			return result;
+		}
+	}
+
+	// 업서트 결과에는 행이 없으므로 변경 기록으로 반영
+	@Override public UpsertResult upsertAll(Collection<AttendanceRecord> records) {
+		synchronized (sync) {
+			fresh();
+			UpsertResult result = db.upsertAll(records);
+			catchUp(Set.of());
+			return result;
+		}
+	}
+
+	// 삭제는 변경 기록(같은 트랜잭션에 남는다)으로 반영: DB가 실제로 지운 id만 사본에서 빠진다.
+	// 요청한 id를 그대로 빼면 보관된 연도처럼 DB에서는 지워지지 않은 행까지 사본에서 사라진다
+	@Override public boolean deleteById(long id) {
+		synchronized (sync) {
+			fresh();
+			boolean deleted = db.deleteById(id);
+			catchUp(Set.of());
+			return deleted;
+		}
+	}
+
+	@Override public int deleteByIds(Collection<Long> ids) {
+		synchronized (sync) {
+			fresh();
+			int n = db.deleteByIds(ids);
+			catchUp(Set.of());
+			return n;
+		}
+	}
+
+	private static Set<Long> ids(List<AttendanceRecord> rows) {
+		Set<Long> out = new HashSet<>(rows.size() * 2);
+		for (AttendanceRecord r : rows) out.add(r.id());
+		return out;
+	}
+
+	// ===== 조회: 사본 =====
+
+	@Override public Optional<AttendanceRecord> findById(long id) { return fresh().findById(id); }
+	@Override public List<AttendanceRecord> findByDate(LocalDate date) { return fresh().findByDate(date); }
+	@Override public List<AttendanceRecord> findByMonth(YearMonth ym) { return fresh().findByMonth(ym); }
+
+	@Override public List<AttendanceRecord> findByEmployeeAndRange(long employeeId, LocalDate from, LocalDate to) {
+		return fresh().findByEmployeeAndRange(employeeId, from, to);
+	}
+
+	@Override public List<AttendanceRecord> findPage(LocalDate from, LocalDate to, PageKey after, int limit) {
+		return fresh().findPage(from, to, after, limit);
+	}
+
+	@Override public Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to) {
+		return fresh().minutesByEmployee(from, to);
+	}
+
+	@Override public Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long employeeId) {
+		return fresh().minutesByDate(from, to, employeeId);
+	}
+
+	@Override public Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to) {
+		return fresh().streamByRange(from, to);
+	}
+
+	// ===== DB 그대로 =====
+
+	@Override public List<AttendanceRecord> searchRecords(String query, DateRange range) { return db.searchRecords(query, range); }
+	@Override public int rebuildAggregates() { return db.rebuildAggregates(); }
+	@Override public Map<String, Integer> verifyAggregates() { return db.verifyAggregates(); }
+	// 보관으로 옮긴 행도 조회는 그대로 되므로 사본은 그대로 둔다(옮김은 변경 기록에도 남지 않는다)
+	@Override public int archiveYear(int year) { return db.archiveYear(year); }
+	@Override public List<Integer> archivedYears() { return db.archivedYears(); }
+	@Override public ChangeBatch changesSince(long seq) { return db.changesSince(seq); }
+	@Override public long lastChangeSeq() { return db.lastChangeSeq(); }
+	@Override public int pruneChanges(int keep) { return db.pruneChanges(keep); }
+}
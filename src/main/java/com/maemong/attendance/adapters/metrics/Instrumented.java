@@ -0,0 +1,52 @@
+package com.maemong.attendance.adapters.metrics;
+
+import com.maemong.attendance.metrics.MethodMetrics;
+import com.maemong.attendance.metrics.MetricsRegistry;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/** 저장소 데코레이터 공통: 호출 시간/행 수/오류를 registry에 기록 */
+abstract class Instrumented {
+	private final MetricsRegistry registry;
+	private final String prefix;
+	// 메서드 이름 → 지표(호출마다 이름을 이어 붙여 registry를 찾지 않도록)
+	private final ConcurrentHashMap<String, MethodMetrics> byMethod = new ConcurrentHashMap<>();
+
+	Instrumented(MetricsRegistry registry, String prefix) {
+		this.registry = registry;
+		this.prefix = prefix + ".";
+	}
+
+	final MethodMetrics metrics(String method) {
+		MethodMetrics m = byMethod.get(method);
+		return m != null ? m : byMethod.computeIfAbsent(method, k -> registry.method(prefix + k));
+	}
+
+	/** call을 재고 rows로 결과 행 수를 센다. 예외는 오류로 세고 그대로 던진다 */
+	final <T> T timed(String method, Supplier<T> call, ToLongFunction<? super T> rows) {
+		MethodMetrics m = metrics(method);
+		long t0 = System.nanoTime();
+		T result;
+		try {
+			result = call.get();
+		} catch (RuntimeException | Error e) {
+			m.record(System.nanoTime() - t0, 0, true);
+			throw e;
+		}
+		m.record(System.nanoTime() - t0, result == null ? 0 : rows.applyAsLong(result), false);
+		return result;
+	}
+
+	// 결과 종류별 행 수
+	static long size(Collection<?> c) { return c.size(); }
+	static long size(Map<?, ?> m) { return m.size(); }
+	static long present(Optional<?> o) { return o.isPresent() ? 1 : 0; }
+	static long one(Object o) { return 1; }
+	static long count(Number n) { return Math.max(0, n.longValue()); }
+	static long truth(Boolean b) { return b ? 1 : 0; }
+}
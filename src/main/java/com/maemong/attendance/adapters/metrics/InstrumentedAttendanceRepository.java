@@ -0,0 +1,178 @@
+package com.maemong.attendance.adapters.metrics;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.domain.UpsertResult;
+import com.maemong.attendance.metrics.MethodMetrics;
+import com.maemong.attendance.metrics.MetricsRegistry;
+import com.maemong.attendance.ports.AttendanceRepository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * AttendanceRepository 계측 데코레이터: 메서드별 호출 수/지연/행 수/오류를 "attendance.메서드" 이름으로 기록.
+ * 스트림 조회는 다 읽거나, 읽다가 예외가 나거나(오류), 닫을 때 중 먼저 오는 때까지의 시간과 흘려보낸 행 수를 잰다.
+ */
+public final class InstrumentedAttendanceRepository extends Instrumented implements AttendanceRepository {
+	private final AttendanceRepository delegate;
+
+	public InstrumentedAttendanceRepository(AttendanceRepository delegate, MetricsRegistry registry) {
+		super(registry, "attendance");
+		this.delegate = delegate;
+	}
+
+	@Override public AttendanceRecord save(AttendanceRecord r) {
+		return timed("save", () -> delegate.save(r), Instrumented::one);
+	}
+
+	@Override public BatchResult saveAll(Collection<AttendanceRecord> records) {
+		return timed("saveAll", () -> delegate.saveAll(records), b -> b.okCount());
+	}
+
+	@Override public BatchResult saveAllDurable(Collection<AttendanceRecord> records) {
+		return timed("saveAllDurable", () -> delegate.saveAllDurable(records), b -> b.okCount());
+	}
+
+	@Override public UpsertResult upsertAll(Collection<AttendanceRecord> records) {
+		return timed("upsertAll", () -> delegate.upsertAll(records), u -> u.okCount());
+	}
+
+	@Override public Optional<AttendanceRecord> findById(long id) {
+		return timed("findById", () -> delegate.findById(id), Instrumented::present);
+	}
+
+	@Override public List<AttendanceRecord> findByDate(LocalDate date) {
+		return timed("findByDate", () -> delegate.findByDate(date), Instrumented::size);
+	}
+
+	@Override public List<AttendanceRecord> findByMonth(YearMonth ym) {
+		return timed("findByMonth", () -> delegate.findByMonth(ym), Instrumented::size);
+	}
+
+	@Override public List<AttendanceRecord> findByEmployeeAndRange(long employeeId, LocalDate from, LocalDate to) {
+		return timed("findByEmployeeAndRange", () -> delegate.findByEmployeeAndRange(employeeId, from, to), Instrumented::size);
+	}
+
+	@Override public List<AttendanceRecord> findPage(LocalDate from, LocalDate to, PageKey after, int limit) {
+		return timed("findPage", () -> delegate.findPage(from, to, after, limit), Instrumented::size);
+	}
+
+	@Override public List<AttendanceRecord> searchRecords(String query, DateRange range) {
+		return timed("searchRecords", () -> delegate.searchRecords(query, range), Instrumented::size);
+	}
+
+	@Override public boolean deleteById(long id) {
+		return timed("deleteById", () -> delegate.deleteById(id), Instrumented::truth);
+	}
+
+	@Override public int deleteByIds(Collection<Long> ids) {
+		return timed("deleteByIds", () -> delegate.deleteByIds(ids), Instrumented::count);
+	}
+
+	@Override public Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to) {
+		return timed("minutesByEmployee", () -> delegate.minutesByEmployee(from, to), Instrumented::size);
+	}
+
+	@Override public Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long employeeId) {
+		return timed("minutesByDate", () -> delegate.minutesByDate(from, to, employeeId), Instrumented::size);
+	}
+
+	@Override public int rebuildAggregates() {
+		return timed("rebuildAggregates", delegate::rebuildAggregates, Instrumented::count);
+	}
+
+	@Override public Map<String, Integer> verifyAggregates() {
+		return timed("verifyAggregates", delegate::verifyAggregates, Instrumented::size);
+	}
+
+	@Override public Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to) {
+		MethodMetrics m = metrics("streamByRange");
+		long t0 = System.nanoTime();
+		Stream<AttendanceRecord> s;
+		try {
+			s = delegate.streamByRange(from, to);
+		} catch (RuntimeException | Error e) {
+			m.record(System.nanoTime() - t0, 0, true);
+			throw e;
+		}
+		Metered metered = new Metered(s.spliterator(), m, t0);
+		return StreamSupport.stream(metered, false).onClose(() -> {
+			try {
+				s.close(); // 원래 스트림의 close(연결 반납)
+			} finally {
+				metered.finish(false);
+			}
+		});
+	}
+
+	// 스트림 조회 한 번의 계측: 행을 세고, 끝/예외/닫기 중 처음 한 번만 기록.
+	// 오류는 저장소(커서 읽기)에서 난 예외만: 받는 쪽 처리(action)에서 난 예외는 오류로 세지 않는다
+	private static final class Metered implements Spliterator<AttendanceRecord> {
+		private final Spliterator<AttendanceRecord> source;
+		private final MethodMetrics metrics;
+		private final long t0;
+		private final AtomicBoolean recorded = new AtomicBoolean();
+		private long rows;
+		private boolean inAction;
+
+		Metered(Spliterator<AttendanceRecord> source, MethodMetrics metrics, long t0) {
+			this.source = source;
+			this.metrics = metrics;
+			this.t0 = t0;
+		}
+
+		@Override public boolean tryAdvance(Consumer<? super AttendanceRecord> action) {
+			boolean more;
+			try {
+				more = source.tryAdvance(r -> {
+					rows++;
+					inAction = true;
+					action.accept(r);
+					inAction = false;
+				});
+			} catch (RuntimeException | Error e) {
+				finish(!inAction);
+				throw e;
+			}
+			if (!more) finish(false);
+			return more;
+		}
+
+		void finish(boolean error) {
+			if (recorded.compareAndSet(false, true)) metrics.record(System.nanoTime() - t0, rows, error);
+		}
+
+		@Override public Spliterator<AttendanceRecord> trySplit() { return null; }
+		@Override public long estimateSize() { return source.estimateSize(); }
+		@Override public int characteristics() { return source.characteristics() & ~(SIZED | SUBSIZED); }
+	}
+
+	@Override public int archiveYear(int year) {
+		return timed("archiveYear", () -> delegate.archiveYear(year), Instrumented::count);
+	}
+
+	@Override public List<Integer> archivedYears() {
+		return timed("archivedYears", delegate::archivedYears, Instrumented::size);
+	}
+
+	@Override public ChangeBatch changesSince(long seq) {
+		return timed("changesSince", () -> delegate.changesSince(seq), b -> b.changes().size());
+	}
+
+	@Override public long lastChangeSeq() {
+		return timed("lastChangeSeq", delegate::lastChangeSeq, Instrumented::one);
+	}
+
+	@Override public int pruneChanges(int keep) {
+		return timed("pruneChanges", () -> delegate.pruneChanges(keep), Instrumented::count);
+	}
+}
@@ -0,0 +1,60 @@
+package com.maemong.attendance.adapters.metrics;
+
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.Employee;
+import com.maemong.attendance.metrics.MetricsRegistry;
+import com.maemong.attendance.ports.EmployeeRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/** EmployeeRepository 계측 데코레이터: "employees.메서드" 이름으로 기록 */
+public final class InstrumentedEmployeeRepository extends Instrumented implements EmployeeRepository {
+	private final EmployeeRepository delegate;
+
+	public InstrumentedEmployeeRepository(EmployeeRepository delegate, MetricsRegistry registry) {
+		super(registry, "employees");
+		this.delegate = delegate;
+	}
+
+	@Override public Employee save(Employee e) {
+		return timed("save", () -> delegate.save(e), Instrumented::one);
+	}
+
+	@Override public Optional<Employee> findById(long id) {
+		return timed("findById", () -> delegate.findById(id), Instrumented::present);
+	}
+
+	@Override public List<Employee> findAll() {
+		return timed("findAll", delegate::findAll, Instrumented::size);
+	}
+
+	@Override public List<Employee> searchByName(String nameLike) {
+		return timed("searchByName", () -> delegate.searchByName(nameLike), Instrumented::size);
+	}
+
+	@Override public boolean deleteById(long id) {
+		return timed("deleteById", () -> delegate.deleteById(id), Instrumented::truth);
+	}
+
+	@Override public boolean existsById(long id) {
+		return timed("existsById", () -> delegate.existsById(id), Instrumented::truth);
+	}
+
+	@Override public long[] findIds() {
+		return timed("findIds", delegate::findIds, ids -> ids.length);
+	}
+
+	@Override public Map<Long, String> findNames() {
+		return timed("findNames", delegate::findNames, Instrumented::size);
+	}
+
+	@Override public Map<Long, String> searchNames(String nameLike) {
+		return timed("searchNames", () -> delegate.searchNames(nameLike), Instrumented::size);
+	}
+
+	@Override public ChangeBatch changesSince(long seq) {
+		return timed("changesSince", () -> delegate.changesSince(seq), b -> b.changes().size());
+	}
+}
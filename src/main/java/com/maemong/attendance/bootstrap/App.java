@@ -13,12 +13,19 @@ public class App {
 
 
 	public static void main(String[] args) {
+		if (MaintenanceCommands.isCommand(args)) {
+			System.exit(MaintenanceCommands.run(args));
+		}
 		SwingUtilities.invokeLater(() -> {
 			try {
 				FlatLightLaf.setup();
 				Bootstrap boot = new Bootstrap();
 				boot.init();
-				new MainFrame(boot).setVisible(true);
+				MainFrame frame = new MainFrame(boot);
+				frame.setVisible(true);
+				for (String notice : boot.upgradeNotices()) {
+					JOptionPane.showMessageDialog(frame, notice, "업그레이드 안내", JOptionPane.WARNING_MESSAGE);
+				}
 			} catch (Exception e) {
 				log.error("Failed to start application", e);
 				JOptionPane.showMessageDialog(null, e.getMessage(), "Startup Error", JOptionPane.ERROR_MESSAGE);
@@ -1,20 +1,38 @@
 package com.maemong.attendance.bootstrap;
 
 import com.maemong.attendance.config.AppConfig;
+import com.maemong.attendance.db.BackupService;
+import com.maemong.attendance.db.ConnectionManager;
+import com.maemong.attendance.db.ConnectionPool;
 import com.maemong.attendance.db.DataSourceFactory;
+import com.maemong.attendance.db.InstanceLock;
 import com.maemong.attendance.db.JdbiProvider;
 import com.maemong.attendance.db.MigrationRunner;
+import com.maemong.attendance.db.UpgradeNotices;
 import com.maemong.attendance.adapters.db.AttendanceRepositoryJdbi;
 import com.maemong.attendance.adapters.db.EmployeeRepositoryJdbi;
+import com.maemong.attendance.adapters.journal.WriteBehindAttendanceQueue;
+import com.maemong.attendance.adapters.memory.MirroredAttendanceRepository;
+import com.maemong.attendance.adapters.metrics.InstrumentedAttendanceRepository;
+import com.maemong.attendance.adapters.metrics.InstrumentedEmployeeRepository;
 import com.maemong.attendance.events.AppEvents;
+import com.maemong.attendance.metrics.MetricsRegistry;
 import com.maemong.attendance.ports.AttendanceRepository;
 import com.maemong.attendance.ports.EmployeeRepository;
+import com.maemong.attendance.services.AsyncQueries;
 import com.maemong.attendance.services.AttendanceService;
 import com.maemong.attendance.services.EmployeeService;
+import com.maemong.attendance.services.KnownEmployees;
 import org.jdbi.v3.core.Jdbi;
 
 
 import javax.sql.DataSource;
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Bootstrap: 애플리케이션 초기화(파일설정, DB 마이그레이션, Jdbi 초기화, 서비스 객체 생성)
@@ -23,24 +41,72 @@ import javax.sql.DataSource;
 public class Bootstrap {
 	private AppConfig config;
     private AppEvents events;
-	private Jdbi jdbi;
+	private ConnectionManager connections;
+	private Jdbi jdbi;       // 쓰기 연결
+	private Jdbi readJdbi;   // 읽기 전용 연결 풀
+	private BackupService backups;
+	private InstanceLock instanceLock; // 실행 중 표시(복원이 이 잠금을 보고 거부한다)
+	private WriteBehindAttendanceQueue writeBehind; // db.write_behind=false면 null
+	private List<String> upgradeNotices = List.of();
+	private final MetricsRegistry metrics = new MetricsRegistry();
 
 	// Services
 	private EmployeeService employeeService;
 	private AttendanceService attendanceService;
+	// 화면 조회용 비동기 파사드: 조회마다 가상 스레드 하나, 결과는 EDT로
+	private final ExecutorService queryThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("query-", 0).factory());
+	private AsyncQueries queries;
 
     public void init() {
         this.config = ConfigLoader.load();
         this.events = new AppEvents();
+        try {
+            this.instanceLock = InstanceLock.shared(config.instanceLock()); // DB를 열기 전에: 복원 중이면 여기서 멈춘다
+        } catch (IOException e) {
+            throw new UncheckedIOException("잠금 파일을 열지 못했습니다: " + config.instanceLock(), e);
+        }
         DataSource ds = DataSourceFactory.create(config);
-        MigrationRunner.migrate(ds);
-        this.jdbi = JdbiProvider.create(ds);
+        MigrationRunner.migrate(ds, config.migrateFastPath());
 
-        EmployeeRepository empRepo = new EmployeeRepositoryJdbi(jdbi);
-        AttendanceRepository attRepo = new AttendanceRepositoryJdbi(jdbi);
+        // 마이그레이션 이후에는 풀링된 연결만 사용(쓰기 1 + 읽기 N, 연결 재사용)
+        this.connections = new ConnectionManager(config);
+        this.jdbi = JdbiProvider.create(connections.writer());
+        this.readJdbi = JdbiProvider.create(connections.readers());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "bootstrap-close"));
+        this.upgradeNotices = UpgradeNotices.take(jdbi); // 마이그레이션이 옮긴 데이터(첫 화면에서 한 번 알림)
 
-        this.employeeService = new EmployeeService(empRepo);
-        this.attendanceService = new AttendanceService(attRepo, empRepo, false);
+        // 주기 온라인 백업(백그라운드, 저장을 막지 않음)
+        this.backups = new BackupService(config);
+        backups.start();
+
+        EmployeeRepository empRepo = new EmployeeRepositoryJdbi(jdbi, readJdbi);
+        AttendanceRepository attRepo = new AttendanceRepositoryJdbi(jdbi, readJdbi, config.dataDir()); // 보관 DB도 데이터 폴더에
+        if (config.memoryMirror()) {
+            MirroredAttendanceRepository mirror = new MirroredAttendanceRepository(attRepo);
+            mirror.load(); // 첫 화면 조회가 적재를 떠안지 않도록 여기서
+            attRepo = mirror;
+        }
+        // 저장소 호출 계측(진단 창/파일). 끄면 데코레이터를 아예 끼우지 않는다
+        if (config.metricsEnabled()) {
+            empRepo = new InstrumentedEmployeeRepository(empRepo, metrics);
+            attRepo = new InstrumentedAttendanceRepository(attRepo, metrics);
+        }
+        metrics.addSection("연결 풀", () -> connections.stats().stream().map(ConnectionPool.Stats::summary).toList());
+
+        // 새 기록 지연 쓰기(묶음 커밋). 시작할 때 지난 실행에서 남은 일지 항목을 먼저 저장한다
+        if (config.writeBehind()) {
+            try {
+                this.writeBehind = WriteBehindAttendanceQueue.start(attRepo, config.writeBehindJournal(), config.writeBehindMaxBatch());
+            } catch (IOException e) {
+                throw new UncheckedIOException("지연 쓰기 일지를 열지 못했습니다: " + config.writeBehindJournal(), e);
+            }
+        }
+
+        KnownEmployees known = new KnownEmployees(empRepo); // 근태 저장의 사번 확인(직원 저장/삭제가 바로 반영)
+        this.employeeService = new EmployeeService(empRepo, known);
+        this.attendanceService = new AttendanceService(attRepo, known, false, writeBehind);
+        this.queries = new AsyncQueries(attendanceService, employeeService, queryThreads, SwingUtilities::invokeLater);
+        attendanceService.pruneChanges(config.changeLogKeep()); // 변경 기록은 최근 N건만(증분 갱신용이라 오래된 것은 불필요)
     }
 
 
@@ -51,8 +117,39 @@ public class Bootstrap {
 	@SuppressWarnings("unused")
 	public Jdbi jdbi() { return jdbi; }
 
+	/** 연결 풀 지표(대기시간/사용률) 조회용 */
+	@SuppressWarnings("unused")
+	public ConnectionManager connections() { return connections; }
+
+	public BackupService backups() { return backups; }
+
+	/** 이번 시작에서 사용자에게 알릴 업그레이드 안내(없으면 빈 목록) */
+	public List<String> upgradeNotices() { return upgradeNotices; }
+
+	/** 저장소 호출 지표(계측이 꺼져 있으면 비어 있음) */
+	public MetricsRegistry metrics() { return metrics; }
+	public boolean metricsEnabled() { return config.metricsEnabled(); }
+
+	/** 종료 시 진행 중인 조회를 끊고, 남은 지연 쓰기와 진행 중인 백업을 마치고 풀링된 연결 정리(WAL 체크포인트 포함) */
+	public void close() {
+		queryThreads.shutdownNow();
+		if (writeBehind != null) writeBehind.close();
+		if (backups != null) backups.close();
+		if (connections != null) connections.close();
+		if (instanceLock != null) {
+			try {
+				instanceLock.close();
+			} catch (IOException ignored) {
+				// 프로세스가 끝나면 OS가 푼다
+			}
+			instanceLock = null;
+		}
+	}
+
 	public EmployeeService employees() { return employeeService; }
 	public AttendanceService attendance() { return attendanceService; }
+	/** 화면에서 쓰는 비동기 조회(가상 스레드에서 실행, 결과는 EDT에서) */
+	public AsyncQueries queries() { return queries; }
 
     public AppEvents events() { return events; }
 }
\ No newline at end of file
@@ -1,10 +1,36 @@
 package com.maemong.attendance.bootstrap;
 
 import com.maemong.attendance.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
 
 public class ConfigLoader {
+	private static final Logger log = LoggerFactory.getLogger(ConfigLoader.class);
+
+	/** 데이터 폴더의 설정 파일: ~/.maemong/attendance/app.properties (없으면 기본값) */
+	public static final String SETTINGS_FILE = "app.properties";
+
 	public static AppConfig load() {
-		// 간단 버전: application.conf 의 경로를 계산만 하고 AppConfig 에서 처리
-		return new AppConfig();
+		Properties settings = new Properties();
+		Path file = AppConfig.defaultDataDir().resolve(SETTINGS_FILE);
+		if (Files.isRegularFile(file)) {
+			try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				settings.load(r);
+			} catch (IOException e) {
+				log.warn("설정 파일을 읽지 못해 기본값을 사용합니다: {}", file, e);
+			}
+		}
+		// -Ddb.profile=fast-import 처럼 실행 옵션이 파일보다 우선
+		for (String key : System.getProperties().stringPropertyNames()) {
+			if (key.startsWith("db.") || key.startsWith("backup.") || key.startsWith("changelog.") || key.startsWith("metrics.")) settings.setProperty(key, System.getProperty(key));
+		}
+		return new AppConfig(settings);
 	}
-}
\ No newline at end of file
+}
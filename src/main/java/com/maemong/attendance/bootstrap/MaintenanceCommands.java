@@ -0,0 +1,127 @@
+package com.maemong.attendance.bootstrap;
+
+import com.maemong.attendance.db.BackupService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 창 없이 실행하는 유지보수 명령 (App 실행 인자로 지정, 실행 후 종료)
+ * - --rebuild-aggregates : 근무시간 집계 테이블을 원본 기록에서 다시 만든다
+ * - --verify-aggregates  : 집계가 원본과 일치하는지 검사(불일치 시 종료코드 1)
+ * - --archive-year YYYY  : 마감된 연도를 보관 DB(attendance-YYYY.db)로 옮기고 그 보관 DB를 백업한다
+ * - --backup-now         : 지금 온라인 백업(backups/attendance-yyyyMMdd-HHmmss.db.gz, 바뀐 보관 DB는 backups/archives/)
+ * - --restore-backup [파일] : 백업으로 DB 내용을 되돌린다(파일 생략 시 가장 최근 백업, 앱 종료 상태에서)
+ */
+final class MaintenanceCommands {
+	private MaintenanceCommands() {}
+
+	static boolean isCommand(String[] args) {
+		if (args == null || args.length == 0) return false;
+		return switch (args[0]) {
+			case "--rebuild-aggregates", "--verify-aggregates", "--archive-year", "--backup-now", "--restore-backup" -> true;
+			default -> false;
+		};
+	}
+
+	/** @return 프로세스 종료 코드 (0=정상) */
+	static int run(String[] args) {
+		// 백업/복원은 DB 파일만 다루므로 마이그레이션·연결 풀 없이 실행
+		switch (args[0]) {
+			case "--backup-now" -> { return backupNow(new BackupService(ConfigLoader.load())); }
+			case "--restore-backup" -> { return restoreBackup(new BackupService(ConfigLoader.load()), args); }
+			default -> { }
+		}
+		Bootstrap boot = new Bootstrap();
+		boot.init();
+		try {
+			return switch (args[0]) {
+				case "--rebuild-aggregates" -> rebuildAggregates(boot);
+				case "--verify-aggregates" -> verifyAggregates(boot);
+				case "--archive-year" -> archiveYear(boot, args);
+				default -> throw new IllegalArgumentException("알 수 없는 명령입니다: " + args[0]);
+			};
+		} finally {
+			boot.close();
+		}
+	}
+
+	private static int rebuildAggregates(Bootstrap boot) {
+		long t0 = System.nanoTime();
+		int buckets = boot.attendance().rebuildAggregates();
+		System.out.printf("집계 재구성 완료: 사번×일 %,d건 (%d ms)%n", buckets, (System.nanoTime() - t0) / 1_000_000);
+		return verifyAggregates(boot);
+	}
+
+	private static int backupNow(BackupService backups) {
+		try {
+			Path out = backups.backupNow();
+			System.out.println("백업 완료: " + out);
+			return 0;
+		} catch (IOException | SQLException e) {
+			System.err.println("백업 실패: " + e.getMessage());
+			return 1;
+		}
+	}
+
+	private static int restoreBackup(BackupService backups, String[] args) {
+		Path file;
+		if (args.length >= 2) {
+			file = Path.of(args[1].trim());
+		} else {
+			List<Path> all;
+			try {
+				all = backups.list();
+			} catch (IOException e) {
+				System.err.println("백업 목록을 읽지 못했습니다: " + e.getMessage());
+				return 1;
+			}
+			if (all.isEmpty()) throw new IllegalArgumentException("복원할 백업이 없습니다.");
+			file = all.getFirst();
+		}
+		try {
+			backups.restore(file);
+		} catch (IOException | SQLException | IllegalStateException e) {
+			System.err.println("복원 실패: " + e.getMessage());
+			return 1;
+		}
+		System.out.println("복원 완료: " + file.getFileName() + " (복원 전 상태도 백업해 두었습니다)");
+		return 0;
+	}
+
+	private static int archiveYear(Bootstrap boot, String[] args) {
+		if (args.length < 2) throw new IllegalArgumentException("보관할 연도를 지정하세요: --archive-year 2023");
+		int year;
+		try {
+			year = Integer.parseInt(args[1].trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("연도가 올바르지 않습니다: " + args[1]);
+		}
+		long t0 = System.nanoTime();
+		int moved = boot.attendance().archiveYear(year);
+		System.out.printf("%d년 보관 완료: %,d건 이동 (%d ms)%n", year, moved, (System.nanoTime() - t0) / 1_000_000);
+		System.out.println("보관된 연도: " + boot.attendance().archivedYears());
+		// 옮긴 행은 이제 hot DB 백업에 들어가지 않으므로 보관 DB를 바로 백업해 둔다
+		try {
+			for (Path p : boot.backups().backupArchives()) System.out.println("보관 DB 백업: " + p);
+		} catch (IOException | SQLException e) {
+			System.err.println("보관 DB 백업 실패: " + e.getMessage());
+			return 1;
+		}
+		return 0;
+	}
+
+	private static int verifyAggregates(Bootstrap boot) {
+		Map<String, Integer> result = boot.attendance().verifyAggregates();
+		int total = 0;
+		for (var e : result.entrySet()) {
+			System.out.printf("%-14s 불일치 %d%n", e.getKey(), e.getValue());
+			total += e.getValue();
+		}
+		System.out.println(total == 0 ? "집계 정상" : "집계 불일치: --rebuild-aggregates 로 재구성하세요.");
+		return total == 0 ? 0 : 1;
+	}
+}
@@ -1,19 +1,68 @@
 package com.maemong.attendance.config;
 
 import java.nio.file.*;
+import java.util.Properties;
 
 public class AppConfig {
 	private final Path dataDir;
 	private final Path dbPath;
+	private final Properties settings;
+	private final DbProfile dbProfile;
 
 
 	public AppConfig() {
-		String home = System.getProperty("user.home");
-		this.dataDir = Paths.get(home, ".maemong", "attendance");
+		this(new Properties());
+	}
+
+	/** settings: app.properties + 시스템 프로퍼티(-D) 병합 결과 (ConfigLoader 참고) */
+	public AppConfig(Properties settings) {
+		this.dataDir = defaultDataDir();
 		this.dbPath = dataDir.resolve("attendance.db");
+		this.settings = settings;
+		this.dbProfile = DbProfile.from(settings);
+	}
+
+	public static Path defaultDataDir() {
+		String home = System.getProperty("user.home");
+		return Paths.get(home, ".maemong", "attendance");
 	}
 
 
 	public Path dataDir() { return dataDir; }
 	public Path dbPath() { return dbPath; }
-}
\ No newline at end of file
+	public DbProfile dbProfile() { return dbProfile; }
+
+	// 시작 시 마이그레이션 파일 지문이 DB에 적힌 것과 같으면 Flyway 확인을 건너뜀(MigrationRunner)
+	public boolean migrateFastPath() { return Boolean.parseBoolean(settings.getProperty("db.migrate.fast_path", "true")); }
+
+	// 근태 조회를 메모리 열 사본에서(MirroredAttendanceRepository). 시작할 때 전체를 읽어 두고 쓰기는 DB와 함께 반영
+	public boolean memoryMirror() { return Boolean.parseBoolean(settings.getProperty("db.memory_mirror", "false")); }
+
+	// 새 근태 기록 지연 쓰기: 일지(write-behind.journal)에 남기고 쓰기 스레드가 묶어서 한 트랜잭션으로 저장
+	public boolean writeBehind() { return Boolean.parseBoolean(settings.getProperty("db.write_behind", "false")); }
+	public int writeBehindMaxBatch() { return Math.max(1, DbProfile.intProp(settings, "db.write_behind.max_batch", 500)); }
+	public Path writeBehindJournal() { return dataDir.resolve("write-behind.journal"); }
+
+	// 연결 풀: 쓰기 1개 + 읽기 N개
+	public int readerPoolSize() { return DbProfile.intProp(settings, "db.pool.readers", 2); }
+	public long poolWaitTimeoutMs() { return DbProfile.longProp(settings, "db.pool.wait_timeout_ms", 10_000); }
+	public long poolValidateIdleMs() { return DbProfile.longProp(settings, "db.pool.validate_idle_ms", 30_000); }
+
+	// 온라인 백업(BackupService): 주기/보관 개수/한 단계 페이지 수/단계 사이 쉬는 시간
+	public Path backupDir() { return dataDir.resolve("backups"); }
+	// 앱 실행 중 표시(InstanceLock): 앱은 공유 잠금, 복원은 배타 잠금
+	public Path instanceLock() { return dataDir.resolve("attendance.lock"); }
+	public boolean backupEnabled() { return Boolean.parseBoolean(settings.getProperty("backup.enabled", "true")); }
+	public long backupIntervalHours() { return DbProfile.longProp(settings, "backup.interval_hours", 24); }
+	public int backupKeep() { return DbProfile.intProp(settings, "backup.keep", 7); }
+	public int backupPagesPerStep() { return DbProfile.intProp(settings, "backup.pages_per_step", 64); }
+	public long backupStepPauseMs() { return DbProfile.longProp(settings, "backup.step_pause_ms", 10); }
+
+	// 저장소 호출 계측(메서드별 지연/행 수, 진단 창 Ctrl+Shift+D)
+	public boolean metricsEnabled() { return Boolean.parseBoolean(settings.getProperty("metrics.enabled", "true")); }
+
+	// 변경 기록(change_log): 시작할 때 최근 N건만 남기고 정리
+	public int changeLogKeep() { return Math.max(1, DbProfile.intProp(settings, "changelog.keep", 100_000)); }
+
+	public String setting(String key, String def) { return settings.getProperty(key, def); }
+}
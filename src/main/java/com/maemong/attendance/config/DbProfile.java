@@ -0,0 +1,85 @@
+package com.maemong.attendance.config;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * SQLite 성능 프로필(연결 시 적용하는 PRAGMA 묶음).
+ * - safe: WAL + synchronous=FULL (커밋마다 fsync, 정전에도 마지막 커밋 보존)
+ * - balanced(기본): WAL + synchronous=NORMAL (체크포인트 때만 fsync, 일상 사용 권장)
+ * - fast-import: synchronous=OFF + 큰 캐시/mmap (대량 가져오기 전용, 도중 정전 시 손상 가능)
+ *
+ * foreign_keys는 모든 프리셋에서 끔: 켜면 직원 삭제 시 ON DELETE CASCADE로 근태 기록까지 지워진다.
+ */
+public record DbProfile(
+		String name,
+		String journalMode,   // WAL, DELETE, TRUNCATE, PERSIST, MEMORY, OFF
+		String synchronous,   // OFF, NORMAL, FULL
+		int cacheSizeKb,      // 연결당 페이지 캐시(KiB)
+		long mmapSize,        // bytes, 0이면 mmap 미사용
+		String tempStore,     // DEFAULT, FILE, MEMORY
+		int busyTimeoutMs,
+		boolean foreignKeys
+) {
+	public static final String SAFE = "safe";
+	public static final String BALANCED = "balanced";
+	public static final String FAST_IMPORT = "fast-import";
+
+	private static final Set<String> JOURNAL_MODES = Set.of("WAL", "DELETE", "TRUNCATE", "PERSIST", "MEMORY", "OFF");
+	private static final Set<String> SYNC_MODES = Set.of("OFF", "NORMAL", "FULL");
+	private static final Set<String> TEMP_STORES = Set.of("DEFAULT", "FILE", "MEMORY");
+
+	public DbProfile {
+		journalMode = upper(journalMode);
+		synchronous = upper(synchronous);
+		tempStore = upper(tempStore);
+		if (!JOURNAL_MODES.contains(journalMode)) throw new IllegalArgumentException("지원하지 않는 journal_mode: " + journalMode);
+		if (!SYNC_MODES.contains(synchronous)) throw new IllegalArgumentException("지원하지 않는 synchronous: " + synchronous);
+		if (!TEMP_STORES.contains(tempStore)) throw new IllegalArgumentException("지원하지 않는 temp_store: " + tempStore);
+		if (cacheSizeKb < 0 || mmapSize < 0 || busyTimeoutMs < 0) {
+			throw new IllegalArgumentException("cache_size/mmap_size/busy_timeout은 음수일 수 없습니다.");
+		}
+	}
+
+	public static DbProfile preset(String name) {
+		String key = name == null ? BALANCED : name.trim().toLowerCase(Locale.ROOT);
+		return switch (key) {
+			case SAFE        -> new DbProfile(SAFE, "WAL", "FULL", 8 * 1024, 0, "DEFAULT", 5_000, false);
+			case BALANCED    -> new DbProfile(BALANCED, "WAL", "NORMAL", 16 * 1024, 64L << 20, "MEMORY", 5_000, false);
+			case FAST_IMPORT -> new DbProfile(FAST_IMPORT, "WAL", "OFF", 64 * 1024, 256L << 20, "MEMORY", 10_000, false);
+			default -> throw new IllegalArgumentException("알 수 없는 DB 프로필: " + name + " (safe, balanced, fast-import)");
+		};
+	}
+
+	/** db.profile 로 프리셋을 고르고, db.* 개별 키가 있으면 덮어쓴다 */
+	public static DbProfile from(Properties p) {
+		DbProfile base = preset(p.getProperty("db.profile", BALANCED));
+		return new DbProfile(
+				base.name(),
+				p.getProperty("db.journal_mode", base.journalMode()),
+				p.getProperty("db.synchronous", base.synchronous()),
+				intProp(p, "db.cache_size_kb", base.cacheSizeKb()),
+				longProp(p, "db.mmap_size", base.mmapSize()),
+				p.getProperty("db.temp_store", base.tempStore()),
+				intProp(p, "db.busy_timeout_ms", base.busyTimeoutMs()),
+				Boolean.parseBoolean(p.getProperty("db.foreign_keys", String.valueOf(base.foreignKeys())))
+		);
+	}
+
+	static int intProp(Properties p, String key, int def) {
+		String v = p.getProperty(key);
+		if (v == null || v.isBlank()) return def;
+		try { return Integer.parseInt(v.trim()); }
+		catch (NumberFormatException ex) { throw new IllegalArgumentException("설정값이 숫자가 아닙니다: " + key + "=" + v); }
+	}
+
+	static long longProp(Properties p, String key, long def) {
+		String v = p.getProperty(key);
+		if (v == null || v.isBlank()) return def;
+		try { return Long.parseLong(v.trim()); }
+		catch (NumberFormatException ex) { throw new IllegalArgumentException("설정값이 숫자가 아닙니다: " + key + "=" + v); }
+	}
+
+	private static String upper(String s) { return s == null ? null : s.trim().toUpperCase(Locale.ROOT); }
+}
@@ -0,0 +1,302 @@
+package com.maemong.attendance.db;
+
+import com.maemong.attendance.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 온라인 백업: SQLite 백업 API로 앱을 끄지 않고 일관된 스냅샷을 뜬다.
+ * - 전용 읽기 연결에서 읽기 트랜잭션을 연 채로 복사한다. WAL 스냅샷이 고정되므로 그동안의 저장이
+ *   백업을 처음부터 다시 시작시키지 않고, 읽기는 쓰기를 막지 않으므로 저장도 기다리지 않는다.
+ * - 한 단계에 pagesPerStep 페이지씩 복사하고 단계 사이에 쉬어 디스크 I/O를 양보한다.
+ * - 결과는 gzip으로 backups/attendance-yyyyMMdd-HHmmss.db.gz에 두고 최근 keep개만 남긴다.
+ * - 보관 DB(attendance-YYYY.db)는 hot DB에서 행이 빠진 뒤라 위 백업에 들어 있지 않으므로 따로 백업한다.
+ *   같은 연도를 다시 보관하면 행이 늘어나므로, 보관 목록의 행 수가 이름에 든 백업
+ *   (backups/archives/attendance-YYYY-r행수.db.gz)이 없을 때만 새로 뜨고 그 연도의 이전 것은 지운다.
+ *   복원은 풀어서 데이터 폴더의 attendance-YYYY.db로 두면 된다(앱 종료 상태에서).
+ */
+public final class BackupService implements AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(BackupService.class);
+
+	private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	private static final String PREFIX = "attendance-";
+	private static final String SUFFIX = ".db.gz";
+	private static final String ARCHIVE_DIR = "archives";
+
+	// 시작 직후의 조회 부하를 피해 첫 점검은 조금 늦게, 이후 한 시간마다 "주기가 지났는지" 확인
+	private static final long FIRST_CHECK_DELAY_S = 60;
+	private static final long CHECK_PERIOD_S = 3600;
+	// 원본이 잠겨 있을 때(SQLITE_BUSY) 재시도 간격/횟수
+	private static final int BUSY_SLEEP_MS = 100;
+	private static final int BUSY_RETRIES = 50;
+
+	private final AppConfig config;
+	private ScheduledExecutorService scheduler;
+	private volatile boolean closing; // 종료 중이면 쉬지 않고 남은 페이지를 끝낸다
+
+	public BackupService(AppConfig config) {
+		this.config = config;
+	}
+
+	/** 주기 백업 시작(backup.enabled=false면 아무것도 하지 않음) */
+	public synchronized void start() {
+		if (!config.backupEnabled() || scheduler != null) return;
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "db-backup");
+			t.setDaemon(true);
+			t.setPriority(Thread.MIN_PRIORITY);
+			return t;
+		});
+		scheduler.scheduleWithFixedDelay(this::backupIfDue, FIRST_CHECK_DELAY_S, CHECK_PERIOD_S, TimeUnit.SECONDS);
+	}
+
+	private void backupIfDue() {
+		try {
+			Optional<Path> last = latest();
+			Duration interval = Duration.ofHours(config.backupIntervalHours());
+			if (last.isPresent() && age(last.get()).compareTo(interval) < 0) return;
+			backupNow();
+		} catch (Exception e) {
+			log.warn("자동 백업 실패", e);
+		}
+	}
+
+	private static Duration age(Path file) throws IOException {
+		FileTime t = Files.getLastModifiedTime(file);
+		return Duration.ofMillis(System.currentTimeMillis() - t.toMillis());
+	}
+
+	/** 지금 백업하고(끝날 때까지 대기) 오래된 백업을 정리한다. 반환: 만든 백업 파일 */
+	public Path backupNow() throws IOException, SQLException {
+		Path out = backup();
+		rotate();
+		backupArchives();
+		return out;
+	}
+
+	/**
+	 * 보관 DB 중 지금 행 수의 백업이 없는 것만 백업하고 그 연도의 이전 백업은 지운다.
+	 * 연도 보관(archiveYear)이 끝난 뒤와 매 백업 때 부른다. 반환: 새로 만든 백업 파일
+	 */
+	public List<Path> backupArchives() throws IOException, SQLException {
+		Map<Integer, Archive> archives = archives();
+		if (archives.isEmpty()) return List.of();
+		Path dir = config.backupDir().resolve(ARCHIVE_DIR);
+		Files.createDirectories(dir);
+		List<Path> made = new ArrayList<>();
+		for (Archive a : archives.values()) {
+			String prefix = PREFIX + a.year() + "-r";
+			Path out = dir.resolve(prefix + a.rows() + SUFFIX);
+			if (Files.exists(out)) continue;
+			Path src = config.dataDir().resolve(a.file());
+			if (!Files.isRegularFile(src)) {
+				log.warn("보관 DB가 없어 백업하지 못했습니다: {}", src);
+				continue;
+			}
+			copy(src, dir, out);
+			made.add(out);
+			try (Stream<Path> old = Files.list(dir)) {
+				for (Path p : old.toList()) {
+					String n = p.getFileName().toString();
+					if (n.startsWith(prefix) && n.endsWith(SUFFIX) && !p.equals(out)) {
+						Files.deleteIfExists(p);
+						log.info("이전 보관 DB 백업 삭제: {}", n);
+					}
+				}
+			}
+		}
+		return made;
+	}
+
+	private record Archive(int year, String file, long rows) {}
+
+	// hot DB의 보관 목록(V8). 마이그레이션 전 DB면 비어 있다
+	private Map<Integer, Archive> archives() throws SQLException {
+		if (!Files.exists(config.dbPath())) return Map.of();
+		SQLiteConfig cfg = DataSourceFactory.readOnlyConfig(config.dbProfile());
+		Map<Integer, Archive> out = new TreeMap<>();
+		try (Connection c = cfg.createConnection("jdbc:sqlite:" + config.dbPath());
+		     Statement st = c.createStatement()) {
+			try (ResultSet rs = st.executeQuery("SELECT 1 FROM sqlite_schema WHERE type = 'table' AND name = 'attendance_archives'")) {
+				if (!rs.next()) return Map.of();
+			}
+			try (ResultSet rs = st.executeQuery("SELECT year, file, rows FROM attendance_archives")) {
+				while (rs.next()) out.put(rs.getInt(1), new Archive(rs.getInt(1), rs.getString(2), rs.getLong(3)));
+			}
+		}
+		return out;
+	}
+
+	// 스냅샷 → 백업 파일 하나(정리는 하지 않는다)
+	private Path backup() throws IOException, SQLException {
+		Path dir = config.backupDir();
+		Files.createDirectories(dir);
+		Path out = dir.resolve(PREFIX + LocalDateTime.now().format(STAMP) + SUFFIX);
+		copy(config.dbPath(), dir, out);
+		return out;
+	}
+
+	// src 스냅샷 → gzip → out(dir 안)
+	private void copy(Path src, Path dir, Path out) throws IOException, SQLException {
+		String name = out.getFileName().toString();
+		Path raw = dir.resolve(".backup-" + name.substring(0, name.length() - SUFFIX.length()) + ".db");
+		Path part = dir.resolve(name + ".part");
+		long t0 = System.nanoTime();
+		try {
+			int pages = snapshot(src, raw);
+			gzip(raw, part);
+			Files.move(part, out, StandardCopyOption.ATOMIC_MOVE); // 다 쓴 파일만 백업 목록에 보이게
+			log.info("백업 완료: {} ({} 페이지, {} KB, {} ms)", out.getFileName(), pages,
+					Files.size(out) / 1024, (System.nanoTime() - t0) / 1_000_000);
+		} finally {
+			Files.deleteIfExists(raw);
+			Files.deleteIfExists(part);
+		}
+	}
+
+	// 원본 DB → raw 파일(비압축). 반환: 전체 페이지 수
+	private int snapshot(Path src, Path raw) throws SQLException {
+		SQLiteConfig cfg = DataSourceFactory.readOnlyConfig(config.dbProfile());
+		int pagesPerStep = Math.max(1, config.backupPagesPerStep());
+		long pauseMs = Math.max(0, config.backupStepPauseMs());
+		int[] total = {0};
+		try (Connection c = cfg.createConnection("jdbc:sqlite:" + src)) {
+			// 읽기 트랜잭션을 먼저 열어 스냅샷 고정(백업 단계 사이에 다른 연결이 써도 재시작하지 않음)
+			c.setAutoCommit(false);
+			try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("SELECT count(*) FROM sqlite_schema")) {
+				rs.next();
+			}
+			int rc = ((SQLiteConnection) c).getDatabase().backup("main", raw.toString(), (remaining, pageCount) -> {
+				total[0] = pageCount;
+				if (remaining > 0 && pauseMs > 0 && !closing) pause(pauseMs);
+			}, BUSY_SLEEP_MS, BUSY_RETRIES, pagesPerStep);
+			c.rollback();
+			if (rc != SQLiteErrorCode.SQLITE_OK.code) throw new SQLException("백업에 실패했습니다 (rc=" + rc + ")");
+		}
+		return total[0];
+	}
+
+	private static void pause(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void gzip(Path src, Path dest) throws IOException {
+		try (InputStream in = Files.newInputStream(src);
+		     OutputStream out = new GZIPOutputStream(Files.newOutputStream(dest), 64 * 1024)) {
+			in.transferTo(out);
+		}
+	}
+
+	// 최근 keep개만 남기고 지운다(파일 이름의 시각 순)
+	private void rotate() throws IOException {
+		List<Path> all = list();
+		int keep = Math.max(1, config.backupKeep());
+		for (int i = keep; i < all.size(); i++) {
+			Files.deleteIfExists(all.get(i));
+			log.info("오래된 백업 삭제: {}", all.get(i).getFileName());
+		}
+	}
+
+	/** 백업 파일 목록(최신순) */
+	public List<Path> list() throws IOException {
+		Path dir = config.backupDir();
+		if (!Files.isDirectory(dir)) return List.of();
+		try (Stream<Path> s = Files.list(dir)) {
+			return s.filter(p -> {
+						String n = p.getFileName().toString();
+						return n.startsWith(PREFIX) && n.endsWith(SUFFIX);
+					})
+					.sorted(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed())
+					.toList();
+		}
+	}
+
+	public Optional<Path> latest() throws IOException {
+		return list().stream().findFirst();
+	}
+
+	/**
+	 * 백업 파일(.db.gz)로 현재 DB 내용을 바꾼다. 앱을 끈 상태에서만 된다: 앱이 실행 중이면(잠금 파일) IllegalStateException,
+	 * 복원하는 동안에는 앱이 시작하지 않는다.
+	 * 복원 전에 현재 상태를 한 번 더 백업해 두어 되돌릴 수 있게 한다.
+	 */
+	public void restore(Path backup) throws IOException, SQLException {
+		if (!Files.isRegularFile(backup)) throw new IllegalArgumentException("백업 파일이 없습니다: " + backup);
+		Path raw = config.backupDir().resolve(".restore-" + LocalDateTime.now().format(STAMP) + ".db");
+		InstanceLock lock = InstanceLock.exclusive(config.instanceLock());
+		try {
+			try (InputStream in = new GZIPInputStream(Files.newInputStream(backup), 64 * 1024)) {
+				Files.copy(in, raw, StandardCopyOption.REPLACE_EXISTING);
+			}
+			checkIntegrity(raw);
+			// 복원 전 상태 백업은 정리(rotate)하지 않는다: 고른 백업이 가장 오래된 것이면 정리에 지워진다
+			if (Files.exists(config.dbPath())) log.info("복원 전 상태 백업: {}", backup().getFileName());
+
+			SQLiteConfig cfg = DataSourceFactory.sqliteConfig(config.dbProfile());
+			try (Connection c = cfg.createConnection("jdbc:sqlite:" + config.dbPath())) {
+				int rc = ((SQLiteConnection) c).getDatabase().restore("main", raw.toString(), (remaining, pageCount) -> {},
+						BUSY_SLEEP_MS, BUSY_RETRIES, Math.max(1, config.backupPagesPerStep()));
+				if (rc != SQLiteErrorCode.SQLITE_OK.code) {
+					throw new SQLException("복원에 실패했습니다 (rc=" + rc + "). 앱이 실행 중이면 종료한 뒤 다시 시도하세요.");
+				}
+			}
+		} finally {
+			try {
+				Files.deleteIfExists(raw);
+			} finally {
+				lock.close();
+			}
+		}
+	}
+
+	private static void checkIntegrity(Path db) throws SQLException {
+		SQLiteConfig cfg = new SQLiteConfig();
+		cfg.setReadOnly(true);
+		try (Connection c = cfg.createConnection("jdbc:sqlite:" + db);
+		     Statement st = c.createStatement();
+		     ResultSet rs = st.executeQuery("PRAGMA integrity_check")) {
+			String result = rs.next() ? rs.getString(1) : "결과 없음";
+			if (!"ok".equals(result)) throw new SQLException("백업 파일이 손상되었습니다: " + result);
+		}
+	}
+
+	/** 진행 중인 백업은 쉬지 않고 마저 끝낸 뒤 멈춘다 */
+	@Override public synchronized void close() {
+		closing = true;
+		if (scheduler == null) return;
+		scheduler.shutdown();
+		try {
+			if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) log.warn("백업 종료 대기 시간 초과");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		scheduler = null;
+	}
+}
@@ -0,0 +1,41 @@
+package com.maemong.attendance.db;
+
+import com.maemong.attendance.config.AppConfig;
+import org.sqlite.SQLiteConfig;
+
+import java.util.List;
+
+/**
+ * 쓰기 전용 연결 1개 + 읽기 전용 연결 풀.
+ * SQLite는 동시에 한 연결만 쓸 수 있으므로 쓰기는 단일 연결로 직렬화하고,
+ * 조회는 읽기 전용 연결들이 WAL 스냅샷을 병렬로 읽는다.
+ */
+public final class ConnectionManager implements AutoCloseable {
+	private final ConnectionPool writer;
+	private final ConnectionPool readers;
+
+	public ConnectionManager(AppConfig config) {
+		String url = "jdbc:sqlite:" + config.dbPath();
+		SQLiteConfig writeCfg = DataSourceFactory.sqliteConfig(config.dbProfile());
+		SQLiteConfig readCfg = DataSourceFactory.readOnlyConfig(config.dbProfile());
+
+		this.writer = new ConnectionPool("writer", 1,
+				() -> writeCfg.createConnection(url),
+				config.poolWaitTimeoutMs(), config.poolValidateIdleMs());
+		this.readers = new ConnectionPool("reader", config.readerPoolSize(),
+				() -> readCfg.createConnection(url),
+				config.poolWaitTimeoutMs(), config.poolValidateIdleMs());
+	}
+
+	public ConnectionPool writer() { return writer; }
+	public ConnectionPool readers() { return readers; }
+
+	public List<ConnectionPool.Stats> stats() {
+		return List.of(writer.stats(), readers.stats());
+	}
+
+	@Override public void close() {
+		readers.close();
+		writer.close();
+	}
+}
@@ -0,0 +1,176 @@
+package com.maemong.attendance.db;
+
+import org.jdbi.v3.core.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 고정 크기 SQLite 연결 풀 (Jdbi ConnectionFactory).
+ * - 연결은 필요할 때 하나씩 열고, 반납된 연결은 닫지 않고 재사용한다(스키마 파싱/PRAGMA 적용 비용 절약).
+ * - 일정 시간 놀던 연결은 빌려줄 때 isValid로 점검하고, 깨졌으면 새로 연다.
+ * - 대기 시간/사용률 지표를 {@link #stats()}로 노출한다.
+ */
+public final class ConnectionPool implements ConnectionFactory, AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+
+	@FunctionalInterface
+	public interface Opener {
+		Connection open() throws SQLException;
+	}
+
+	/** 풀 지표 스냅샷 */
+	public record Stats(
+			String name,
+			int size,
+			int open,
+			int inUse,
+			int peakInUse,
+			long borrows,
+			long timeouts,
+			long replaced,
+			long totalWaitNanos,
+			long maxWaitNanos
+	) {
+		public double utilisation() { return size == 0 ? 0 : (double) inUse / size; }
+		public double avgWaitMillis() { return borrows == 0 ? 0 : totalWaitNanos / 1e6 / borrows; }
+		public double maxWaitMillis() { return maxWaitNanos / 1e6; }
+
+		/** 한 줄 요약(진단 창/지표 파일) */
+		public String summary() {
+			return String.format("%-8s 크기 %d · 열림 %d · 사용 중 %d (최대 %d) · 대여 %,d · 평균 대기 %.2fms · 최대 대기 %.1fms · 시간초과 %d · 교체 %d",
+					name, size, open, inUse, peakInUse, borrows, avgWaitMillis(), maxWaitMillis(), timeouts, replaced);
+		}
+	}
+
+	private record Idle(Connection conn, long idleSinceNanos) {}
+
+	private final String name;
+	private final int size;
+	private final Opener opener;
+	private final long waitTimeoutMillis;
+	private final long validateIdleNanos;
+
+	private final Semaphore permits;
+	private final ConcurrentLinkedDeque<Idle> idle = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger open = new AtomicInteger();
+	private final AtomicInteger inUse = new AtomicInteger();
+	private final AtomicInteger peakInUse = new AtomicInteger();
+	private final AtomicLong borrows = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+	private final AtomicLong replaced = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private volatile boolean closed;
+
+	public ConnectionPool(String name, int size, Opener opener, long waitTimeoutMillis, long validateIdleMillis) {
+		if (size < 1) throw new IllegalArgumentException("풀 크기는 1 이상이어야 합니다: " + name);
+		this.name = name;
+		this.size = size;
+		this.opener = opener;
+		this.waitTimeoutMillis = waitTimeoutMillis;
+		this.validateIdleNanos = TimeUnit.MILLISECONDS.toNanos(validateIdleMillis);
+		this.permits = new Semaphore(size, true);
+	}
+
+	@Override public Connection openConnection() throws SQLException {
+		if (closed) throw new SQLException("연결 풀이 닫혔습니다: " + name);
+		long t0 = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("연결 대기 중 인터럽트: " + name, e);
+		}
+		long waited = System.nanoTime() - t0;
+		if (!acquired) {
+			timeouts.incrementAndGet();
+			throw new SQLTimeoutException("연결 대기 시간 초과(" + waitTimeoutMillis + "ms): " + name);
+		}
+		borrows.incrementAndGet();
+		totalWaitNanos.addAndGet(waited);
+		maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+		try {
+			Connection c = takeHealthy();
+			peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+			return c;
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private Connection takeHealthy() throws SQLException {
+		Idle it;
+		while ((it = idle.pollFirst()) != null) {
+			boolean stale = System.nanoTime() - it.idleSinceNanos() > validateIdleNanos;
+			if (!stale || isHealthy(it.conn())) return it.conn();
+			replaced.incrementAndGet();
+			discard(it.conn());
+		}
+		Connection c = opener.open();
+		open.incrementAndGet();
+		return c;
+	}
+
+	@Override public void closeConnection(Connection conn) throws SQLException {
+		inUse.decrementAndGet();
+		try {
+			if (closed || !reset(conn)) {
+				discard(conn);
+			} else {
+				idle.offerFirst(new Idle(conn, System.nanoTime())); // LIFO: 최근 쓴(캐시가 따뜻한) 연결부터 재사용
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	/** 반납 전 상태 정리: 열린 트랜잭션은 롤백하고 autocommit 복원. 실패하면 false */
+	private static boolean reset(Connection conn) {
+		try {
+			if (conn.isClosed()) return false;
+			if (!conn.getAutoCommit()) {
+				conn.rollback();
+				conn.setAutoCommit(true);
+			}
+			return true;
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private static boolean isHealthy(Connection conn) {
+		try {
+			return !conn.isClosed() && conn.isValid(1);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void discard(Connection conn) {
+		open.decrementAndGet();
+		try { conn.close(); } catch (SQLException e) { log.debug("연결 닫기 실패: {}", name, e); }
+	}
+
+	public Stats stats() {
+		return new Stats(name, size, open.get(), inUse.get(), peakInUse.get(), borrows.get(), timeouts.get(),
+				replaced.get(), totalWaitNanos.get(), maxWaitNanos.get());
+	}
+
+	@Override public void close() {
+		closed = true;
+		Idle it;
+		while ((it = idle.pollFirst()) != null) discard(it.conn());
+	}
+}
@@ -1,17 +1,43 @@
 package com.maemong.attendance.db;
 
 import com.maemong.attendance.config.AppConfig;
+import com.maemong.attendance.config.DbProfile;
 
 
 import javax.sql.DataSource;
+import org.sqlite.SQLiteConfig;
 import org.sqlite.SQLiteDataSource;
 import java.nio.file.*;
 
 public class DataSourceFactory {
 	public static DataSource create(AppConfig config) {
 		try { Files.createDirectories(config.dataDir()); } catch (Exception ignored) {}
-		SQLiteDataSource ds = new SQLiteDataSource();
+		SQLiteDataSource ds = new SQLiteDataSource(sqliteConfig(config.dbProfile()));
 		ds.setUrl("jdbc:sqlite:" + config.dbPath());
 		return ds;
 	}
-}
\ No newline at end of file
+
+	/** 프로필 → 연결 시 적용할 PRAGMA 설정 */
+	static SQLiteConfig sqliteConfig(DbProfile p) {
+		SQLiteConfig cfg = new SQLiteConfig();
+		cfg.setJournalMode(SQLiteConfig.JournalMode.valueOf(p.journalMode()));
+		cfg.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(p.synchronous()));
+		cfg.setCacheSize(-p.cacheSizeKb()); // 음수 = KiB 단위
+		cfg.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(p.mmapSize()));
+		cfg.setTempStore(SQLiteConfig.TempStore.valueOf(p.tempStore()));
+		cfg.setBusyTimeout(p.busyTimeoutMs());
+		cfg.enforceForeignKeys(p.foreignKeys());
+		return cfg;
+	}
+
+	/** 조회 전용 연결 설정: journal_mode/synchronous는 쓰기 연결이 정하므로 건드리지 않는다 */
+	static SQLiteConfig readOnlyConfig(DbProfile p) {
+		SQLiteConfig cfg = new SQLiteConfig();
+		cfg.setReadOnly(true);
+		cfg.setCacheSize(-p.cacheSizeKb());
+		cfg.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(p.mmapSize()));
+		cfg.setTempStore(SQLiteConfig.TempStore.valueOf(p.tempStore()));
+		cfg.setBusyTimeout(p.busyTimeoutMs());
+		return cfg;
+	}
+}
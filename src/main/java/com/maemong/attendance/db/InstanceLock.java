@@ -0,0 +1,62 @@
+package com.maemong.attendance.db;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 데이터 폴더의 잠금 파일(attendance.lock)로 "앱이 DB를 쓰는 중"을 알린다.
+ * - 앱(Bootstrap)은 공유 잠금을 잡고 끝날 때까지 쥔다. 여러 개를 띄워도 서로 막지 않는다.
+ * - 복원은 배타 잠금을 잡아야 진행한다: 앱이 하나라도 떠 있으면 실패하고, 복원하는 동안에는 앱이 뜨지 않는다.
+ * OS 파일 잠금이라 프로세스가 죽으면 함께 풀린다(남은 파일은 잠금이 아니다).
+ */
+public final class InstanceLock implements AutoCloseable {
+	private final FileChannel channel;
+	private final FileLock lock;
+
+	private InstanceLock(FileChannel channel, FileLock lock) {
+		this.channel = channel;
+		this.lock = lock;
+	}
+
+	/** 앱 실행용(공유). 복원이 진행 중이면 IllegalStateException */
+	public static InstanceLock shared(Path file) throws IOException {
+		return acquire(file, true, "DB 복원이 진행 중입니다. 복원이 끝난 뒤 다시 실행하세요.");
+	}
+
+	/** 복원용(배타). 앱이 실행 중이면 IllegalStateException */
+	public static InstanceLock exclusive(Path file) throws IOException {
+		return acquire(file, false, "앱이 실행 중입니다. 모든 창을 종료한 뒤 다시 시도하세요.");
+	}
+
+	private static InstanceLock acquire(Path file, boolean shared, String busyMessage) throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		FileLock lock;
+		try {
+			lock = ch.tryLock(0, Long.MAX_VALUE, shared);
+		} catch (OverlappingFileLockException e) { // 같은 프로세스 안에서 이미 잡혀 있음
+			lock = null;
+		} catch (IOException | RuntimeException e) {
+			ch.close();
+			throw e;
+		}
+		if (lock == null) {
+			ch.close();
+			throw new IllegalStateException(busyMessage);
+		}
+		return new InstanceLock(ch, lock);
+	}
+
+	@Override public void close() throws IOException {
+		try {
+			lock.release();
+		} finally {
+			channel.close();
+		}
+	}
+}
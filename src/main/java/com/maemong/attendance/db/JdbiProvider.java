@@ -1,5 +1,6 @@
 package com.maemong.attendance.db;
 
+import org.jdbi.v3.core.ConnectionFactory;
 import org.jdbi.v3.core.Jdbi;
 import javax.sql.DataSource;
 
@@ -7,4 +8,9 @@ public class JdbiProvider {
 	public static Jdbi create(DataSource ds) {
 		return Jdbi.create(ds);
 	}
-}
\ No newline at end of file
+
+	/** 풀링된 연결(ConnectionManager의 writer/readers) 위에 Jdbi 생성 */
+	public static Jdbi create(ConnectionFactory connections) {
+		return Jdbi.create(connections);
+	}
+}
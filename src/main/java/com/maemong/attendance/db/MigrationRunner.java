@@ -2,14 +2,167 @@ package com.maemong.attendance.db;
 
 import javax.sql.DataSource;
 import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 스키마 마이그레이션.
+ * 빠른 경로: 클래스패스의 마이그레이션 파일(이름+내용) 지문을 DB 헤더의 user_version에 적어 두고,
+ * 다음 시작 때 지문과 마지막 적용 버전이 그대로면 Flyway(클래스 로딩·스캔·검증)를 아예 띄우지 않는다.
+ * 파일이 바뀌었거나, 다른 버전의 백업을 복원했거나, 목록을 읽을 수 없으면 전체 migrate로 돌아간다.
+ */
 public class MigrationRunner {
+	private static final Logger log = LoggerFactory.getLogger(MigrationRunner.class);
+
+	private static final String LOCATION = "db/migration";
+	private static final Pattern VERSIONED = Pattern.compile("V(\\d+(?:[._]\\d+)*)__.+\\.sql");
+
 	public static void migrate(DataSource ds) {
+		migrate(ds, true);
+	}
+
+	/** fastPath=false면 항상 Flyway 전체 migrate(db.migrate.fast_path=false) */
+	public static void migrate(DataSource ds, boolean fastPath) {
+		long t0 = System.nanoTime();
+		Migrations m = fastPath ? scan() : null;
+		if (m != null && isCurrent(ds, m)) {
+			log.info("마이그레이션 생략: 스키마 최신(v{}), {} ms", m.latestVersion(), elapsedMs(t0));
+			return;
+		}
+		runFlyway(ds);
+		if (m != null) writeFingerprint(ds, m.fingerprint());
+		log.info("Flyway 마이그레이션 완료: {} ms", elapsedMs(t0));
+	}
+
+	// Flyway 클래스는 여기서만 쓴다(빠른 경로에서는 로딩되지 않음)
+	private static void runFlyway(DataSource ds) {
 		Flyway.configure()
 				.dataSource(ds)
-				.locations("classpath:db/migration")
+				.locations("classpath:" + LOCATION)
 				.baselineOnMigrate(true)
 				.load()
 				.migrate();
 	}
-}
\ No newline at end of file
+
+	/** 클래스패스의 마이그레이션 목록 요약: 지문(0 아님) + 가장 높은 버전 */
+	record Migrations(int fingerprint, String latestVersion) {}
+
+	/** 마이그레이션 파일을 읽어 지문을 만든다. 목록을 못 읽으면 null(→ 전체 migrate) */
+	static Migrations scan() {
+		try {
+			SortedMap<String, byte[]> files = readResources();
+			if (files == null || files.isEmpty()) return null;
+			CRC32 crc = new CRC32();
+			String latest = null;
+			int[] latestParts = null;
+			for (Map.Entry<String, byte[]> f : files.entrySet()) {
+				crc.update(f.getKey().getBytes(StandardCharsets.UTF_8));
+				crc.update(0);
+				crc.update(f.getValue());
+				Matcher v = VERSIONED.matcher(f.getKey().substring(f.getKey().lastIndexOf('/') + 1));
+				if (!v.matches()) continue;
+				String version = v.group(1).replace('_', '.');
+				int[] parts = versionParts(version);
+				if (latestParts == null || Arrays.compare(parts, latestParts) > 0) {
+					latest = version;
+					latestParts = parts;
+				}
+			}
+			if (latest == null) return null;
+			int fp = (int) crc.getValue();
+			return new Migrations(fp == 0 ? 1 : fp, latest); // user_version 0은 "기록 없음"
+		} catch (IOException | URISyntaxException | RuntimeException e) {
+			log.debug("마이그레이션 목록을 읽지 못해 전체 확인으로 진행", e);
+			return null;
+		}
+	}
+
+	private static int[] versionParts(String version) {
+		return Arrays.stream(version.split("\\.")).mapToInt(Integer::parseInt).toArray();
+	}
+
+	// 상대 경로 → 내용(경로순). 디렉터리(개발 실행)와 jar(배포) 모두 지원, 그 밖의 형태는 null
+	private static SortedMap<String, byte[]> readResources() throws IOException, URISyntaxException {
+		ClassLoader cl = MigrationRunner.class.getClassLoader();
+		URL url = cl.getResource(LOCATION);
+		if (url == null) return null;
+		SortedMap<String, byte[]> out = new TreeMap<>();
+		switch (url.getProtocol()) {
+			case "file" -> {
+				Path root = Path.of(url.toURI());
+				try (Stream<Path> s = Files.walk(root)) { // Flyway처럼 하위 폴더까지
+					for (Path p : s.filter(p -> p.toString().endsWith(".sql") && Files.isRegularFile(p)).toList()) {
+						out.put(root.relativize(p).toString().replace('\\', '/'), Files.readAllBytes(p));
+					}
+				}
+			}
+			case "jar" -> {
+				// 클래스로더가 이미 연 jar를 같이 쓴다(닫지 않음)
+				JarFile jar = ((JarURLConnection) url.openConnection()).getJarFile();
+				String prefix = LOCATION + "/";
+				for (Enumeration<JarEntry> en = jar.entries(); en.hasMoreElements(); ) {
+					JarEntry e = en.nextElement();
+					String name = e.getName();
+					if (e.isDirectory() || !name.startsWith(prefix) || !name.endsWith(".sql")) continue;
+					try (InputStream in = jar.getInputStream(e)) {
+						out.put(name.substring(prefix.length()), in.readAllBytes());
+					}
+				}
+			}
+			default -> {
+				return null;
+			}
+		}
+		return out;
+	}
+
+	// DB 헤더의 지문과 마지막 성공 버전이 모두 같으면 최신
+	private static boolean isCurrent(DataSource ds, Migrations m) {
+		try (Connection c = ds.getConnection(); Statement st = c.createStatement()) {
+			int stored;
+			try (ResultSet rs = st.executeQuery("PRAGMA user_version")) {
+				stored = rs.next() ? rs.getInt(1) : 0;
+			}
+			if (stored != m.fingerprint()) return false;
+			try (ResultSet rs = st.executeQuery(
+					"SELECT version FROM flyway_schema_history WHERE success = 1 AND version IS NOT NULL" +
+							" ORDER BY installed_rank DESC LIMIT 1")) {
+				return rs.next() && m.latestVersion().equals(rs.getString(1));
+			}
+		} catch (SQLException e) {
+			return false; // 새 DB(기록 테이블 없음) 등
+		}
+	}
+
+	private static void writeFingerprint(DataSource ds, int fingerprint) {
+		try (Connection c = ds.getConnection(); Statement st = c.createStatement()) {
+			st.execute("PRAGMA user_version = " + fingerprint);
+		} catch (SQLException e) {
+			log.warn("마이그레이션 지문 기록 실패(다음 시작도 전체 확인)", e);
+		}
+	}
+
+	private static long elapsedMs(long t0) {
+		return (System.nanoTime() - t0) / 1_000_000;
+	}
+}
@@ -0,0 +1,41 @@
+package com.maemong.attendance.db;
+
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 마이그레이션이 사용자 데이터를 옮겼을 때 한 번 알릴 문구.
+ * - V5: 사번·날짜·출근시각까지 같은 중복 기록을 지우지 않고 attendance_dup_v5로 옮겼다(남긴 기록 id는 kept_id).
+ * 꺼낼 때 알림 표시(notified)를 남기므로 다음 시작부터는 다시 나오지 않는다. 로그에도 남긴다.
+ */
+public final class UpgradeNotices {
+	private static final Logger log = LoggerFactory.getLogger(UpgradeNotices.class);
+
+	private UpgradeNotices() {}
+
+	/** 아직 알리지 않은 문구(없으면 빈 목록) */
+	public static List<String> take(Jdbi jdbi) {
+		List<String> out = new ArrayList<>();
+		jdbi.useTransaction(h -> {
+			List<Long> ids = h.createQuery("SELECT id FROM attendance_dup_v5 WHERE notified = 0 ORDER BY id")
+					.mapTo(Long.class).list();
+			if (ids.isEmpty()) return;
+			h.execute("UPDATE attendance_dup_v5 SET notified = 1 WHERE notified = 0");
+			log.warn("V5 업그레이드: 중복 근태 기록 {}건을 attendance_dup_v5로 옮김 (id: {})", ids.size(), ids);
+			out.add(String.format("업그레이드 중 사번·날짜·출근시각이 같은 중복 근태 기록 %,d건을 발견했습니다.%n"
+					+ "가장 최근 기록만 남기고 나머지는 지우지 않고 attendance_dup_v5 테이블로 옮겨 두었습니다.%n"
+					+ "옮긴 기록 id: %s", ids.size(), abbreviate(ids)));
+		});
+		return out;
+	}
+
+	private static String abbreviate(List<Long> ids) {
+		final int shown = 20;
+		if (ids.size() <= shown) return ids.toString();
+		return ids.subList(0, shown) + " 외 " + (ids.size() - shown) + "건";
+	}
+}
@@ -0,0 +1,18 @@
+package com.maemong.attendance.domain;
+
+import java.util.List;
+
+/**
+ * 일괄 저장 결과.
+ * - saved: 저장된 기록(신규는 발급된 id 포함)
+ * - failures: 실패한 행 목록. index는 입력 컬렉션 기준 순번(0부터)
+ */
+public record BatchResult(
+		List<AttendanceRecord> saved,
+		List<Failure> failures
+) {
+	public record Failure(int index, String message) {}
+
+	public int okCount() { return saved.size(); }
+	public int failCount() { return failures.size(); }
+}
@@ -0,0 +1,36 @@
+package com.maemong.attendance.domain;
+
+import java.time.LocalDate;
+
+/**
+ * 변경 기록 한 건(change_log). seq는 커밋 순서대로 단조 증가한다.
+ * - 근태: employeeId/workDate는 변경 후 값(삭제면 지운 행의 값), 근무일·사번이 바뀐 수정이면 oldWorkDate/oldEmployeeId에 이전 값
+ * - 직원: employeeId == rowId, 날짜는 null
+ */
+public record Change(
+		long seq,
+		Entity entity,
+		Op op,
+		long rowId,
+		Long employeeId,
+		LocalDate workDate,
+		LocalDate oldWorkDate,
+		Long oldEmployeeId
+) {
+	public enum Entity { ATTENDANCE, EMPLOYEE }
+	public enum Op { INSERT, UPDATE, DELETE }
+
+	/** 이 변경이 기간(양끝 포함)에 닿는지: 변경 전/후 근무일 중 하나라도 기간 안이면 true */
+	public boolean touches(LocalDate from, LocalDate to) {
+		return within(workDate, from, to) || within(oldWorkDate, from, to);
+	}
+
+	/** 이 변경이 해당 사번의 기록에 닿는지(수정으로 사번이 바뀐 경우 이전 사번 포함) */
+	public boolean touchesEmployee(long empId) {
+		return (employeeId != null && employeeId == empId) || (oldEmployeeId != null && oldEmployeeId == empId);
+	}
+
+	private static boolean within(LocalDate d, LocalDate from, LocalDate to) {
+		return d != null && !d.isBefore(from) && !d.isAfter(to);
+	}
+}
@@ -0,0 +1,14 @@
+package com.maemong.attendance.domain;
+
+import java.util.List;
+
+/**
+ * changesSince 결과.
+ * - changes: 요청한 seq 이후 변경(seq 순, 최대 한 번의 상한까지)
+ * - lastSeq: 다음 호출에 넘길 seq(여기까지 봤음)
+ * - hasMore: 상한에 걸려 뒤에 더 있음 → lastSeq로 바로 다시 호출
+ * - reset: 요청한 seq 이후 기록 일부가 이미 잘려 나감 → 증분으로 따라잡을 수 없으니 전체를 다시 읽을 것
+ */
+public record ChangeBatch(List<Change> changes, long lastSeq, boolean hasMore, boolean reset) {
+	public boolean isEmpty() { return changes.isEmpty() && !reset; }
+}
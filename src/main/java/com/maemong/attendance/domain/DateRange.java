@@ -0,0 +1,23 @@
+package com.maemong.attendance.domain;
+
+import java.time.LocalDate;
+
+/**
+ * 날짜 구간(양끝 포함). from/to가 null이면 그쪽으로 열린 구간.
+ */
+public record DateRange(LocalDate from, LocalDate to) {
+	public DateRange {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+		}
+	}
+
+	/** 전체 기간 */
+	public static DateRange all() { return new DateRange(null, null); }
+
+	public static DateRange of(LocalDate from, LocalDate to) { return new DateRange(from, to); }
+
+	public boolean contains(LocalDate d) {
+		return (from == null || !d.isBefore(from)) && (to == null || !d.isAfter(to));
+	}
+}
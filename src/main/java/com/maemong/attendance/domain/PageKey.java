@@ -0,0 +1,18 @@
+package com.maemong.attendance.domain;
+
+import java.time.LocalDate;
+
+/**
+ * 키셋 페이지네이션 커서: (근무일, 사번, id) 정렬 순서상 마지막으로 받은 행의 위치.
+ * 다음 페이지는 이 키보다 "뒤"에 있는 행부터 시작한다(OFFSET 없이).
+ */
+public record PageKey(LocalDate workDate, long employeeId, long id) {
+	public PageKey {
+		if (workDate == null) throw new IllegalArgumentException("페이지 키의 근무일이 없습니다.");
+	}
+
+	/** 페이지의 마지막 행으로부터 다음 페이지 커서를 만든다 */
+	public static PageKey of(AttendanceRecord last) {
+		return new PageKey(last.workDate(), last.employeeId(), last.id());
+	}
+}
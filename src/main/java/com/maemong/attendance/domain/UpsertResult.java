@@ -0,0 +1,18 @@
+package com.maemong.attendance.domain;
+
+import java.util.List;
+
+/**
+ * 자연키 기준 일괄 업서트 결과.
+ * - inserted: 새로 추가된 행 / updated: 같은 키의 기존 행을 갱신 / unchanged: 값이 같아 쓰지 않은 행
+ * - failures: 실패한 행 목록. index는 입력 컬렉션 기준 순번(0부터)
+ */
+public record UpsertResult(
+		int inserted,
+		int updated,
+		int unchanged,
+		List<BatchResult.Failure> failures
+) {
+	public int okCount() { return inserted + updated + unchanged; }
+	public int failCount() { return failures.size(); }
+}
@@ -0,0 +1,92 @@
+package com.maemong.attendance.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메서드 하나의 호출 지표: 호출/오류 수, 돌려준 행 수, 지연 히스토그램(고정 구간), 최대 지연.
+ * 기록은 락 없이 여러 스레드에서 동시에 해도 된다.
+ */
+public final class MethodMetrics {
+	/** 히스토그램 구간 상한(마이크로초). 마지막 칸은 그 이상 전부 */
+	static final long[] BUCKET_UPPER_MICROS = {
+			100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+			100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000
+	};
+
+	private final String name;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder rows = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_UPPER_MICROS.length + 1);
+
+	MethodMetrics(String name) {
+		this.name = name;
+	}
+
+	public String name() { return name; }
+
+	/** 호출 한 번 기록. rows: 돌려준 행 수(모르면 0) */
+	public void record(long elapsedNanos, long rowCount, boolean error) {
+		calls.increment();
+		if (error) errors.increment();
+		if (rowCount > 0) rows.add(rowCount);
+		totalNanos.add(elapsedNanos);
+		buckets.incrementAndGet(bucketOf(elapsedNanos / 1_000));
+		long max;
+		while (elapsedNanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, elapsedNanos)) {
+			// 다른 스레드가 먼저 갱신했으면 다시 비교
+		}
+	}
+
+	private static int bucketOf(long micros) {
+		for (int i = 0; i < BUCKET_UPPER_MICROS.length; i++) {
+			if (micros <= BUCKET_UPPER_MICROS[i]) return i;
+		}
+		return BUCKET_UPPER_MICROS.length;
+	}
+
+	void reset() {
+		calls.reset();
+		errors.reset();
+		rows.reset();
+		totalNanos.reset();
+		maxNanos.set(0);
+		for (int i = 0; i < buckets.length(); i++) buckets.set(i, 0);
+	}
+
+	public Snapshot snapshot() {
+		long[] b = new long[buckets.length()];
+		for (int i = 0; i < b.length; i++) b[i] = buckets.get(i);
+		return new Snapshot(name, calls.sum(), errors.sum(), rows.sum(), totalNanos.sum(), maxNanos.get(), b);
+	}
+
+	/** 지표 스냅샷(읽는 동안 기록이 이어지면 항목끼리 약간 어긋날 수 있음) */
+	public record Snapshot(String name, long calls, long errors, long rows, long totalNanos, long maxNanos, long[] buckets) {
+		public double avgMillis() { return calls == 0 ? 0 : totalNanos / 1e6 / calls; }
+		public double maxMillis() { return maxNanos / 1e6; }
+		public double rowsPerCall() { return calls == 0 ? 0 : (double) rows / calls; }
+
+		/**
+		 * 백분위 지연(ms)의 상한 추정: 해당 순위가 들어 있는 구간의 상한.
+		 * 마지막(상한 없는) 구간이면 최대값을 돌려준다.
+		 */
+		public double percentileMillis(double p) {
+			long total = 0;
+			for (long c : buckets) total += c;
+			if (total == 0) return 0;
+			long rank = (long) Math.ceil(p / 100.0 * total);
+			long seen = 0;
+			for (int i = 0; i < buckets.length; i++) {
+				seen += buckets[i];
+				if (seen >= rank) {
+					return i < BUCKET_UPPER_MICROS.length ? Math.min(BUCKET_UPPER_MICROS[i] / 1e3, maxMillis()) : maxMillis();
+				}
+			}
+			return maxMillis();
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.maemong.attendance.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 프로세스 안 지표 저장소: 이름별 메서드 지표 + 덧붙일 보고 구역(연결 풀 등).
+ * 진단 창에서 보거나 텍스트 파일로 떨군다. 외부 전송은 하지 않는다.
+ */
+public final class MetricsRegistry {
+	private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+	private final Map<String, Supplier<List<String>>> sections = Collections.synchronizedMap(new LinkedHashMap<>());
+	private volatile long since = System.currentTimeMillis();
+
+	/** 이름의 지표(없으면 만든다) */
+	public MethodMetrics method(String name) {
+		return methods.computeIfAbsent(name, MethodMetrics::new);
+	}
+
+	/** 보고서 끝에 붙일 구역(예: 연결 풀 지표). 보고서를 만들 때마다 lines를 다시 부른다 */
+	public void addSection(String title, Supplier<List<String>> lines) {
+		sections.put(title, lines);
+	}
+
+	/** 이름순 스냅샷(호출이 한 번도 없던 지표는 뺀다) */
+	public List<MethodMetrics.Snapshot> snapshot() {
+		List<MethodMetrics.Snapshot> out = new ArrayList<>();
+		for (MethodMetrics m : methods.values()) {
+			MethodMetrics.Snapshot s = m.snapshot();
+			if (s.calls() > 0) out.add(s);
+		}
+		out.sort(Comparator.comparing(MethodMetrics.Snapshot::name));
+		return out;
+	}
+
+	/** 모든 메서드 지표를 0으로(집계 시작 시각도 지금으로) */
+	public void reset() {
+		methods.values().forEach(MethodMetrics::reset);
+		since = System.currentTimeMillis();
+	}
+
+	public long sinceMillis() { return since; }
+
+	/** 사람이 읽는 텍스트 보고서 */
+	public String report() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("# 저장소 호출 지표 (").append(new Date(since)).append(" 이후)\n");
+		sb.append(String.format("%-44s %8s %6s %10s %9s %9s %9s %9s %9s%n",
+				"메서드", "호출", "오류", "행/호출", "평균ms", "p50ms", "p95ms", "p99ms", "최대ms"));
+		for (MethodMetrics.Snapshot s : snapshot()) {
+			sb.append(String.format("%-44s %8d %6d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+					s.name(), s.calls(), s.errors(), s.rowsPerCall(), s.avgMillis(),
+					s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99), s.maxMillis()));
+		}
+		synchronized (sections) {
+			for (Map.Entry<String, Supplier<List<String>>> e : sections.entrySet()) {
+				sb.append("\n# ").append(e.getKey()).append('\n');
+				for (String line : e.getValue().get()) sb.append(line).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	/** 보고서를 dir/metrics-yyyyMMdd-HHmmss.txt로 저장. 반환: 만든 파일 */
+	public Path dumpTo(Path dir) throws IOException {
+		Files.createDirectories(dir);
+		Path file = dir.resolve("metrics-" + LocalDateTime.now().format(STAMP) + ".txt");
+		Files.writeString(file, report(), StandardCharsets.UTF_8);
+		return file;
+	}
+}
@@ -1,14 +1,86 @@
 package com.maemong.attendance.ports;
 
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.domain.UpsertResult;
 import java.time.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 public interface AttendanceRepository {
 	AttendanceRecord save(AttendanceRecord r);
+	/** 여러 건을 한 트랜잭션으로 저장(배치). 행 단위 실패는 결과에 담아 반환 */
+	BatchResult saveAll(Collection<AttendanceRecord> records);
+	/**
+	 * saveAll과 같되, 돌아올 때 커밋이 디스크까지 내려가 있다(연결의 synchronous 설정과 무관하게 이 커밋만 fsync).
+	 * 저장 결과를 믿고 다른 사본(지연 쓰기 일지 등)을 지우기 전에 쓴다.
+	 */
+	BatchResult saveAllDurable(Collection<AttendanceRecord> records);
+	/**
+	 * 자연키(사번, 근무일, 출근시각) 기준 일괄 업서트. 기록의 id는 무시한다.
+	 * 같은 키가 있으면 퇴근/메모만 갱신하고, 값이 같으면 쓰지 않는다(재가져오기 시 중복/쓰기 없음).
+	 */
+	UpsertResult upsertAll(Collection<AttendanceRecord> records);
 	Optional<AttendanceRecord> findById(long id);
 	List<AttendanceRecord> findByDate(LocalDate date);
 	List<AttendanceRecord> findByMonth(YearMonth ym);
 	List<AttendanceRecord> findByEmployeeAndRange(long employeeId, LocalDate from, LocalDate to);
+	/**
+	 * 기간(양끝 포함)을 (근무일, 사번, id) 순으로 한 페이지씩 조회.
+	 * after가 null이면 첫 페이지, 아니면 그 키 바로 다음 행부터 최대 limit건.
+	 */
+	List<AttendanceRecord> findPage(LocalDate from, LocalDate to, PageKey after, int limit);
+	/**
+	 * 메모·직원 이름 키워드 검색(전문검색 인덱스). 공백으로 나눈 단어를 모두 포함(AND)하고,
+	 * 각 단어는 어절의 앞부분으로 맞춘다("대타" → "대타로"). range의 null 끝은 제한 없음.
+	 * 최근에 입력된 기록부터 최대 SEARCH_LIMIT건을 골라 최근 근무일 순으로 돌려준다.
+	 */
+	List<AttendanceRecord> searchRecords(String query, DateRange range);
+	/** searchRecords 결과 상한 */
+	int SEARCH_LIMIT = 2000;
 	boolean deleteById(long id);
-}
\ No newline at end of file
+	/** 여러 건을 한 트랜잭션으로 삭제(전부 또는 전무). 반환: 실제 삭제된 행 수 */
+	int deleteByIds(Collection<Long> ids);
+
+	// ===== 근무시간 집계(저장/삭제 시 함께 갱신되는 집계 테이블 조회) =====
+
+	/** 기간(양끝 포함) 사번별 근무 분 합계. 근무 분이 0인 사번은 제외 */
+	Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to);
+	/** 기간(양끝 포함) 날짜별 근무 분 합계. employeeId가 null이면 전체 사번 */
+	Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long employeeId);
+	/** 집계를 원본 기록에서 전부 다시 만든다. 반환: 사번×일 버킷 수 */
+	int rebuildAggregates();
+	/** 집계 검증: 테이블별 원본과 어긋난 버킷 수(모두 0이면 정상) */
+	Map<String, Integer> verifyAggregates();
+
+	/**
+	 * 기간 조회(양끝 포함)를 스트림으로: 결과 전체를 메모리에 올리지 않고 커서로 한 행씩 읽는다.
+	 * 스트림이 DB 연결을 잡고 있으므로 반드시 try-with-resources 등으로 close 할 것.
+	 */
+	Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to);
+
+	// ===== 연도별 보관(마감된 연도를 별도 DB 파일로) =====
+
+	/**
+	 * 해당 연도 기록을 보관 DB로 옮기고 비워진 공간을 파일에서 돌려준다. 반환: 옮긴 행 수.
+	 * 이후 조회 기간이 그 연도에 닿으면 보관 DB를 함께 읽는다. 근무시간 집계는 hot DB에 그대로 남는다.
+	 */
+	int archiveYear(int year);
+	/** 보관된 연도(오름차순) */
+	List<Integer> archivedYears();
+
+	// ===== 변경 기록(추가/수정/삭제가 같은 트랜잭션에서 seq와 함께 남음) =====
+
+	/**
+	 * seq 이후의 근태 변경(seq 순). 캐시/화면은 마지막으로 받은 lastSeq를 기억해 두고 이어서 부른다.
+	 * reset이면 그 사이 기록이 잘려 나간 것이므로 전체를 다시 읽는다.
+	 */
+	ChangeBatch changesSince(long seq);
+	/** 현재 마지막 변경 seq(근태/직원 공통). 전체를 읽기 직전에 받아 두면 그 뒤 변경부터 따라잡을 수 있다 */
+	long lastChangeSeq();
+	/** 최근 keep건만 남기고 오래된 변경 기록을 지운다. 반환: 지운 건수 */
+	int pruneChanges(int keep);
+}
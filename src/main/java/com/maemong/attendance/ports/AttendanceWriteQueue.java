@@ -0,0 +1,15 @@
+package com.maemong.attendance.ports;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 새 근태 기록의 지연 쓰기(write-behind) 큐.
+ * submit이 돌아온 시점에 기록은 로컬 일지에 남아 있어 앱이 죽어도 다음 시작 때 다시 저장된다.
+ * 실제 DB 저장은 쓰기 스레드가 모아서 한 트랜잭션으로 하고, 결과(발급된 id 포함)는 future로 알린다.
+ */
+public interface AttendanceWriteQueue {
+	/** 새 기록(id 없음)을 맡긴다. 저장 실패(자연키 중복 등)는 future가 예외로 끝난다 */
+	CompletableFuture<AttendanceRecord> submit(AttendanceRecord r);
+}
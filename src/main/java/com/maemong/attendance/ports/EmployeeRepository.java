@@ -1,5 +1,6 @@
 package com.maemong.attendance.ports;
 
+import com.maemong.attendance.domain.ChangeBatch;
 import com.maemong.attendance.domain.Employee;
 import java.util.*;
 
@@ -10,4 +11,16 @@ public interface EmployeeRepository {
 	@SuppressWarnings("unused")
 	List<Employee> searchByName(String nameLike);
 	boolean deleteById(long id);
-}
\ No newline at end of file
+	/** 사번 존재 여부(행은 읽지 않는다) */
+	boolean existsById(long id);
+	/** 모든 사번(오름차순). 존재 확인 캐시 적재용 */
+	long[] findIds();
+
+	/** 사번→이름만 조회(이름 표시용, 이름순). 다른 컬럼은 읽지 않는다 */
+	Map<Long, String> findNames();
+	/** 이름 부분일치 사번→이름 조회(이름순) */
+	Map<Long, String> searchNames(String nameLike);
+
+	/** seq 이후의 직원 변경(seq 순, 근태와 같은 seq 공간). reset이면 전체를 다시 읽는다 */
+	ChangeBatch changesSince(long seq);
+}
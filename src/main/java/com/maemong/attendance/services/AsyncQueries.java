@@ -0,0 +1,100 @@
+package com.maemong.attendance.services;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.services.attendance.OverlapDetector;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 조회 비동기 파사드: 근태 조회(AttendanceQueries + 검색/겹침/변경 기록)와 직원 이름 조회를 작업 실행기(가상 스레드)에서 돌리고
+ * 결과는 완료 실행기(UI에서는 EDT)에서 future로 돌려준다.
+ * - 돌려받은 future에 이어 붙인 thenAccept 등은 완료 실행기에서 돈다(화면 갱신을 바로 해도 된다).
+ * - cancel(true): 아직 시작 전이면 실행하지 않고, 실행 중이면 스레드를 인터럽트한다.
+ *   DB 호출은 끝까지 갈 수 있지만 결과는 버려지고, 이어 붙인 처리는 cancel을 부른 스레드(UI는 EDT)에서
+ *   CancellationException으로 끝난다.
+ */
+public final class AsyncQueries {
+    private final AttendanceService attendance;
+    private final EmployeeService employees;
+    private final ExecutorService workers;
+    private final Executor completion;
+
+    /**
+     * @param workers    조회를 돌릴 실행기(Bootstrap의 가상 스레드 실행기, 종료는 소유자가)
+     * @param completion 결과를 넘길 실행기(UI: SwingUtilities::invokeLater)
+     */
+    public AsyncQueries(AttendanceService attendance, EmployeeService employees, ExecutorService workers, Executor completion) {
+        this.attendance = attendance;
+        this.employees = employees;
+        this.workers = workers;
+        this.completion = completion;
+    }
+
+    /** call을 작업 실행기에서 돌리고 결과(또는 예외)를 완료 실행기에서 넘긴다 */
+    public <T> CompletableFuture<T> call(Supplier<T> call) {
+        Task<T> result = new Task<>();
+        result.running = workers.submit(() -> {
+            T value;
+            try {
+                value = call.get();
+            } catch (Throwable e) {
+                completion.execute(() -> result.completeExceptionally(e));
+                return;
+            }
+            completion.execute(() -> result.complete(value)); // 이미 취소됐으면 무시된다
+        });
+        return result;
+    }
+
+    // 취소하면 실행 중인 작업도 인터럽트하는 future
+    private static final class Task<T> extends CompletableFuture<T> {
+        volatile Future<?> running;
+
+        @Override public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> f = running;
+            if (cancelled && f != null) f.cancel(mayInterruptIfRunning);
+            return cancelled;
+        }
+    }
+
+    // ===== 근태 조회 =====
+    public CompletableFuture<List<AttendanceRecord>> byDate(LocalDate d) { return call(() -> attendance.byDate(d)); }
+    public CompletableFuture<List<AttendanceRecord>> byMonth(YearMonth ym) { return call(() -> attendance.byMonth(ym)); }
+    public CompletableFuture<List<AttendanceRecord>> byEmpRange(long empId, LocalDate from, LocalDate to) {
+        return call(() -> attendance.byEmpRange(empId, from, to));
+    }
+    public CompletableFuture<List<AttendanceRecord>> page(LocalDate from, LocalDate to, PageKey after, int limit) {
+        return call(() -> attendance.page(from, to, after, limit));
+    }
+    public CompletableFuture<Map<Long, Integer>> minutesByEmployee(LocalDate from, LocalDate to) {
+        return call(() -> attendance.minutesByEmployee(from, to));
+    }
+    public CompletableFuture<Map<LocalDate, Integer>> minutesByDate(LocalDate from, LocalDate to, Long empId) {
+        return call(() -> attendance.minutesByDate(from, to, empId));
+    }
+    public CompletableFuture<List<AttendanceRecord>> search(String query, DateRange range) {
+        return call(() -> attendance.search(query, range));
+    }
+    public CompletableFuture<List<OverlapDetector.Conflict>> conflicts(YearMonth ym) {
+        return call(() -> attendance.conflicts(ym));
+    }
+    public CompletableFuture<Long> lastChangeSeq() { return call(attendance::lastChangeSeq); }
+    public CompletableFuture<ChangeBatch> attendanceChangesSince(long seq) { return call(() -> attendance.changesSince(seq)); }
+
+    // ===== 직원 =====
+    public CompletableFuture<Map<Long, String>> names() { return call(employees::names); }
+    public CompletableFuture<Map<Long, String>> searchNames(String q) { return call(() -> employees.searchNames(q)); }
+    public CompletableFuture<ChangeBatch> employeeChangesSince(long seq) { return call(() -> employees.changesSince(seq)); }
+}
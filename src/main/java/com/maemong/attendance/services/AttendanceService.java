@@ -2,22 +2,35 @@
 package com.maemong.attendance.services;
 
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.domain.UpsertResult;
 import com.maemong.attendance.ports.AttendanceRepository;
+import com.maemong.attendance.ports.AttendanceWriteQueue;
 import com.maemong.attendance.ports.EmployeeRepository;
 import com.maemong.attendance.services.attendance.AttendanceAppService;
+import com.maemong.attendance.services.attendance.OverlapDetector;
 import com.maemong.attendance.services.attendance.commands.SaveAttendanceCommand;
+import com.maemong.attendance.services.attendance.queries.AttendanceQueries;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * 호환용 포워더 서비스.
  * 내부적으로 AttendanceAppService에 위임하여
  * 기존 호출부를 깨지 않으면서 유스케이스 계층을 표준화한다.
  */
-public class AttendanceService {
+public class AttendanceService implements AttendanceQueries {
     private final AttendanceAppService app;
 
     /** 기존 생성자 유지(엄격 모드 기본값 true) */
@@ -27,27 +40,95 @@ public class AttendanceService {
 
     /** 플래그 제어 생성자 */
     public AttendanceService(AttendanceRepository repo, EmployeeRepository employees, boolean enforceNoOverlap) {
-        this.app = new AttendanceAppService(repo, employees, enforceNoOverlap);
+        this(repo, employees, enforceNoOverlap, null);
+    }
+
+    /** 지연 쓰기 큐 사용(null이면 upsertAsync도 바로 저장) */
+    public AttendanceService(AttendanceRepository repo, EmployeeRepository employees, boolean enforceNoOverlap,
+                             AttendanceWriteQueue writeQueue) {
+        this(repo, new KnownEmployees(employees), enforceNoOverlap, writeQueue);
+    }
+
+    /** 사번 확인 캐시를 EmployeeService와 함께 쓴다(직원 저장/삭제가 바로 반영) */
+    public AttendanceService(AttendanceRepository repo, KnownEmployees known, boolean enforceNoOverlap,
+                             AttendanceWriteQueue writeQueue) {
+        this.app = new AttendanceAppService(repo, known, enforceNoOverlap, writeQueue);
     }
 
     // === 기존 API 시그니처는 그대로 유지 ===
     public AttendanceRecord upsert(AttendanceRecord r) {
         if (r == null) throw new IllegalArgumentException("근태 기록이 제공되지 않았습니다.");
         // 기존 DTO → 커맨드로 변환하여 위임
-        return app.save(new SaveAttendanceCommand(
+        return app.save(toCommand(r));
+    }
+
+    /** 저장을 맡기고 결과를 future로(지연 쓰기 큐가 있으면 묶음 커밋). 검증 실패는 바로 예외 */
+    public CompletableFuture<AttendanceRecord> upsertAsync(AttendanceRecord r) {
+        if (r == null) throw new IllegalArgumentException("근태 기록이 제공되지 않았습니다.");
+        return app.saveAsync(toCommand(r));
+    }
+
+    /** 일괄 저장: 한 번의 커밋으로 저장하고 행 단위 실패를 돌려준다 */
+    public BatchResult saveAll(Collection<AttendanceRecord> records) {
+        List<SaveAttendanceCommand> cmds = new ArrayList<>(records.size());
+        for (AttendanceRecord r : records) cmds.add(r == null ? null : toCommand(r));
+        return app.saveAll(cmds);
+    }
+
+    /** 자연키(사번, 날짜, 출근시각) 기준 일괄 업서트: 재가져오기해도 중복이 생기지 않는다 */
+    public UpsertResult upsertAll(Collection<AttendanceRecord> records) {
+        List<SaveAttendanceCommand> cmds = new ArrayList<>(records.size());
+        for (AttendanceRecord r : records) cmds.add(r == null ? null : toCommand(r));
+        return app.upsertAll(cmds);
+    }
+
+    private static SaveAttendanceCommand toCommand(AttendanceRecord r) {
+        return new SaveAttendanceCommand(
                 r.id(),
                 r.employeeId(),
                 r.workDate(),
                 r.clockIn(),
                 r.clockOut(),
                 r.memo()
-        ));
+        );
     }
 
     public Optional<AttendanceRecord> find(long id) { return app.find(id); }
-    public List<AttendanceRecord> byDate(LocalDate d) { return app.byDate(d); }
-    public List<AttendanceRecord> byMonth(YearMonth ym) { return app.byMonth(ym); }
-    public List<AttendanceRecord> byEmpRange(long empId, LocalDate from, LocalDate to) { return app.byEmpRange(empId, from, to); }
-    public List<AttendanceRecord> byEmpDate(long empId, LocalDate date) { return app.byEmpDate(empId, date); }
+    @Override public List<AttendanceRecord> byDate(LocalDate d) { return app.byDate(d); }
+    @Override public List<AttendanceRecord> byMonth(YearMonth ym) { return app.byMonth(ym); }
+    @Override public List<AttendanceRecord> byEmpRange(long empId, LocalDate from, LocalDate to) { return app.byEmpRange(empId, from, to); }
+    @Override public List<AttendanceRecord> byEmpDate(long empId, LocalDate date) { return app.byEmpDate(empId, date); }
+    /** 기간 스트림 조회: 사용 후 반드시 close (try-with-resources) */
+    @Override public Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to) { return app.streamByRange(from, to); }
+    @Override public List<AttendanceRecord> page(LocalDate from, LocalDate to, PageKey after, int limit) { return app.page(from, to, after, limit); }
+    /** 메모·직원 이름 키워드 검색(전문검색 인덱스, 최근 근무일 순) */
+    public List<AttendanceRecord> search(String query, DateRange range) { return app.search(query, range); }
     public boolean remove(long id) { return app.remove(id); }
+    /** 일괄 삭제: 한 트랜잭션으로 지우고 삭제된 행 수를 돌려준다 */
+    public int removeAll(Collection<Long> ids) { return app.removeAll(ids); }
+
+    // === 겹침 점검 ===
+    /** 기간 안의 겹치는 근무 쌍(전날 야간 근무가 넘어온 것 포함) */
+    public List<OverlapDetector.Conflict> conflicts(LocalDate from, LocalDate to) { return app.conflicts(from, to); }
+    public List<OverlapDetector.Conflict> conflicts(YearMonth ym) { return app.conflicts(ym.atDay(1), ym.atEndOfMonth()); }
+
+    // === 집계 ===
+    @Override public Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to) { return app.minutesByEmployee(from, to); }
+    @Override public Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long empId) { return app.minutesByDate(from, to, empId); }
+    /** 집계 테이블 재구성(반환: 사번×일 버킷 수) */
+    public int rebuildAggregates() { return app.rebuildAggregates(); }
+    /** 집계 검증(테이블별 불일치 버킷 수) */
+    public Map<String, Integer> verifyAggregates() { return app.verifyAggregates(); }
+
+    // === 연도별 보관 ===
+    /** 마감된 연도를 보관 DB(attendance-YYYY.db)로 옮긴다(반환: 옮긴 행 수) */
+    public int archiveYear(int year) { return app.archiveYear(year); }
+    public List<Integer> archivedYears() { return app.archivedYears(); }
+
+    // === 변경 기록(증분 갱신) ===
+    /** seq 이후 근태 변경. 받은 lastSeq로 이어서 부르고, reset이면 전체를 다시 읽는다 */
+    public ChangeBatch changesSince(long seq) { return app.changesSince(seq); }
+    /** 현재 마지막 변경 seq(전체 조회 직전에 받아 둘 것) */
+    public long lastChangeSeq() { return app.lastChangeSeq(); }
+    public int pruneChanges(int keep) { return app.pruneChanges(keep); }
 }
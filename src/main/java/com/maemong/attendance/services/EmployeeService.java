@@ -1,14 +1,21 @@
 package com.maemong.attendance.services;
 
+import com.maemong.attendance.domain.ChangeBatch;
 import com.maemong.attendance.domain.Employee;
 import com.maemong.attendance.ports.EmployeeRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class EmployeeService {
 	private final EmployeeRepository repo;
-	public EmployeeService(EmployeeRepository repo) { this.repo = repo; }
+	private final KnownEmployees known; // 근태 저장의 사번 확인 캐시(저장/삭제를 바로 반영)
+	public EmployeeService(EmployeeRepository repo) { this(repo, new KnownEmployees(repo)); }
+	public EmployeeService(EmployeeRepository repo, KnownEmployees known) {
+		this.repo = repo;
+		this.known = known;
+	}
 
 	public Employee upsert(Employee e) {
 		String name = trimToNull(e.name());
@@ -30,7 +37,9 @@ public class EmployeeService {
 				e.contractDate(),
 				trim(e.note())
 		);
-		return repo.save(sanitized);
+		Employee saved = repo.save(sanitized);
+		known.add(saved.id());
+		return saved;
 	}
 
 	@SuppressWarnings("unused")
@@ -38,12 +47,24 @@ public class EmployeeService {
 	@SuppressWarnings("unused")
 	public List<Employee> list() { return repo.findAll(); }
 
+	/** 사번→이름(표시용 경량 조회). 이름 캐시/콤보/요약에 사용 */
+	public Map<Long, String> names() { return repo.findNames(); }
+	/** 이름 부분일치 사번→이름(이름순) */
+	public Map<Long, String> searchNames(String q) { return repo.searchNames(q == null ? "" : q.trim()); }
+
 	// 포트 메서드 노출: 이름 검색(콤보/오토컴플리트/필터에 사용 예정)
 	@SuppressWarnings("unused")
 	public List<Employee> searchByName(String q) { return repo.searchByName(q == null ? "" : q.trim()); }
 
 	@SuppressWarnings("unused")
-	public boolean remove(long id) { return repo.deleteById(id); }
+	public boolean remove(long id) {
+		boolean deleted = repo.deleteById(id);
+		known.remove(id);
+		return deleted;
+	}
+
+	/** seq 이후 직원 변경(근태와 같은 seq 공간). 이름 캐시 등 증분 갱신용 */
+	public ChangeBatch changesSince(long seq) { return repo.changesSince(Math.max(0, seq)); }
 
 	// ---- helpers ----
 	private static String trim(String s) { return s == null ? null : s.trim(); }
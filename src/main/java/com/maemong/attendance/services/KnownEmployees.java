@@ -0,0 +1,103 @@
+package com.maemong.attendance.services;
+
+import com.maemong.attendance.domain.Change;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.ports.EmployeeRepository;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 존재하는 사번 캐시(근태 저장 때 사번 확인용).
+ * - 처음 확인할 때 사번 전체를 한 번 읽어 BitSet에 둔다. 사번은 작은 자동 증가 정수라 사번 하나가 비트 하나다.
+ * - EmployeeService의 저장/삭제가 바로 반영한다.
+ * - 없다고 나오면 DB에 한 번 더 묻는다: 다른 프로세스가 추가한 직원도 맞게 판단하고, 있으면 캐시에 넣는다.
+ *   확인과 넣기는 한 잠금 안에서 하므로 그 사이의 remove가 지운 사번을 되살리지 않는다.
+ * - 다른 프로세스의 직원 변경은 변경 기록(change_log)에서 따라잡는다(확인할 때 SYNC_INTERVAL_MS마다 한 번).
+ *   그 간격 안에 다른 프로세스가 지운 직원은 아직 있는 것으로 보일 수 있다.
+ */
+public final class KnownEmployees {
+	private final EmployeeRepository repo;
+	private final BitSet ids = new BitSet();
+	private final Set<Long> outside = new HashSet<>(); // BitSet에 못 담는 사번(음수, int 범위 밖)
+	private boolean loaded;
+	private long seq;      // 여기까지의 변경 기록은 반영됨
+	private long syncedAt; // 마지막으로 변경 기록을 본 때(nanoTime)
+
+	// 변경 기록 확인 간격: 대량 저장에서도 초당 몇 번의 조회로 끝난다
+	private static final long SYNC_INTERVAL_MS = 500;
+
+	public KnownEmployees(EmployeeRepository repo) {
+		this.repo = repo;
+	}
+
+	/** 사번이 있는가. 캐시에 없으면 DB 확인 */
+	public synchronized boolean contains(long id) {
+		if (!loaded) reload();
+		else if (System.nanoTime() - syncedAt >= SYNC_INTERVAL_MS * 1_000_000) sync();
+		if (cached(id)) return true;
+		if (!repo.existsById(id)) return false;
+		put(id);
+		return true;
+	}
+
+	/** DB에서 사번 전체를 다시 읽는다. 반환: 사번 수 */
+	public synchronized int reload() {
+		// 변경 기록 위치를 먼저 잡는다: 읽는 사이의 변경은 다음 sync에서 한 번 더 반영될 뿐이다
+		seq = repo.changesSince(Long.MAX_VALUE).lastSeq();
+		long[] all = repo.findIds();
+		ids.clear();
+		outside.clear();
+		for (long id : all) put(id);
+		loaded = true;
+		syncedAt = System.nanoTime();
+		return all.length;
+	}
+
+	// seq 이후의 직원 변경을 순서대로 반영. 기록이 잘려 따라잡을 수 없으면 전체를 다시 읽는다
+	private void sync() {
+		ChangeBatch batch;
+		do {
+			batch = repo.changesSince(seq);
+			if (batch.reset()) {
+				reload();
+				return;
+			}
+			for (Change c : batch.changes()) {
+				if (c.op() == Change.Op.DELETE) clear(c.rowId());
+				else put(c.rowId());
+			}
+			seq = batch.lastSeq();
+		} while (batch.hasMore());
+		syncedAt = System.nanoTime();
+	}
+
+	/** 저장된 직원 반영 */
+	public synchronized void add(long id) {
+		if (loaded) put(id);
+	}
+
+	/** 삭제된 직원 반영 */
+	public synchronized void remove(long id) {
+		clear(id);
+	}
+
+	private boolean cached(long id) {
+		return fits(id) ? ids.get((int) id) : outside.contains(id);
+	}
+
+	private void put(long id) {
+		if (fits(id)) ids.set((int) id);
+		else outside.add(id);
+	}
+
+	private void clear(long id) {
+		if (fits(id)) ids.clear((int) id);
+		else outside.remove(id);
+	}
+
+	private static boolean fits(long id) {
+		return id >= 0 && id < Integer.MAX_VALUE;
+	}
+}
@@ -1,15 +1,23 @@
 package com.maemong.attendance.services.attendance;
 
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.domain.UpsertResult;
 import com.maemong.attendance.ports.AttendanceRepository;
+import com.maemong.attendance.ports.AttendanceWriteQueue;
 import com.maemong.attendance.ports.EmployeeRepository;
+import com.maemong.attendance.services.KnownEmployees;
 import com.maemong.attendance.services.attendance.commands.SaveAttendanceCommand;
 import com.maemong.attendance.services.attendance.queries.AttendanceQueries;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * 근태 유스케이스 서비스 (저장/조회/삭제)
@@ -18,26 +26,199 @@ import java.util.Optional;
  */
 public class AttendanceAppService implements AttendanceQueries {
     private final AttendanceRepository repo;
-    private final EmployeeRepository employees;
+    private final KnownEmployees employees;
     private final boolean enforceNoOverlap;
+    private final AttendanceWriteQueue writeQueue; // null이면 saveAsync도 바로 저장
 
     public AttendanceAppService(AttendanceRepository repo, EmployeeRepository employees, boolean enforceNoOverlap) {
+        this(repo, employees, enforceNoOverlap, null);
+    }
+
+    public AttendanceAppService(AttendanceRepository repo, EmployeeRepository employees, boolean enforceNoOverlap,
+                                AttendanceWriteQueue writeQueue) {
+        this(repo, new KnownEmployees(employees), enforceNoOverlap, writeQueue);
+    }
+
+    /** employees: 사번 확인 캐시(EmployeeService와 같은 인스턴스를 쓰면 직원 저장/삭제가 바로 반영된다) */
+    public AttendanceAppService(AttendanceRepository repo, KnownEmployees employees, boolean enforceNoOverlap,
+                                AttendanceWriteQueue writeQueue) {
         this.repo = repo;
         this.employees = employees;
         this.enforceNoOverlap = enforceNoOverlap;
+        this.writeQueue = writeQueue;
     }
 
     public AttendanceRecord save(SaveAttendanceCommand cmd) {
-        if (cmd == null) throw new IllegalArgumentException("근태 기록이 제공되지 않았습니다.");
-        if (cmd.employeeId() == 0) throw new IllegalArgumentException("사번이 올바르지 않습니다.");
-        if (employees.findById(cmd.employeeId()).isEmpty()) {
+        return repo.save(checkedForSave(cmd));
+    }
+
+    /**
+     * 저장을 맡기고 결과(발급된 id 포함)를 future로 받는다. 검증 실패는 바로 예외.
+     * 지연 쓰기 큐가 있으면 새 기록은 큐로(묶음 커밋), 수정이나 큐가 없을 때는 지금 저장한 결과를 돌려준다.
+     */
+    public CompletableFuture<AttendanceRecord> saveAsync(SaveAttendanceCommand cmd) {
+        AttendanceRecord r = checkedForSave(cmd);
+        if (writeQueue == null || r.id() != null) return CompletableFuture.completedFuture(repo.save(r));
+        return writeQueue.submit(r);
+    }
+
+    private AttendanceRecord checkedForSave(SaveAttendanceCommand cmd) {
+        AttendanceRecord r = validate(cmd);
+        if (!employees.contains(cmd.employeeId())) {
             throw new IllegalArgumentException("존재하지 않는 사번입니다: " + cmd.employeeId());
         }
+        checkNotArchived(r);
+        if (r.id() != null) checkOriginalEditable(r.id());
+        checkOverlap(r, false);
+        return r;
+    }
+
+    /**
+     * 일괄 저장(엑셀 가져오기 등).
+     * 검증은 행 단위로 하고, 통과한 행만 저장소의 배치 저장으로 한 번에 커밋한다.
+     * 실패 index는 입력 컬렉션 기준 순번이다.
+     */
+    public BatchResult saveAll(Collection<SaveAttendanceCommand> cmds) {
+        Checked checked = validateAll(cmds, false);
+        BatchResult stored = repo.saveAll(checked.valid());
+        List<BatchResult.Failure> failures = checked.mergeFailures(stored.failures());
+        return new BatchResult(stored.saved(), failures);
+    }
+
+    /**
+     * 자연키(사번, 날짜, 출근시각) 기준 일괄 업서트(엑셀 재가져오기).
+     * 같은 키가 있으면 퇴근/메모만 갱신하고, 값이 같으면 쓰지 않는다. 커맨드의 id는 무시한다.
+     */
+    public UpsertResult upsertAll(Collection<SaveAttendanceCommand> cmds) {
+        Checked checked = validateAll(cmds, true);
+        UpsertResult stored = repo.upsertAll(checked.valid());
+        List<BatchResult.Failure> failures = checked.mergeFailures(stored.failures());
+        return new UpsertResult(stored.inserted(), stored.updated(), stored.unchanged(), failures);
+    }
+
+    // 행 단위 검증 결과: 통과한 기록 + 그 입력 순번, 검증 실패 목록
+    private record Checked(List<AttendanceRecord> valid, List<Integer> validIndexes, List<BatchResult.Failure> failures) {
+        // 저장소 실패(통과 목록 기준 index)를 입력 순번으로 바꿔 검증 실패와 합친다
+        List<BatchResult.Failure> mergeFailures(List<BatchResult.Failure> stored) {
+            List<BatchResult.Failure> all = new ArrayList<>(failures);
+            for (BatchResult.Failure f : stored) {
+                all.add(new BatchResult.Failure(validIndexes.get(f.index()), f.message()));
+            }
+            all.sort(Comparator.comparingInt(BatchResult.Failure::index));
+            return all;
+        }
+    }
+
+    private Checked validateAll(Collection<SaveAttendanceCommand> cmds, boolean byNaturalKey) {
+        List<AttendanceRecord> valid = new ArrayList<>(cmds.size());
+        List<Integer> validIndexes = new ArrayList<>(cmds.size());
+        List<BatchResult.Failure> failures = new ArrayList<>();
+
+        int i = 0;
+        for (SaveAttendanceCommand cmd : cmds) {
+            try {
+                AttendanceRecord r = validate(cmd);
+                if (byNaturalKey) r = new AttendanceRecord(null, r.employeeId(), r.workDate(), r.clockIn(), r.clockOut(), r.memo());
+                if (!employees.contains(cmd.employeeId())) throw new IllegalArgumentException("존재하지 않는 사번입니다: " + cmd.employeeId());
+                checkNotArchived(r);
+                if (r.id() != null) checkOriginalEditable(r.id());
+                valid.add(r);
+                validIndexes.add(i);
+            } catch (IllegalArgumentException ex) {
+                failures.add(new BatchResult.Failure(i, ex.getMessage()));
+            }
+            i++;
+        }
+        if (enforceNoOverlap) rejectOverlaps(valid, validIndexes, failures, byNaturalKey);
+        return new Checked(valid, validIndexes, failures);
+    }
+
+    /**
+     * 일괄 저장의 겹침 검사(strict 모드): 사번마다 (가장 이른 날-1 ~ 가장 늦은 날+1) 기존 기록을 한 번 읽고,
+     * 통과한 행과 함께 스윕해 모든 겹침을 찾는다. 행마다 이웃을 조회하지 않는다.
+     * 입력 순서대로 받아들이며, 기존 기록이나 앞서 받아들인 행과 겹치는 행은 실패로 옮긴다.
+     * 행이 대신할 기존 기록(같은 id, byNaturalKey면 같은 자연키)은 그 행과만 비교하지 않는다(행 단위 검사와 같은 기준).
+     */
+    private void rejectOverlaps(List<AttendanceRecord> valid, List<Integer> validIndexes,
+                                List<BatchResult.Failure> failures, boolean byNaturalKey) {
+        Map<Long, LocalDate[]> spans = new HashMap<>();
+        for (AttendanceRecord r : valid) {
+            if (!OverlapDetector.timed(r)) continue;
+            LocalDate[] span = spans.computeIfAbsent(r.employeeId(), e -> new LocalDate[]{r.workDate(), r.workDate()});
+            if (r.workDate().isBefore(span[0])) span[0] = r.workDate();
+            if (r.workDate().isAfter(span[1])) span[1] = r.workDate();
+        }
+        if (spans.isEmpty()) return;
+
+        List<AttendanceRecord> rows = new ArrayList<>();
+        for (Map.Entry<Long, LocalDate[]> e : spans.entrySet()) {
+            LocalDate[] span = e.getValue();
+            rows.addAll(repo.findByEmployeeAndRange(e.getKey(), span[0].minusDays(1), span[1].plusDays(1)));
+        }
+        int base = rows.size(); // rows[base + k] = valid[k]
+        rows.addAll(valid);
+
+        AttendanceRecord[] blockedBy = new AttendanceRecord[valid.size()]; // 겹치는 기존 기록
+        Map<Integer, List<Integer>> earlier = new HashMap<>(); // k → 겹치는 앞선 입력
+        OverlapDetector.sweep(rows, (i, j) -> {
+            if (i < base && j < base) return;
+            AttendanceRecord x = rows.get(Math.min(i, j)), y = rows.get(Math.max(i, j));
+            Object key = identity(x, byNaturalKey);
+            if (key != null && key.equals(identity(y, byNaturalKey))) return; // 자기 자신(수정 대상) 또는 같은 기록을 두 번 저장
+            if (i < base || j < base) {
+                int k = Math.max(i, j) - base;
+                if (blockedBy[k] == null) blockedBy[k] = x;
+                return;
+            }
+            earlier.computeIfAbsent(Math.max(i, j) - base, z -> new ArrayList<>()).add(Math.min(i, j) - base);
+        });
+
+        boolean[] rejected = new boolean[valid.size()];
+        List<AttendanceRecord> kept = new ArrayList<>(valid.size());
+        List<Integer> keptIndexes = new ArrayList<>(valid.size());
+        for (int k = 0; k < valid.size(); k++) {
+            AttendanceRecord other = blockedBy[k];
+            String label = "기존";
+            if (other == null) {
+                for (int a : earlier.getOrDefault(k, List.of())) {
+                    if (!rejected[a]) {
+                        other = valid.get(a);
+                        label = "함께 저장하는 기록";
+                        break;
+                    }
+                }
+            }
+            if (other != null) {
+                rejected[k] = true;
+                failures.add(new BatchResult.Failure(validIndexes.get(k), overlapMessage(label, other)));
+            } else {
+                kept.add(valid.get(k));
+                keptIndexes.add(validIndexes.get(k));
+            }
+        }
+        valid.clear();
+        valid.addAll(kept);
+        validIndexes.clear();
+        validIndexes.addAll(keptIndexes);
+    }
+
+    // 저장이 대신하는 기존 기록을 가리키는 키: byNaturalKey면 자연키, 아니면 id(새 기록은 null)
+    // 출근 없는 기록은 자연키가 없어 다른 행을 대신하지 않는다(null)
+    private static Object identity(AttendanceRecord r, boolean byNaturalKey) {
+        if (byNaturalKey) return r.clockIn() == null ? null : List.of(r.employeeId(), r.workDate(), r.clockIn());
+        return r.id();
+    }
+
+    /** 커맨드 기본 검증 + 정규화(메모 trim) */
+    private static AttendanceRecord validate(SaveAttendanceCommand cmd) {
+        if (cmd == null) throw new IllegalArgumentException("근태 기록이 제공되지 않았습니다.");
+        if (cmd.employeeId() == 0) throw new IllegalArgumentException("사번이 올바르지 않습니다.");
+        if (cmd.workDate() == null) throw new IllegalArgumentException("날짜가 올바르지 않습니다.");
         if (cmd.clockIn() != null && cmd.clockOut() != null && cmd.clockOut().equals(cmd.clockIn())) {
             throw new IllegalArgumentException("출근·퇴근 시간이 동일할 수 없습니다.");
         }
 
-        AttendanceRecord r = new AttendanceRecord(
+        return new AttendanceRecord(
                 cmd.id(),
                 cmd.employeeId(),
                 cmd.workDate(),
@@ -45,38 +226,62 @@ public class AttendanceAppService implements AttendanceQueries {
                 cmd.clockOut(),
                 (cmd.memo() == null || cmd.memo().isBlank()) ? null : cmd.memo().trim()
         );
+    }
 
-        // 겹침 검사 (strict 모드일 때만)
-        if (r.clockIn() != null && r.clockOut() != null && enforceNoOverlap) {
-            LocalDate from = r.workDate().minusDays(1);
-            LocalDate to   = r.workDate().plusDays(1);
-            List<AttendanceRecord> around = repo.findByEmployeeAndRange(r.employeeId(), from, to);
-            for (AttendanceRecord ex : around) {
-                if (r.id() != null && r.id().equals(ex.id())) continue;
-                if (ex.clockIn() == null || ex.clockOut() == null) continue;
-                if (isOverlapped(r, ex)) {
-                    throw new IllegalArgumentException(
-                            "다른 근무 기록과 시간이 겹칩니다. (기존: "
-                                    + ex.workDate() + " " + ex.clockIn() + "~" + ex.clockOut() + ")"
-                    );
-                }
-            }
+    // 보관된 연도는 읽기 전용(보관 DB로 옮겨져 hot DB에 쓰면 어긋난다)
+    private void checkNotArchived(AttendanceRecord r) {
+        if (repo.archivedYears().contains(r.workDate().getYear())) {
+            throw new IllegalArgumentException("보관된 연도의 기록은 추가·수정할 수 없습니다: " + r.workDate());
+        }
+    }
+
+    // 수정·삭제 대상(원래 기록)도 보관된 연도가 아니어야 한다. 새 날짜만 보면 보관 기록을 다른 해로 옮기는 수정이 통과한다.
+    // 보관 DB로 옮겨진 기록은 hot DB 저장소에서 id로 찾을 수 없으므로 없는 기록과 같이 거부된다
+    private AttendanceRecord checkOriginalEditable(long id) {
+        AttendanceRecord original = repo.findById(id).orElseThrow(() ->
+                new IllegalArgumentException("기록을 찾을 수 없습니다(삭제되었거나 보관된 연도의 기록): " + id));
+        if (repo.archivedYears().contains(original.workDate().getYear())) {
+            throw new IllegalArgumentException("보관된 연도의 기록은 수정·삭제할 수 없습니다: " + original.workDate());
         }
-        return repo.save(r);
+        return original;
     }
 
-    private static boolean isOverlapped(AttendanceRecord a, AttendanceRecord b) {
-        Interval ia = toInterval(a.clockIn(), a.clockOut());
-        Interval ib = toInterval(b.clockIn(), b.clockOut());
-        return ia.start < ib.end && ib.start < ia.end;
+    // 겹침 검사 (strict 모드일 때만). byNaturalKey=true면 같은 자연키의 기존 기록은 자기 자신(업서트 대상)으로 본다
+    private void checkOverlap(AttendanceRecord r, boolean byNaturalKey) {
+        if (!OverlapDetector.timed(r) || !enforceNoOverlap) return;
+        LocalDate from = r.workDate().minusDays(1);
+        LocalDate to   = r.workDate().plusDays(1);
+        List<AttendanceRecord> around = new ArrayList<>();
+        Object self = identity(r, byNaturalKey);
+        for (AttendanceRecord ex : repo.findByEmployeeAndRange(r.employeeId(), from, to)) {
+            if (self == null || !self.equals(identity(ex, byNaturalKey))) around.add(ex);
+        }
+        List<AttendanceRecord> conflicts = OverlapDetector.conflictsWith(r, around);
+        if (!conflicts.isEmpty()) throw new IllegalArgumentException(overlapMessage("기존", conflicts.getFirst()));
+    }
+
+    private static String overlapMessage(String label, AttendanceRecord other) {
+        return "다른 근무 기록과 시간이 겹칩니다. (" + label + ": "
+                + other.workDate() + " " + other.clockIn() + "~" + other.clockOut() + ")";
     }
-    private static Interval toInterval(java.time.LocalTime in, java.time.LocalTime out) {
-        int start = in.getHour() * 60 + in.getMinute();
-        int end   = out.getHour() * 60 + out.getMinute();
-        if (end <= start) end += 24 * 60;
-        return new Interval(start, end);
+
+    /**
+     * 기간 안의 모든 겹침(사번, 시작 순). 전날 야간 근무가 기간 첫날로 넘어온 경우도 포함한다.
+     * 기간을 한 번 읽어 스윕하므로 기록 수에 대해 O(n log n).
+     */
+    public List<OverlapDetector.Conflict> conflicts(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<AttendanceRecord> rows;
+        try (Stream<AttendanceRecord> s = repo.streamByRange(from.minusDays(1), to)) {
+            rows = s.toList();
+        }
+        List<OverlapDetector.Conflict> out = new ArrayList<>();
+        for (OverlapDetector.Conflict c : OverlapDetector.findAll(rows)) {
+            // 둘 다 전날 기록이면 기간 밖의 겹침
+            if (!c.first().workDate().isBefore(from) || !c.second().workDate().isBefore(from)) out.add(c);
+        }
+        return out;
     }
-    private record Interval(int start, int end) {}
 
     // ===== 조회/삭제 =====
     public Optional<AttendanceRecord> find(long id) { return repo.findById(id); }
@@ -85,8 +290,68 @@ public class AttendanceAppService implements AttendanceQueries {
     @Override public List<AttendanceRecord> byEmpRange(long empId, LocalDate from, LocalDate to) {
         return repo.findByEmployeeAndRange(empId, from, to);
     }
+    @Override public Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to) {
+        return repo.streamByRange(from, to);
+    }
+    @Override public List<AttendanceRecord> page(LocalDate from, LocalDate to, PageKey after, int limit) {
+        checkRange(from, to);
+        return repo.findPage(from, to, after, limit);
+    }
+    /** 메모·직원 이름 키워드 검색. range가 null이면 전체 기간 */
+    public List<AttendanceRecord> search(String query, DateRange range) {
+        if (query == null || query.isBlank()) throw new IllegalArgumentException("검색어를 입력하세요.");
+        return repo.searchRecords(query.trim(), range == null ? DateRange.all() : range);
+    }
     public List<AttendanceRecord> byEmpDate(long empId, LocalDate date) {
         return repo.findByEmployeeAndRange(empId, date, date);
     }
-    public boolean remove(long id) { return repo.deleteById(id); }
+    /** 한 건 삭제. 없는 기록이나 보관된 연도의 기록은 예외 */
+    public boolean remove(long id) {
+        checkOriginalEditable(id);
+        return repo.deleteById(id);
+    }
+    /** 일괄 삭제(한 트랜잭션). null id는 무시. 반환: 삭제된 행 수 */
+    public int removeAll(Collection<Long> ids) {
+        if (ids == null) throw new IllegalArgumentException("삭제할 ID 목록이 없습니다.");
+        List<Long> valid = new ArrayList<>(ids.size());
+        for (Long id : ids) if (id != null) valid.add(id);
+        return repo.deleteByIds(valid);
+    }
+
+    // ===== 집계 =====
+    @Override public Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return repo.minutesByEmployee(from, to);
+    }
+    @Override public Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long empId) {
+        checkRange(from, to);
+        return repo.minutesByDate(from, to, empId);
+    }
+    public int rebuildAggregates() { return repo.rebuildAggregates(); }
+    public Map<String, Integer> verifyAggregates() { return repo.verifyAggregates(); }
+
+    // ===== 연도별 보관 =====
+    /** 마감된(올해 이전) 연도를 보관 DB로 옮긴다. 반환: 옮긴 행 수 */
+    public int archiveYear(int year) {
+        if (year >= LocalDate.now().getYear()) {
+            throw new IllegalArgumentException("마감되지 않은 연도는 보관할 수 없습니다: " + year);
+        }
+        return repo.archiveYear(year);
+    }
+    public List<Integer> archivedYears() { return repo.archivedYears(); }
+
+    // ===== 변경 기록 =====
+    /** seq 이후 근태 변경(증분 갱신용). 음수는 처음부터로 본다 */
+    public ChangeBatch changesSince(long seq) { return repo.changesSince(Math.max(0, seq)); }
+    public long lastChangeSeq() { return repo.lastChangeSeq(); }
+    /** 최근 keep건만 남기고 오래된 변경 기록 정리 */
+    public int pruneChanges(int keep) {
+        if (keep < 1) throw new IllegalArgumentException("남길 변경 기록 수는 1 이상이어야 합니다: " + keep);
+        return repo.pruneChanges(keep);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new IllegalArgumentException("조회 기간이 필요합니다.");
+        if (from.isAfter(to)) throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+    }
 }
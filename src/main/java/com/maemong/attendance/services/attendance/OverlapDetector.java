@@ -0,0 +1,118 @@
+package com.maemong.attendance.services.attendance;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * 근무 구간 겹침 검출(스윕 라인).
+ * - 기록마다 근무일 기준 절대 분 구간 [근무일×1440 + 출근, 근무일×1440 + 퇴근)을 만든다.
+ *   퇴근이 출근보다 이르거나 같으면 다음날 퇴근(+24h)이므로, 전날 야간 근무와 오늘 새벽 근무도 바로 비교된다.
+ * - 사번별로 시작 순 정렬한 뒤 한 번 훑는다. 진행 중인 구간을 끝 시각 최소 힙에 두고,
+ *   새 구간의 시작 전에 끝난 것을 빼면 남은 것이 모두 겹치는 상대다.
+ * 비용: 정렬 O(n log n) + 겹침 쌍 수. 출근/퇴근이 없는 기록은 건너뛴다.
+ */
+public final class OverlapDetector {
+    private static final int DAY_MINUTES = 24 * 60;
+
+    private OverlapDetector() {}
+
+    /** 겹치는 두 기록(first가 먼저 시작) */
+    public record Conflict(AttendanceRecord first, AttendanceRecord second) {
+        /** 겹친 시간(분) */
+        public int overlapMinutes() {
+            return (int) (Math.min(end(first), end(second)) - Math.max(start(first), start(second)));
+        }
+    }
+
+    /** 스윕 결과: rows 안의 두 위치(i가 먼저 시작, 같으면 입력 순) */
+    @FunctionalInterface
+    public interface PairSink {
+        void accept(int i, int j);
+    }
+
+    /** 기록 묶음 안의 모든 겹침(사번, 시작 순) */
+    public static List<Conflict> findAll(List<AttendanceRecord> rows) {
+        List<Conflict> out = new ArrayList<>();
+        sweep(rows, (i, j) -> out.add(new Conflict(rows.get(i), rows.get(j))));
+        out.sort(Comparator.<Conflict>comparingLong(c -> c.first().employeeId())
+                .thenComparingLong(c -> start(c.first()))
+                .thenComparingLong(c -> start(c.second())));
+        return out;
+    }
+
+    /** r과 겹치는 기존 기록(시작 순). 자기 자신 제외는 호출자가 걸러서 넘긴다 */
+    public static List<AttendanceRecord> conflictsWith(AttendanceRecord r, Collection<AttendanceRecord> existing) {
+        List<AttendanceRecord> out = new ArrayList<>();
+        if (!timed(r)) return out;
+        long s = start(r), e = end(r);
+        for (AttendanceRecord ex : existing) {
+            if (timed(ex) && ex.employeeId() == r.employeeId() && s < end(ex) && start(ex) < e) out.add(ex);
+        }
+        out.sort(Comparator.comparingLong(OverlapDetector::start));
+        return out;
+    }
+
+    /** rows 안에서 같은 사번끼리 겹치는 모든 쌍을 sink로 */
+    public static void sweep(List<AttendanceRecord> rows, PairSink sink) {
+        int size = rows.size();
+        long[] start = new long[size];
+        long[] end = new long[size];
+        long minStart = Long.MAX_VALUE;
+        // 사번별 위치 목록(사번 순서는 상관없다: 다른 사번끼리는 비교하지 않는다)
+        Map<Long, int[]> byEmp = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            AttendanceRecord r = rows.get(i);
+            if (!timed(r)) continue;
+            start[i] = start(r);
+            end[i] = end(r);
+            minStart = Math.min(minStart, start[i]);
+            int[] list = byEmp.get(r.employeeId());
+            if (list == null) byEmp.put(r.employeeId(), list = new int[]{0, 0, 0, 0, 0, 0, 0, 0});
+            else if (list[0] + 1 == list.length) byEmp.put(r.employeeId(), list = Arrays.copyOf(list, list.length * 2));
+            list[++list[0]] = i; // [0] = 개수
+        }
+
+        // 사번 안에서 (시작, 입력 순) 정렬: 시작 오프셋을 상위 32비트, 위치를 하위 32비트에 담아 long 정렬
+        PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.comparingLong(i -> end[i]));
+        long[] keys = new long[0];
+        for (int[] list : byEmp.values()) {
+            int n = list[0];
+            if (keys.length < n) keys = new long[Math.max(n, keys.length * 2)];
+            for (int k = 0; k < n; k++) {
+                int i = list[k + 1];
+                keys[k] = ((start[i] - minStart) << 32) | i;
+            }
+            Arrays.sort(keys, 0, n);
+            active.clear();
+            for (int k = 0; k < n; k++) {
+                int j = (int) keys[k];
+                while (!active.isEmpty() && end[active.peek()] <= start[j]) active.poll();
+                for (int i : active) sink.accept(i, j);
+                active.add(j);
+            }
+        }
+    }
+
+    /** 출근·퇴근이 모두 있어 구간을 만들 수 있는 기록인가 */
+    public static boolean timed(AttendanceRecord r) {
+        return r.clockIn() != null && r.clockOut() != null;
+    }
+
+    /** 절대 시작 분(근무일 기준) */
+    static long start(AttendanceRecord r) {
+        return r.workDate().toEpochDay() * DAY_MINUTES + minute(r.clockIn());
+    }
+
+    /** 절대 끝 분: 퇴근이 출근 이하이면 다음날 퇴근 */
+    static long end(AttendanceRecord r) {
+        int in = minute(r.clockIn()), out = minute(r.clockOut());
+        if (out <= in) out += DAY_MINUTES;
+        return r.workDate().toEpochDay() * DAY_MINUTES + out;
+    }
+
+    private static int minute(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+}
@@ -1,15 +1,30 @@
 package com.maemong.attendance.services.attendance.queries;
 
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.PageKey;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface AttendanceQueries {
     List<AttendanceRecord> byDate(LocalDate d);
     List<AttendanceRecord> byMonth(YearMonth ym);
     List<AttendanceRecord> byEmpRange(long empId, LocalDate from, LocalDate to);
 
+    /** 기간 전체를 커서로 순회(내보내기/집계용). 사용 후 반드시 close */
+    Stream<AttendanceRecord> streamByRange(LocalDate from, LocalDate to);
+
+    /** 기간 페이지 조회(키셋). after=null이면 첫 페이지 */
+    List<AttendanceRecord> page(LocalDate from, LocalDate to, PageKey after, int limit);
+
+    /** 기간 사번별 근무 분 합계(집계 테이블) */
+    Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to);
+
+    /** 기간 날짜별 근무 분 합계(집계 테이블). empId=null이면 전체 */
+    Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long empId);
+
     /** 하루 단위 조회(편의 헬퍼) */
     default List<AttendanceRecord> byEmpDate(long empId, LocalDate date) {
         return byEmpRange(empId, date, date);
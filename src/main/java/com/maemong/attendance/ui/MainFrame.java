@@ -1,6 +1,7 @@
 package com.maemong.attendance.ui;
 
 import com.maemong.attendance.bootstrap.Bootstrap;
+import com.maemong.attendance.ui.diagnostics.DiagnosticsDialog;
 import com.maemong.attendance.ui.panels.PanelAttendance;
 import com.maemong.attendance.ui.panels.PanelEmployees;
 import com.maemong.attendance.ui.panels.PanelRecords;
@@ -32,5 +33,8 @@ public class MainFrame extends JFrame {
 
 		setLayout(new BorderLayout());
 		add(tabs, BorderLayout.CENTER);
+
+		// 진단 창(저장소 호출 지표/연결 풀): Ctrl+Shift+D
+		DiagnosticsDialog.installShortcut(getRootPane(), boot);
 	}
 }
\ No newline at end of file
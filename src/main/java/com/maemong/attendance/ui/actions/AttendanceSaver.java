@@ -2,11 +2,11 @@ package com.maemong.attendance.ui.actions;
 
 import com.maemong.attendance.bootstrap.Bootstrap;
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.services.attendance.OverlapDetector;
 import com.maemong.attendance.ui.model.EmployeeItem;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 
 public final class AttendanceSaver {
@@ -51,16 +51,18 @@ public final class AttendanceSaver {
         }
 
         // 3) 겹침(Overlap) 검사
-        //    - 같은 사번, workDate의 기존 기록과 겹치는지 확인
-        //    - 또한 '전일(overnight) 기록이 오늘로 넘어온 경우'와도 충돌 체크
-        List<AttendanceRecord> neighbors = fetchNeighborRecords(emp.id, workDate);
-
-        List<AttendanceRecord> conflicts = new ArrayList<>();
-        for (AttendanceRecord ex : neighbors) {
-            if (overlaps(timeIn, timeOut, ex.clockIn(), ex.clockOut())) {
-                conflicts.add(ex);
-            }
-        }
+        //    - 같은 사번의 전일~익일 기록을 한 번에 읽어 절대 분 구간으로 비교
+        //    - 전일 야간 근무가 오늘로 넘어온 경우, 오늘 야간 근무가 내일 새벽 근무와 닿는 경우도 잡는다
+        AttendanceRecord record = new AttendanceRecord(
+                null,
+                emp.id,
+                workDate,
+                timeIn,
+                timeOut,
+                (memo == null || memo.isBlank()) ? null : memo.trim()
+        );
+        List<AttendanceRecord> conflicts = OverlapDetector.conflictsWith(record,
+                boot.attendance().byEmpRange(emp.id, workDate.minusDays(1), workDate.plusDays(1)));
 
         if (!conflicts.isEmpty()) {
             StringBuilder sb = new StringBuilder();
@@ -78,36 +80,10 @@ public final class AttendanceSaver {
         }
 
         // 4) 저장(upsert)
-        AttendanceRecord record = new AttendanceRecord(
-                null,
-                emp.id,
-                workDate,
-                timeIn,
-                timeOut,
-                (memo == null || memo.isBlank()) ? null : memo.trim()
-        );
         return boot.attendance().upsert(record);
     }
 
-    // ── 겹침 검사 유틸 ────────────────────────────────────────────
-    /**
-     * 자정 넘김을 분 단위 선형 구간으로 정규화하여 겹침 여부 판단
-     * in <= out:  [in, out)
-     * in >  out:  [in, out+24h)  (overnight)
-     */
-    static boolean overlaps(LocalTime aIn, LocalTime aOut, LocalTime bIn, LocalTime bOut) {
-        int a1 = toMinutes(aIn);
-        int a2 = toMinutes(aOut);
-        if (a2 <= a1) a2 += 24 * 60; // overnight
-
-        int b1 = toMinutes(bIn);
-        int b2 = toMinutes(bOut);
-        if (b2 <= b1) b2 += 24 * 60; // overnight
-
-        // 두 반열린구간 [a1,a2)와 [b1,b2)의 교집합 판정
-        return (a1 < b2) && (b1 < a2);
-    }
-
+    // ── 시간 표시 유틸 ────────────────────────────────────────────
     private static int toMinutes(LocalTime t) {
         return t.getHour() * 60 + t.getMinute();
     }
@@ -124,28 +100,4 @@ public final class AttendanceSaver {
         int h = minutes / 60, m = minutes % 60;
         return String.format("%02d:%02d", h, m);
     }
-
-    // ── 이웃(전일/당일) 기록 로딩 ─────────────────────────────────
-    private List<AttendanceRecord> fetchNeighborRecords(Long empId, LocalDate base) {
-        LocalDate prev = base.minusDays(1);
-
-        // ✅ Repository에 다음 시그니처가 있으면 사용하는 것을 권장:
-        // List<AttendanceRecord> listByEmployeeAndDate(long empId, LocalDate date);
-        // 없으면 범위조회 후 필터링(아래 Fallback)으로 구현
-
-        List<AttendanceRecord> result = new ArrayList<>();
-
-        try {
-            result.addAll(boot.attendance().byEmpDate(empId, base));
-            result.addAll(boot.attendance().byEmpDate(empId, prev));
-        } catch (Throwable noSuchMethod) {
-            // Fallback: 범위 조회 가능 시 사용 (예시)
-            // var all = boot.attendance().listByEmployee(empId); // 가정
-            // result = all.stream()
-            //        .filter(r -> r.workDate().equals(base) || r.workDate().equals(prev))
-            //        .toList();
-        }
-
-        return result;
-    }
 }
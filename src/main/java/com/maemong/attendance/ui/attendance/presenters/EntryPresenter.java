@@ -5,8 +5,11 @@ import com.maemong.attendance.domain.AttendanceRecord;
 import com.maemong.attendance.events.AppEvents;
 import com.maemong.attendance.services.AttendanceService;
 
+import javax.swing.SwingUtilities;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /** 출퇴근 등록 탭 Presenter: AttendanceService(포워더)만 사용 */
 public class EntryPresenter {
@@ -20,7 +23,29 @@ public class EntryPresenter {
 
     /** 저장 후 AppEvents.AttendanceSaved 발행 */
     public AttendanceRecord save(long empId, LocalDate date, LocalTime in, LocalTime out, String memo) {
-        AttendanceRecord toSave = new AttendanceRecord(
+        AttendanceRecord saved = svc.upsert(newRecord(empId, date, in, out, memo));
+        fireSaved(saved);
+        return saved;
+    }
+
+    /**
+     * 저장을 맡기고 바로 돌아온다(지연 쓰기 큐가 켜져 있으면 묶음 커밋). 검증 실패는 바로 예외.
+     * 저장이 끝나면 EDT에서 AttendanceSaved를 발행하고 future를 끝낸다(성공/실패 모두 이어 붙인 처리는 EDT에서 돈다).
+     */
+    public CompletableFuture<AttendanceRecord> saveAsync(long empId, LocalDate date, LocalTime in, LocalTime out, String memo) {
+        return svc.upsertAsync(newRecord(empId, date, in, out, memo))
+                .whenCompleteAsync((saved, err) -> {   // 실패도 EDT로 넘긴다(thenApplyAsync는 실패 시 실행기를 건너뜀)
+                    if (err == null) fireSaved(saved);
+                }, SwingUtilities::invokeLater);
+    }
+
+    /** 직원의 최근 기록(date 이전 days일) 조회. 결과는 EDT에서 */
+    public CompletableFuture<List<AttendanceRecord>> recentAsync(long empId, LocalDate date, int days) {
+        return boot.queries().byEmpRange(empId, date.minusDays(days), date.minusDays(1));
+    }
+
+    private static AttendanceRecord newRecord(long empId, LocalDate date, LocalTime in, LocalTime out, String memo) {
+        return new AttendanceRecord(
                 null,           // 신규
                 empId,
                 date,
@@ -28,10 +53,11 @@ public class EntryPresenter {
                 out,
                 (memo == null || memo.isBlank()) ? null : memo.trim()
         );
-        AttendanceRecord saved = svc.upsert(toSave);
+    }
+
+    private void fireSaved(AttendanceRecord saved) {
         boot.events().fireAttendanceSaved(
                 new AppEvents.AttendanceSavedEvent(saved.id(), saved.employeeId(), saved.workDate())
         );
-        return saved;
     }
 }
@@ -2,22 +2,59 @@ package com.maemong.attendance.ui.attendance.presenters;
 
 import com.maemong.attendance.bootstrap.Bootstrap;
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.ChangeBatch;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.services.AsyncQueries;
 import com.maemong.attendance.services.AttendanceService;
+import com.maemong.attendance.services.EmployeeService;
+import com.maemong.attendance.services.attendance.OverlapDetector;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
-/** 조회 탭 Presenter: AttendanceService(포워더)만 사용 */
+/**
+ * 조회 탭 Presenter: AttendanceService(포워더)만 사용.
+ * ...Async 메서드는 가상 스레드에서 조회하고 결과를 EDT에서 넘긴다(화면이 멈추지 않는다).
+ */
 public class RecordsPresenter {
     private final AttendanceService svc;
+    private final EmployeeService employees;
+    private final AsyncQueries async;
 
     public RecordsPresenter(Bootstrap boot) {
         this.svc = boot.attendance(); // 포워더 그대로
+        this.employees = boot.employees();
+        this.async = boot.queries();
     }
 
     public List<AttendanceRecord> byMonth(YearMonth ym) { return svc.byMonth(ym); }
     public List<AttendanceRecord> byDate(LocalDate d) { return svc.byDate(d); }
     public List<AttendanceRecord> byEmpRange(long empId, LocalDate from, LocalDate to) { return svc.byEmpRange(empId, from, to); }
+    public List<AttendanceRecord> search(String query, DateRange range) { return svc.search(query, range); }
+    public Map<Long, Integer> minutesByEmployee(LocalDate from, LocalDate to) { return svc.minutesByEmployee(from, to); }
+    public Map<LocalDate, Integer> minutesByDate(LocalDate from, LocalDate to, Long empId) { return svc.minutesByDate(from, to, empId); }
+    public List<OverlapDetector.Conflict> conflicts(YearMonth ym) { return svc.conflicts(ym); }
     public boolean remove(long id) { return svc.remove(id); }
+    public int removeAll(Collection<Long> ids) { return svc.removeAll(ids); }
+
+    // 비동기(결과는 EDT에서)
+    /** work를 가상 스레드에서 돌린다(Swing 접근 금지). 이어 붙인 처리는 EDT에서 */
+    public <T> CompletableFuture<T> async(Supplier<T> work) { return async.call(work); }
+    public CompletableFuture<List<AttendanceRecord>> pageAsync(LocalDate from, LocalDate to, PageKey after, int limit) { return async.page(from, to, after, limit); }
+    public CompletableFuture<List<AttendanceRecord>> searchAsync(String query, DateRange range) { return async.search(query, range); }
+    public CompletableFuture<Map<Long, Integer>> minutesByEmployeeAsync(LocalDate from, LocalDate to) { return async.minutesByEmployee(from, to); }
+    public CompletableFuture<Map<LocalDate, Integer>> minutesByDateAsync(LocalDate from, LocalDate to, Long empId) { return async.minutesByDate(from, to, empId); }
+    public CompletableFuture<List<OverlapDetector.Conflict>> conflictsAsync(YearMonth ym) { return async.conflicts(ym); }
+    public CompletableFuture<Map<Long, String>> namesAsync() { return async.names(); }
+
+    // 변경 기록(증분 갱신)
+    public long lastChangeSeq() { return svc.lastChangeSeq(); }
+    public ChangeBatch attendanceChangesSince(long seq) { return svc.changesSince(seq); }
+    public ChangeBatch employeeChangesSince(long seq) { return employees.changesSince(seq); }
 }
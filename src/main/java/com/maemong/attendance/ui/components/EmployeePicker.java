@@ -1,14 +1,14 @@
 package com.maemong.attendance.ui.components;
 
 import com.maemong.attendance.bootstrap.Bootstrap;
-import com.maemong.attendance.domain.Employee;
 import com.maemong.attendance.ui.model.EmployeeItem;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public final class EmployeePicker extends JPanel {
     private final Bootstrap boot;
@@ -16,6 +16,7 @@ public final class EmployeePicker extends JPanel {
     private final JTextField tfSearch = new JTextField();
     private final DefaultComboBoxModel<EmployeeItem> model = new DefaultComboBoxModel<>();
     private final JComboBox<EmployeeItem> combo = new JComboBox<>(model);
+    private CompletableFuture<Map<Long, String>> pending; // 진행 중인 이름 조회(EDT에서만 접근)
 
     public EmployeePicker(Bootstrap boot) {
         super(new GridBagLayout());
@@ -57,13 +58,20 @@ public final class EmployeePicker extends JPanel {
         });
     }
 
+    // 조회는 가상 스레드에서, 목록 교체는 EDT에서. 입력이 이어지면 앞 조회는 취소해 마지막 입력의 결과만 반영한다
     private void reload(String q) {
-        model.removeAllElements();
-        List<Employee> list = (q == null || q.isBlank())
-                ? boot.employees().list()
-                : boot.employees().searchByName(q);
-        for (Employee e : list) model.addElement(new EmployeeItem(e.id(), e.name()));
-        if (model.getSize() > 0) combo.setSelectedIndex(0);
+        if (pending != null) pending.cancel(true);
+        CompletableFuture<Map<Long, String>> f = (q == null || q.isBlank())
+                ? boot.queries().names()
+                : boot.queries().searchNames(q);
+        pending = f;
+        f.whenComplete((names, err) -> {
+            if (pending == f) pending = null;
+            if (err != null) return; // 취소/오류: 이전 목록 유지
+            model.removeAllElements();
+            names.forEach((id, name) -> model.addElement(new EmployeeItem(id, name)));
+            if (model.getSize() > 0) combo.setSelectedIndex(0);
+        });
     }
 
     public EmployeeItem getSelected() {
@@ -0,0 +1,142 @@
+package com.maemong.attendance.ui.diagnostics;
+
+import com.maemong.attendance.bootstrap.Bootstrap;
+import com.maemong.attendance.db.ConnectionPool;
+import com.maemong.attendance.metrics.MethodMetrics;
+import com.maemong.attendance.metrics.MetricsRegistry;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 진단 창(Ctrl+Shift+D): 저장소 메서드별 호출/지연/행 수와 연결 풀 지표를 1초마다 갱신해 보여준다.
+ * "파일로 저장"은 같은 내용을 데이터 폴더의 diagnostics/에 텍스트로 떨군다.
+ */
+public final class DiagnosticsDialog {
+    private DiagnosticsDialog() {}
+
+    private static final int REFRESH_MS = 1000;
+
+    public static void open(Component parent, Bootstrap boot) {
+        MetricsRegistry registry = boot.metrics();
+        MetricsModel model = new MetricsModel();
+
+        JDialog dlg = new JDialog(SwingUtilities.getWindowAncestor(parent), "진단 정보", Dialog.ModalityType.MODELESS);
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.setAutoCreateRowSorter(true);
+        table.getColumnModel().getColumn(0).setPreferredWidth(260);
+
+        JTextArea pools = new JTextArea(4, 80);
+        pools.setEditable(false);
+        pools.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JLabel lbStatus = new JLabel(boot.metricsEnabled() ? " " : "계측이 꺼져 있습니다 (metrics.enabled=false)");
+        JButton btReset = new JButton("초기화");
+        JButton btDump = new JButton("파일로 저장");
+        JButton btClose = new JButton("닫기");
+
+        Runnable refresh = () -> {
+            model.set(registry.snapshot());
+            StringBuilder sb = new StringBuilder();
+            for (ConnectionPool.Stats s : boot.connections().stats()) sb.append(s.summary()).append('\n');
+            pools.setText(sb.toString());
+        };
+        Timer timer = new Timer(REFRESH_MS, e -> refresh.run());
+
+        btReset.addActionListener(e -> {
+            registry.reset();
+            refresh.run();
+        });
+        btDump.addActionListener(e -> {
+            try {
+                Path file = registry.dumpTo(boot.config().dataDir().resolve("diagnostics"));
+                lbStatus.setText("저장됨: " + file);
+            } catch (Exception ex) {
+                JOptionPane.showMessageDialog(dlg, "저장 실패: " + ex.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        btClose.addActionListener(e -> dlg.dispose());
+
+        JPanel poolPanel = new JPanel(new BorderLayout());
+        poolPanel.setBorder(BorderFactory.createTitledBorder("연결 풀"));
+        poolPanel.add(new JScrollPane(pools), BorderLayout.CENTER);
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 6));
+        buttons.add(btReset);
+        buttons.add(btDump);
+        buttons.add(btClose);
+        JPanel bottom = new JPanel(new BorderLayout());
+        bottom.add(poolPanel, BorderLayout.NORTH);
+        bottom.add(lbStatus, BorderLayout.WEST);
+        bottom.add(buttons, BorderLayout.EAST);
+
+        dlg.setLayout(new BorderLayout(6, 6));
+        dlg.add(new JScrollPane(table), BorderLayout.CENTER);
+        dlg.add(bottom, BorderLayout.SOUTH);
+        dlg.getRootPane().registerKeyboardAction(e -> dlg.dispose(),
+                KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0),
+                JComponent.WHEN_IN_FOCUSED_WINDOW);
+        dlg.addWindowListener(new WindowAdapter() {
+            @Override public void windowClosed(WindowEvent e) { timer.stop(); }
+        });
+        dlg.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dlg.setSize(980, 520);
+        dlg.setLocationRelativeTo(parent);
+
+        refresh.run();
+        timer.start();
+        dlg.setVisible(true);
+    }
+
+    /** 메인 창에 Ctrl+Shift+D 단축키 설치 */
+    public static void installShortcut(JRootPane root, Bootstrap boot) {
+        root.registerKeyboardAction(e -> open(root, boot),
+                KeyStroke.getKeyStroke(KeyEvent.VK_D, KeyEvent.CTRL_DOWN_MASK | KeyEvent.SHIFT_DOWN_MASK),
+                JComponent.WHEN_IN_FOCUSED_WINDOW);
+    }
+
+    private static final class MetricsModel extends AbstractTableModel {
+        private static final String[] COLS = {"메서드", "호출", "오류", "행/호출", "평균 ms", "p50 ms", "p95 ms", "p99 ms", "최대 ms"};
+        private List<MethodMetrics.Snapshot> rows = List.of();
+
+        void set(List<MethodMetrics.Snapshot> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override public int getRowCount() { return rows.size(); }
+        @Override public int getColumnCount() { return COLS.length; }
+        @Override public String getColumnName(int c) { return COLS[c]; }
+        @Override public Class<?> getColumnClass(int c) {
+            return switch (c) {
+                case 0 -> String.class;
+                case 1, 2 -> Long.class;
+                default -> Double.class;
+            };
+        }
+
+        @Override public Object getValueAt(int r, int c) {
+            MethodMetrics.Snapshot s = rows.get(r);
+            return switch (c) {
+                case 0 -> s.name();
+                case 1 -> s.calls();
+                case 2 -> s.errors();
+                case 3 -> round(s.rowsPerCall());
+                case 4 -> round(s.avgMillis());
+                case 5 -> round(s.percentileMillis(50));
+                case 6 -> round(s.percentileMillis(95));
+                case 7 -> round(s.percentileMillis(99));
+                default -> round(s.maxMillis());
+            };
+        }
+
+        private static double round(double v) { return Math.round(v * 100) / 100.0; }
+    }
+}
@@ -1,5 +1,6 @@
 package com.maemong.attendance.ui.export;
 
+import com.maemong.attendance.ui.records.RecordsTableModel;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.*;
 
@@ -9,6 +10,7 @@ import java.awt.Color;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
 
 public final class XlsxExporter {
@@ -16,7 +18,7 @@ public final class XlsxExporter {
     private XlsxExporter() {}
 
     public static void exportFile(Component parent,
-                                  javax.swing.table.DefaultTableModel model,
+                                  RecordsTableModel model,
                                   Map<Long, Set<LocalDate>> multiKeys) {
         if (model.getRowCount() == 0) {
             JOptionPane.showMessageDialog(parent, "내보낼 데이터가 없습니다.");
@@ -68,24 +70,21 @@ public final class XlsxExporter {
             int r = 1;
             for (int i = 0; i < model.getRowCount(); i++) {
                 Row row = sh.createRow(r++);
-                Object dateObjM = model.getValueAt(i, 1);
-                Object empObjM  = model.getValueAt(i, 2);
-                boolean isMulti = false;
-                if (dateObjM instanceof LocalDate d && empObjM instanceof Number n) {
-                    Set<LocalDate> set = multiKeys.get(n.longValue());
-                    isMulti = set != null && set.contains(d);
-                }
+                Set<LocalDate> set = multiKeys.get(model.employeeId(i));
+                boolean isMulti = set != null && set.contains(model.date(i));
 
                 for (int c = 0; c < headers.length; c++) {
                     Cell cell = row.createCell(c);
                     Object val = model.getValueAt(i, c);
                     if (val == null) continue;
 
-                    if (c == 1 && val instanceof LocalDate ld) {
+                    if (val instanceof LocalDate ld) {
                         cell.setCellValue(java.sql.Date.valueOf(ld));
                         cell.setCellStyle(dateStyle);
-                    } else if ((c == 4 || c == 5) && val instanceof String s && !s.isBlank()) {
-                        putTimeCell(cell, s, timeStyle);
+                    } else if (val instanceof LocalTime t) {
+                        // Excel 시간 = 하루 중 비율
+                        cell.setCellValue((t.getHour() * 60 + t.getMinute()) / 1440.0);
+                        cell.setCellStyle(timeStyle);
                     } else if (val instanceof Number n) {
                         cell.setCellValue(n.doubleValue());
                     } else {
@@ -113,25 +112,4 @@ public final class XlsxExporter {
                     "오류", JOptionPane.ERROR_MESSAGE);
         }
     }
-
-    /** "HH:mm" 혹은 "H:m" 문자열을 Excel 시간 셀로 기록하고 스타일 적용 */
-    private static void putTimeCell(Cell cell, Object val, CellStyle timeStyle) {
-        if (val == null) return;
-        String s = String.valueOf(val).trim();
-        if (s.isEmpty()) return;
-        try {
-            java.time.LocalTime t;
-            if (s.matches("\\d{1,2}:\\d{1,2}")) {
-                String[] p = s.split(":");
-                t = java.time.LocalTime.of(Integer.parseInt(p[0]), Integer.parseInt(p[1]));
-            } else {
-                t = java.time.LocalTime.parse(s, java.time.format.DateTimeFormatter.ofPattern("HH:mm"));
-            }
-            double fraction = (t.getHour()*3600.0 + t.getMinute()*60.0 + t.getSecond()) / 86400.0;
-            cell.setCellValue(fraction);
-            cell.setCellStyle(timeStyle);
-        } catch (Exception e) {
-            cell.setCellValue(s); // 파싱 실패 시 텍스트로 보관
-        }
-    }
 }
\ No newline at end of file
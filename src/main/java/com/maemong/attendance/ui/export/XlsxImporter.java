@@ -2,6 +2,9 @@ package com.maemong.attendance.ui.export;
 
 import com.maemong.attendance.bootstrap.Bootstrap;
 import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.UpsertResult;
+import com.maemong.attendance.services.attendance.OverlapDetector;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
@@ -13,11 +16,13 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.List;
 
 public final class XlsxImporter {
 
     private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter ISO_TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int CHUNK_SIZE = 500; // 청크당 1회 커밋
 
     private XlsxImporter() {}
 
@@ -27,7 +32,11 @@ public final class XlsxImporter {
         if (fc.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return;
 
         File file = fc.getSelectedFile();
-        int ok = 0, fail = 0;
+        int fail = 0;
+        int[] counts = new int[3]; // 추가, 갱신, 변경 없음
+        // 가져온 사번·기간(가져온 뒤 겹침 점검 범위)
+        Set<Long> importedEmps = new HashSet<>();
+        LocalDate[] span = new LocalDate[2];
 
         try (FileInputStream fis = new FileInputStream(file);
              XSSFWorkbook wb = new XSSFWorkbook(fis)) {
@@ -50,6 +59,9 @@ public final class XlsxImporter {
                 return;
             }
 
+            // 행 파싱 → 청크 단위 자연키 업서트(청크당 1회 커밋). 같은 파일을 다시 가져와도 중복이 생기지 않는다
+            List<AttendanceRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<Integer> chunkRows = new ArrayList<>(CHUNK_SIZE); // 엑셀 행 번호(1부터)
             for (int r = sh.getFirstRowNum() + 1; r <= sh.getLastRowNum(); r++) {
                 Row row = sh.getRow(r);
                 if (row == null) continue;
@@ -66,21 +78,60 @@ public final class XlsxImporter {
                     LocalTime tout = readLocalTime(cellAt(row, cOut));
                     String memo = getCellString(cellAt(row, cMemo));
 
-                    AttendanceRecord rec = new AttendanceRecord(null, empId, date, tin, tout, memo);
-                    boot.attendance().upsert(rec);
-                    ok++;
+                    chunk.add(new AttendanceRecord(null, empId, date, tin, tout, memo));
+                    chunkRows.add(r + 1);
+                    importedEmps.add(empId);
+                    if (span[0] == null || date.isBefore(span[0])) span[0] = date;
+                    if (span[1] == null || date.isAfter(span[1])) span[1] = date;
                 } catch (Exception ex) {
                     fail++;
                     System.err.println("row " + (r + 1) + ": " + ex.getMessage());
                 }
+
+                if (chunk.size() >= CHUNK_SIZE) {
+                    fail += flush(boot, chunk, chunkRows, counts);
+                }
             }
+            fail += flush(boot, chunk, chunkRows, counts);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(parent, "가져오기 실패: " + ex.getMessage(),
                     "오류", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        JOptionPane.showMessageDialog(parent, "가져오기 완료: 성공 " + ok + "건, 실패 " + fail + "건");
+        String msg = "가져오기 완료: 추가 " + counts[0] + "건, 갱신 " + counts[1]
+                + "건, 변경 없음 " + counts[2] + "건, 실패 " + fail + "건";
+        int overlaps = countOverlaps(boot, importedEmps, span);
+        if (overlaps > 0) msg += "\n시간이 겹치는 기록 " + overlaps + "건이 있습니다. (조회 탭 '겹침 점검'에서 확인)";
+        JOptionPane.showMessageDialog(parent, msg);
+    }
+
+    // 가져온 기간을 한 번 스윕해 가져온 사번의 겹침 쌍 수를 센다(기존 기록과의 겹침 포함)
+    private static int countOverlaps(Bootstrap boot, Set<Long> emps, LocalDate[] span) {
+        if (emps.isEmpty()) return 0;
+        int n = 0;
+        for (OverlapDetector.Conflict c : boot.attendance().conflicts(span[0], span[1])) {
+            if (emps.contains(c.first().employeeId())) n++;
+        }
+        return n;
+    }
+
+    /**
+     * 모아둔 청크를 한 번에 업서트하고 {추가, 갱신, 변경 없음}을 counts에 더한다. 반환: 실패 건수.
+     * 저장 후 청크는 비운다.
+     */
+    private static int flush(Bootstrap boot, List<AttendanceRecord> chunk, List<Integer> chunkRows, int[] counts) {
+        if (chunk.isEmpty()) return 0;
+        UpsertResult result = boot.attendance().upsertAll(chunk);
+        for (BatchResult.Failure f : result.failures()) {
+            System.err.println("row " + chunkRows.get(f.index()) + ": " + f.message());
+        }
+        counts[0] += result.inserted();
+        counts[1] += result.updated();
+        counts[2] += result.unchanged();
+        chunk.clear();
+        chunkRows.clear();
+        return result.failCount();
     }
 
     // ===== 내부 유틸 =====
@@ -17,6 +17,9 @@ import java.awt.event.FocusEvent;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class PanelAttendance extends JPanel {
 
@@ -41,6 +44,7 @@ public class PanelAttendance extends JPanel {
 
     private final EntryPresenter presenter;
     private final AttendanceSaver saver;
+    private CompletableFuture<List<AttendanceRecord>> pendingSuggest; // 진행 중인 출근 제안 조회(EDT에서만 접근)
 
     public PanelAttendance(Bootstrap boot) {
         this.boot = boot;
@@ -152,8 +156,15 @@ public class PanelAttendance extends JPanel {
             String memo = taMemo.getText().isBlank() ? null : taMemo.getText().trim(); // 메모 UI가 있다면
 
             // ✅ Presenter 경유로 저장 & 이벤트 발행까지 일원화
-            var saved = presenter.save(emp.id, date, tin, tout, memo);
-            JOptionPane.showMessageDialog(this, "저장됨 id=" + saved.id());
+            // 지연 쓰기가 켜져 있으면 맡기기만 하고 바로 다음 입력을 받는다(결과는 끝나면 EDT에서 알림)
+            presenter.saveAsync(emp.id, date, tin, tout, memo).whenComplete((saved, err) -> {
+                if (err == null) {
+                    JOptionPane.showMessageDialog(this, "저장됨 id=" + saved.id());
+                } else {
+                    Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                    JOptionPane.showMessageDialog(this, cause.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+                }
+            });
 
             if (!chkKeepAfterSave.isSelected()) {
                 resetForm();
@@ -198,15 +209,20 @@ public class PanelAttendance extends JPanel {
     }
 
     // ── “어제 퇴근 → 오늘 출근” 자동 제안 ──
+    // 최근 기록은 비동기로 읽고, 결과가 왔을 때 직원/날짜가 그대로일 때만 반영한다
     private void suggestRecentIn() {
         var emp = employeePicker.getSelected();
         var date = datePicker.getDate();
         if (emp == null || emp.id == null || date == null) return;
 
-        try {
-            var from = date.minusDays(7);
-            var list = boot.attendance().byEmpRange(emp.id, from, date.minusDays(1));
-            if (list == null || list.isEmpty()) return;
+        if (pendingSuggest != null) pendingSuggest.cancel(true);
+        CompletableFuture<List<AttendanceRecord>> f = presenter.recentAsync(emp.id, date, 7);
+        pendingSuggest = f;
+        f.whenComplete((list, err) -> {
+            if (pendingSuggest == f) pendingSuggest = null;
+            if (err != null || list == null || list.isEmpty()) return; // 조용히 무시
+            var nowEmp = employeePicker.getSelected();
+            if (nowEmp == null || !emp.id.equals(nowEmp.id) || !date.equals(datePicker.getDate())) return;
 
             AttendanceRecord last = list.stream()
                     .filter(r -> r.clockIn() != null && r.clockOut() != null)
@@ -220,8 +236,6 @@ public class PanelAttendance extends JPanel {
                 timeRange.setIn(suggestIn);
                 lblDuration.setToolTipText("어제 퇴근 " + suggestIn + " 기준으로 출근 시간이 제안되었습니다.");
             }
-        } catch (Exception ignore) {
-            // 조용히 무시
-        }
+        });
     }
 }
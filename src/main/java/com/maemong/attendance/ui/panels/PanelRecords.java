@@ -2,10 +2,10 @@ package com.maemong.attendance.ui.panels;
 
 import com.maemong.attendance.bootstrap.Bootstrap;
 import com.maemong.attendance.domain.AttendanceRecord;
-import com.maemong.attendance.domain.Employee;
+import com.maemong.attendance.domain.Change;
+import com.maemong.attendance.domain.ChangeBatch;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
@@ -13,10 +13,11 @@ import java.awt.Color;
 import java.awt.event.*;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.maemong.attendance.events.AppEvents;
 import com.maemong.attendance.ui.attendance.presenters.RecordsPresenter;
@@ -28,12 +29,17 @@ public class PanelRecords extends JPanel {
     private final Bootstrap boot;
     // 같은 날 다중 근무 키(사번+날짜) 모음. 이 키에 해당하는 행은 하이라이트.
     private final Map<Long, Set<LocalDate>> multiKeys = new HashMap<>();
-    private static final DateTimeFormatter ISO_TIME = DateTimeFormatter.ofPattern("HH:mm");
     private static final Color HOVER_BG = new Color(240, 240, 240);
 
     private final AppEvents.AttendanceSavedListener savedListener = this::onAttendanceSaved;
     private boolean subscribed = false; // add/removeNotify에서 중복구독 방지
 
+    // 변경 기록(change_log) 증분 확인: 마지막 조회 직전 seq 이후 변경 중 보이는 구간에 닿는 것이 있을 때만 재조회.
+    // 삭제/직원 수정/다른 창·프로세스의 저장처럼 이벤트가 없는 변경도 주기 확인으로 잡는다.
+    private static final int CHANGE_POLL_MS = 2000;
+    private final javax.swing.Timer changePoll = new javax.swing.Timer(CHANGE_POLL_MS, e -> checkChanges());
+    private long seenSeq = -1; // -1: 아직 조회 전
+
     // 컬럼 인덱스 상수 (모델 헤더: ID, 날짜, 사번, 이름, 출근, 퇴근, 메모)
     private static final int COL_EMP  = 2;
     private static final int COL_NAME = 3;
@@ -47,7 +53,18 @@ public class PanelRecords extends JPanel {
     private final JButton btnImport = new JButton("엑셀(XLSX) 가져오기");
     private final JButton btnExport = new JButton("엑셀(XLSX) 내보내기");
     private final JButton btnSummary = new JButton("요약 보기");
+    private final JButton btnBrowse = new JButton("기간 탐색");
+    private final JButton btnSearch = new JButton("전체 검색");
+    private final JButton btnConflicts = new JButton("겹침 점검");
     private final JLabel lbTotal = new JLabel("총 근무시간: 00:00");
+    private final JProgressBar busy = new JProgressBar(); // 불러오는 동안만 보이는 표시
+
+    // 조회는 가상 스레드에서 하고 결과를 EDT에서 한 번에 갈아 끼운다.
+    // 조회마다 세대 번호를 올리고 앞선 조회는 취소하며, 늦게 도착한 이전 세대 결과는 버린다(EDT에서만 접근).
+    private long generation;
+    private CompletableFuture<Loaded> loading;
+    private CompletableFuture<Changes> checking;
+    private int viewMinutes; // 조회 구간 총 근무 분(집계 테이블, 키워드 필터 없을 때 합계)
 
     private final RecordsPresenter presenter;
     private TableRowSorter<TableModel> sorter;
@@ -59,9 +76,11 @@ public class PanelRecords extends JPanel {
             boot.events().addAttendanceSavedListener(savedListener);
             subscribed = true;
         }
+        changePoll.start();
     }
 
     @Override public void removeNotify() {
+        changePoll.stop();
         try {
             if (subscribed) {
                 boot.events().removeAttendanceSavedListener(savedListener);
@@ -98,20 +117,8 @@ public class PanelRecords extends JPanel {
         return s;
     }
 
-    // 테이블
-    private final DefaultTableModel model = new DefaultTableModel(
-            new Object[]{"ID", "날짜", "사번", "이름", "출근", "퇴근", "메모"}, 0
-    ) {
-        @Override public boolean isCellEditable(int row, int column) { return false; }
-        @Override public Class<?> getColumnClass(int columnIndex) {
-            return switch (columnIndex) {
-                case 0, 2 -> Long.class;   // ID, 사번
-                case 1 -> LocalDate.class; // 날짜
-                case 4, 5 -> String.class; // 시간 문자열(가독성 위해)
-                default -> String.class;
-            };
-        }
-    };
+    // 테이블(컬럼별 배열 모델: 조회 결과를 한 번에 교체)
+    private final RecordsTableModel model = new RecordsTableModel();
 
     private final JTable table = new RecordsTable(model, multiKeys, HOVER_BG);
 
@@ -127,11 +134,52 @@ public class PanelRecords extends JPanel {
     }
 
     private void onAttendanceSaved(AppEvents.AttendanceSavedEvent e) {
-        // 필터에 맞는 경우만 리로드하고 싶다면 아래에서 조건 분기 가능
-        SwingUtilities.invokeLater(this::reloadRespectingFilters);
+        // 저장 이벤트는 바로 확인만 앞당긴다(보이는 구간과 무관한 저장이면 재조회하지 않음)
+        SwingUtilities.invokeLater(this::checkChanges);
+    }
+
+    private record Changes(ChangeBatch att, ChangeBatch emp) {}
+
+    // 마지막 조회 이후 변경 확인 → 보이는 구간에 닿으면 재조회, 아니면 seq만 전진.
+    // 확인도 백그라운드에서: 조회나 앞선 확인이 진행 중이면 건너뛴다(조회가 끝나면 최신 상태)
+    private void checkChanges() {
+        if (seenSeq < 0 || queryFrom == null || !isShowing()) return; // 숨은 탭은 보일 때 다음 확인에서 따라잡음
+        if (loading != null || checking != null) return;
+        long gen = generation, since = seenSeq;
+        CompletableFuture<Changes> f = presenter.async(() ->
+                new Changes(presenter.attendanceChangesSince(since), presenter.employeeChangesSince(since)));
+        checking = f;
+        f.whenComplete((c, err) -> {
+            checking = null;
+            if (err != null || gen != generation) return; // 일시적 DB 오류(잠김 등)는 다음 확인에서, 그 사이 새 조회면 그걸로 충분
+            if (c.att().reset() || c.att().hasMore() || c.emp().reset() || c.emp().hasMore()
+                    || touchesView(c.att().changes()) || affectsNames(c.emp().changes())) {
+                reloadRespectingFilters();
+                return;
+            }
+            // 두 조회 사이에 들어온 변경을 놓치지 않게 둘 중 작은 seq까지만 본 것으로 한다
+            seenSeq = Math.min(c.att().lastSeq(), c.emp().lastSeq());
+        });
+    }
+
+    // 현재 조회 구간(선택 월의 dayFrom~dayTo, 사번 필터)에 닿는 근태 변경이 있는지
+    private boolean touchesView(List<Change> changes) {
+        for (Change c : changes) {
+            if (!c.touches(queryFrom, queryTo)) continue;
+            if (queryEmpId != null && !c.touchesEmployee(queryEmpId)) continue;
+            return true;
+        }
+        return false;
+    }
+
+    // 직원 이름 변경/삭제는 이름 열에 보이므로 재조회(새 직원 추가는 기존 행과 무관)
+    private static boolean affectsNames(List<Change> changes) {
+        for (Change c : changes) {
+            if (c.op() != Change.Op.INSERT) return true;
+        }
+        return false;
     }
 
-    // PanelRecords 내부 어딘가(메서드들 사이)에 추가
     private void reloadRespectingFilters() {
         // 현재 QueryBar 상태(연/월, dayFrom~dayTo, 사번 필터 등)를 반영하는
         // doQuery()가 이미 모든 걸 처리하므로 그대로 호출
@@ -198,9 +246,7 @@ public class PanelRecords extends JPanel {
                 new RowSorter.SortKey(2, SortOrder.ASCENDING)   // 사번
         );
 
-        sorter = installTriStateSort(table, baseSortKeys);
-        sorter.setComparator(4, timeStringComparator); // 출근
-        sorter.setComparator(5, timeStringComparator); // 퇴근
+        sorter = installTriStateSort(table, baseSortKeys); // 출근/퇴근은 LocalTime 그대로 비교
 
         // 키워드 필터 동작 연결: 이름, 메모, 사번 컬럼
         recordFilter.attach(sorter, table, this::updateTotalHours, COL_NAME, COL_MEMO, COL_EMP);
@@ -220,90 +266,36 @@ public class PanelRecords extends JPanel {
         );
     }
 
-    private static final Comparator<String> timeStringComparator = (a, b) -> {
-        // 빈 값은 항상 뒤로
-        boolean ea = (a == null || a.isBlank());
-        boolean eb = (b == null || b.isBlank());
-        if (ea && eb) return 0;
-        if (ea) return 1;
-        if (eb) return -1;
-
-        // "H:m" / "HH:mm" 모두 허용
-        try {
-            String sa = a.trim();
-            String sb = b.trim();
-            LocalTime ta = sa.matches("\\d{1,2}:\\d{1,2}") ?
-                    LocalTime.of(Integer.parseInt(sa.split(":")[0]), Integer.parseInt(sa.split(":")[1])) :
-                    LocalTime.parse(sa, ISO_TIME);
-            LocalTime tb = sb.matches("\\d{1,2}:\\d{1,2}") ?
-                    LocalTime.of(Integer.parseInt(sb.split(":")[0]), Integer.parseInt(sb.split(":")[1])) :
-                    LocalTime.parse(sb, ISO_TIME);
-            return ta.compareTo(tb);
-        } catch (Exception ignore) {
-            // 파싱 실패 시 문자열 비교로 폴백
-            return a.compareTo(b);
-        }
-    };
-
     private void openEditorForRow(int mr) {
         // 모델 → AttendanceRecord로 변환
-        Long id = (Long) model.getValueAt(mr, 0);
-        LocalDate d = (LocalDate) model.getValueAt(mr, 1);
-        Long empId = (Long) model.getValueAt(mr, 2);
-        String in = (String) model.getValueAt(mr, 4);
-        String out = (String) model.getValueAt(mr, 5);
-        String memo = (String) model.getValueAt(mr, 6);
-
-        LocalTime tin  = (in  == null || in.isBlank())  ? null : LocalTime.parse(in);
-        LocalTime tout = (out == null || out.isBlank()) ? null : LocalTime.parse(out);
+        AttendanceRecord current = model.recordAt(mr);
 
-        AttendanceRecord current = new AttendanceRecord(id, empId, d, tin, tout, memo);
-
-        Map<Long, String> nameCache = buildNameCache();
-
-        EditorDialog.open(
-                this,
-                boot,
-                current,
-                nameCache,
-                this::doQuery // 저장/삭제 후 테이블 갱신
-        );
+        // 이름은 비동기로 읽고 EDT에서 편집 창을 연다
+        presenter.namesAsync().whenComplete((nameCache, err) -> {
+            if (err != null) {
+                showAsyncError(err);
+                return;
+            }
+            EditorDialog.open(
+                    this,
+                    boot,
+                    current,
+                    nameCache,
+                    this::doQuery // 저장/삭제 후 테이블 갱신
+            );
+        });
     }
 
-    // 월 데이터 기준 사번별 총 근무 분
-    private Map<Long, Integer> summarizeByEmployee() {
-        Map<Long, Integer> byEmp = new LinkedHashMap<>();
-        for (int i = 0; i < model.getRowCount(); i++) {
-            Long empId = (Long) model.getValueAt(i, 2);
-            String inStr  = (String) model.getValueAt(i, 4);
-            String outStr = (String) model.getValueAt(i, 5);
-            if (empId == null || inStr == null || outStr == null || inStr.isBlank() || outStr.isBlank()) continue;
-            try {
-                LocalTime in  = LocalTime.parse(inStr);
-                LocalTime out = LocalTime.parse(outStr);
-                int min = durationMinutes(in, out);
-                byEmp.merge(empId, min, Integer::sum);
-            } catch (Exception ignore) {}
-        }
-        return byEmp;
-    }
+    // 마지막 조회 조건(집계 조회용): 선택 월의 dayFrom~dayTo, 사번 필터
+    private LocalDate queryFrom;
+    private LocalDate queryTo;
+    private Long queryEmpId;
 
-    // 월 데이터 기준 날짜별 총 근무 분
-    private Map<LocalDate, Integer> summarizeByDate() {
-        Map<LocalDate, Integer> byDate = new LinkedHashMap<>();
-        for (int i = 0; i < model.getRowCount(); i++) {
-            LocalDate d = (LocalDate) model.getValueAt(i, 1);
-            String inStr  = (String) model.getValueAt(i, 4);
-            String outStr = (String) model.getValueAt(i, 5);
-            if (d == null || inStr == null || outStr == null || inStr.isBlank() || outStr.isBlank()) continue;
-            try {
-                LocalTime in  = LocalTime.parse(inStr);
-                LocalTime out = LocalTime.parse(outStr);
-                int min = durationMinutes(in, out);
-                byDate.merge(d, min, Integer::sum);
-            } catch (Exception ignore) {}
-        }
-        return byDate;
+    // 사번 필터가 있으면 그 사번만
+    private static Map<Long, Integer> onlyEmployee(Map<Long, Integer> byEmp, Long empId) {
+        if (empId == null) return byEmp;
+        Integer min = byEmp.get(empId);
+        return min == null ? Map.of() : Map.of(empId, min);
     }
 
     private void buildBottom() {
@@ -315,7 +307,13 @@ public class PanelRecords extends JPanel {
         right.add(btnExport);
         right.add(btnDelete);
         right.add(btnSummary);
+        right.add(btnBrowse);
+        right.add(btnSearch);
+        right.add(btnConflicts);
         btnSummary.addActionListener(e -> onShowSummary());
+        btnBrowse.addActionListener(e -> onBrowseRange());
+        btnSearch.addActionListener(e -> onSearchAll());
+        btnConflicts.addActionListener(e -> onShowConflicts());
         btnDelete.addActionListener(e -> onDeleteSelected());
         btnImport.addActionListener(e -> onImportXlsx());
         btnExport.addActionListener(e -> onExportXlsx());
@@ -324,6 +322,10 @@ public class PanelRecords extends JPanel {
         // 왼쪽: 합계 라벨
         JPanel left = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 6));
         left.add(lbTotal);
+        busy.setIndeterminate(true);
+        busy.setPreferredSize(new Dimension(80, 12));
+        busy.setVisible(false);
+        left.add(busy);
         bottom.add(left, BorderLayout.WEST);
 
         add(bottom, BorderLayout.SOUTH);
@@ -331,10 +333,87 @@ public class PanelRecords extends JPanel {
 
     private String mm(int minutes) { return String.format("%02d:%02d", minutes/60, minutes%60); }
 
+    // 조회 구간의 사번별/날짜별 총 근무 분(집계 테이블)과 이름을 함께 비동기로 읽고 EDT에서 창을 연다
     private void onShowSummary() {
-        SummaryDialog.show(this, model, this::mm, boot.employees().list());
+        if (queryFrom == null || queryFrom.isAfter(queryTo)) {
+            SummaryDialog.show(this, Map.of(), Map.of(), this::mm, Map.of());
+            return;
+        }
+        LocalDate from = queryFrom, to = queryTo;
+        Long empId = queryEmpId;
+        btnSummary.setEnabled(false);
+        var byEmp = presenter.minutesByEmployeeAsync(from, to);
+        var byDate = presenter.minutesByDateAsync(from, to, empId);
+        var names = presenter.namesAsync();
+        CompletableFuture.allOf(byEmp, byDate, names).whenComplete((v, err) -> {
+            btnSummary.setEnabled(true);
+            if (err != null) {
+                showAsyncError(err);
+                return;
+            }
+            SummaryDialog.show(this, onlyEmployee(byEmp.join(), empId), byDate.join(), this::mm, names.join());
+        });
+    }
+
+    // 선택 연도 전체를 기본 기간으로 여는 페이지 탐색 창(연도 넘는 기간도 입력 가능)
+    private void onBrowseRange() {
+        Integer y = queryBar.getSelectedYear();
+        int year = (y == null) ? LocalDate.now().getYear() : y;
+        btnBrowse.setEnabled(false);
+        presenter.namesAsync().whenComplete((names, err) -> {
+            btnBrowse.setEnabled(true);
+            if (err != null) {
+                showAsyncError(err);
+                return;
+            }
+            RangeBrowseDialog.open(this, boot, names, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+            doQuery(); // 탐색 창에서 편집했을 수 있으므로 재조회
+        });
     }
 
+    // 현재 필터 문구로 전체 기간 키워드 검색 창을 연다
+    private void onSearchAll() {
+        String query = recordFilter.field().getText().trim();
+        btnSearch.setEnabled(false);
+        presenter.namesAsync().whenComplete((names, err) -> {
+            btnSearch.setEnabled(true);
+            if (err != null) {
+                showAsyncError(err);
+                return;
+            }
+            SearchDialog.open(this, boot, names, query);
+            doQuery(); // 검색 창에서 편집했을 수 있으므로 재조회
+        });
+    }
+
+    // 선택한 달 전체(사번 필터 무시)에서 시간이 겹치는 기록 쌍
+    private void onShowConflicts() {
+        Integer y = queryBar.getSelectedYear();
+        Integer m = queryBar.getSelectedMonth();
+        if (y == null || m == null) {
+            JOptionPane.showMessageDialog(this, "연/월을 선택하세요.");
+            return;
+        }
+        YearMonth ym = YearMonth.of(y, m);
+        btnConflicts.setEnabled(false);
+        var conflicts = presenter.conflictsAsync(ym);
+        var names = presenter.namesAsync();
+        CompletableFuture.allOf(conflicts, names).whenComplete((v, err) -> {
+            btnConflicts.setEnabled(true);
+            if (err != null) {
+                showAsyncError(err);
+                return;
+            }
+            ConflictsDialog.show(this, ym, conflicts.join(), names.join());
+        });
+    }
+
+    // 비동기 조회 실패 안내(취소는 조용히)
+    private void showAsyncError(Throwable err) {
+        Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+        if (cause instanceof CancellationException) return;
+        JOptionPane.showMessageDialog(this, cause.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+    }
 
     private void onImportXlsx() {
         XlsxImporter.importFile(this, boot);
@@ -354,9 +433,6 @@ public class PanelRecords extends JPanel {
         }
         YearMonth ym = YearMonth.of(y, m);
 
-        // 데이터 로드
-        List<AttendanceRecord> rows = presenter.byMonth(ym);
-
         // 일자 범위 (QueryBar 신규 콤보)
         final int dayFrom = queryBar.getDayFrom(), dayTo = queryBar.getDayTo();
 
@@ -371,53 +447,85 @@ public class PanelRecords extends JPanel {
                 return;
             }
         }
-
-        // ===== (여기) 같은 날 다중 근무 키 계산 =====
-        multiKeys.clear();
-        {
-            // 먼저 이번 조회에서 사용할 레코드만 필터링
-            java.util.List<AttendanceRecord> filtered = new java.util.ArrayList<>();
-            for (AttendanceRecord r : rows) {
-                if (filterEmpId != null && !filterEmpId.equals(r.employeeId())) continue;
-                LocalDate d = r.workDate();
-                if (d == null) continue;
-                int day = d.getDayOfMonth();
-                if (day < dayFrom || day > dayTo) continue;
-                filtered.add(r);
-            }
-            // (사번, 날짜)별 카운트
-            java.util.Map<Long, java.util.Map<java.time.LocalDate, Integer>> cnt = new java.util.HashMap<>();
-            for (AttendanceRecord r : filtered) {
-                cnt.computeIfAbsent(r.employeeId(), k -> new java.util.HashMap<>())
-                        .merge(r.workDate(), 1, Integer::sum);
-            }
-            // 2건 이상인 키만 multiKeys에 저장
-            for (var e : cnt.entrySet()) {
-                long eid = e.getKey();
-                for (var e2 : e.getValue().entrySet()) {
-                    if (e2.getValue() >= 2) {
-                        multiKeys.computeIfAbsent(eid, k -> new java.util.HashSet<>()).add(e2.getKey());
-                    }
-                }
+        final Long empId = filterEmpId;
+
+        // 새 세대 시작: 진행 중인 조회는 취소(늦게 와도 세대가 달라 버려진다)
+        long gen = ++generation;
+        if (loading != null) loading.cancel(true);
+        busy.setVisible(true);
+        CompletableFuture<Loaded> f = presenter.async(() -> load(ym, dayFrom, dayTo, empId));
+        loading = f;
+        f.whenComplete((loaded, err) -> {
+            if (gen != generation) return; // 더 새 조회가 있음
+            loading = null;
+            busy.setVisible(false);
+            if (err != null) {
+                showAsyncError(err);
+                return;
             }
-        }
+            apply(loaded);
+        });
+    }
+
+    // 백그라운드 조회 결과: 테이블 행, 다중 근무 키, 집계 합계와 조회 조건
+    private record Loaded(long seq, LocalDate from, LocalDate to, Long empId,
+                          RecordsTableModel.Rows rows, Map<Long, Set<LocalDate>> multiKeys, int minutes) {}
+
+    // (백그라운드) 월 조회 → 구간/사번 필터 → 같은 날 다중 근무 키 → 이름 → 행. Swing은 건드리지 않는다
+    private Loaded load(YearMonth ym, int dayFrom, int dayTo, Long filterEmpId) {
+        // 데이터 로드(읽기 직전 seq를 받아 두어 로드 중 들어온 변경도 다음 확인에서 잡는다)
+        long seq = presenter.lastChangeSeq();
+        List<AttendanceRecord> rows = presenter.byMonth(ym);
 
-        // 이름 캐시(한 번만 조회)
-        Map<Long, String> nameCache = buildNameCache();
+        LocalDate from = ym.atDay(Math.min(dayFrom, ym.lengthOfMonth()));
+        LocalDate to = ym.atDay(Math.min(dayTo, ym.lengthOfMonth()));
 
-        model.setRowCount(0);
+        // 이번 조회에서 보일 레코드만
+        List<AttendanceRecord> filtered = new ArrayList<>();
         for (AttendanceRecord r : rows) {
             if (filterEmpId != null && !filterEmpId.equals(r.employeeId())) continue;
             LocalDate d = r.workDate();
             if (d == null) continue;
             int day = d.getDayOfMonth();
             if (day < dayFrom || day > dayTo) continue;
+            filtered.add(r);
+        }
+
+        // ===== 같은 날 다중 근무 키: (사번, 날짜)별 카운트 후 2건 이상인 키만 =====
+        Map<Long, Map<LocalDate, Integer>> cnt = new HashMap<>();
+        for (AttendanceRecord r : filtered) {
+            cnt.computeIfAbsent(r.employeeId(), k -> new HashMap<>()).merge(r.workDate(), 1, Integer::sum);
+        }
+        Map<Long, Set<LocalDate>> multi = new HashMap<>();
+        for (var e : cnt.entrySet()) {
+            for (var e2 : e.getValue().entrySet()) {
+                if (e2.getValue() >= 2) multi.computeIfAbsent(e.getKey(), k -> new HashSet<>()).add(e2.getKey());
+            }
+        }
 
-            String name = nameCache.getOrDefault(r.employeeId(), "");
-            String inStr  = formatTime(r.clockIn());
-            String outStr = formatTime(r.clockOut());
-            model.addRow(new Object[]{ r.id(), d, r.employeeId(), name, inStr, outStr, r.memo()==null?"":r.memo() });
+        // 이름 캐시(한 번만 조회)로 테이블 행 묶음
+        RecordsTableModel.Rows out = RecordsTableModel.Rows.of(filtered, buildNameCache());
+
+        // 조회 구간 총 근무 분(집계 테이블)
+        int minutes = 0;
+        if (!from.isAfter(to)) {
+            for (int v : presenter.minutesByDate(from, to, filterEmpId).values()) minutes += v;
         }
+        return new Loaded(seq, from, to, filterEmpId, out, multi, minutes);
+    }
+
+    // (EDT) 최신 결과를 한 번에 반영: 행 교체는 변경 알림 한 번
+    private void apply(Loaded loaded) {
+        queryFrom = loaded.from();
+        queryTo = loaded.to();
+        queryEmpId = loaded.empId();
+        seenSeq = loaded.seq();
+        viewMinutes = loaded.minutes();
+
+        multiKeys.clear();
+        multiKeys.putAll(loaded.multiKeys());
+
+        model.setRows(loaded.rows());
 
         updateTotalHours();
         table.repaint();
@@ -429,26 +537,14 @@ public class PanelRecords extends JPanel {
     private void updateTotalHours() {
         int minutes = 0;
 
-        // 소터가 있으면 '보이는 행(view)' 기준
-        if (table.getRowSorter() != null) {
-            for (int v = 0; v < table.getRowCount(); v++) {
-                int m = table.convertRowIndexToModel(v);
-                String inStr  = (String) model.getValueAt(m, 4);
-                String outStr = (String) model.getValueAt(m, 5);
-                if (inStr == null || outStr == null || inStr.isBlank() || outStr.isBlank()) continue;
-                try {
-                    minutes += durationMinutes(LocalTime.parse(inStr), LocalTime.parse(outStr));
-                } catch (Exception ignore) {}
-            }
+        if (!recordFilter.isActive()) {
+            // 키워드 필터가 없으면 보이는 행 = 조회 구간 전체 → 집계 테이블 합(조회 때 함께 읽어 둠)
+            minutes = viewMinutes;
         } else {
-            // 폴백: 모델 전체
-            for (int i = 0; i < model.getRowCount(); i++) {
-                String inStr  = (String) model.getValueAt(i, 4);
-                String outStr = (String) model.getValueAt(i, 5);
-                if (inStr == null || outStr == null || inStr.isBlank() || outStr.isBlank()) continue;
-                try {
-                    minutes += durationMinutes(LocalTime.parse(inStr), LocalTime.parse(outStr));
-                } catch (Exception ignore) {}
+            // 키워드로 걸러진 '보이는 행(view)' 기준
+            for (int v = 0; v < table.getRowCount(); v++) {
+                int worked = model.workedMinutes(table.convertRowIndexToModel(v));
+                if (worked > 0) minutes += worked;
             }
         }
 
@@ -459,25 +555,9 @@ public class PanelRecords extends JPanel {
         lbTotal.setText("총 근무시간: " + total + suffix);
     }
 
-    // PanelRecords 안에 헬퍼 추가(Attendance와 동일 로직)
-    private static int durationMinutes(LocalTime in, LocalTime out) {
-        int a = in.getHour()*60 + in.getMinute();
-        int b = out.getHour()*60 + out.getMinute();
-        int diff = b - a;
-        if (diff < 0) diff += 24*60;
-        return diff;
-    }
-
+    // (백그라운드 전용) 사번→이름
     private Map<Long, String> buildNameCache() {
-        Map<Long, String> map = new HashMap<>();
-        for (Employee e : boot.employees().list()) {
-            map.put(e.id(), e.name());
-        }
-        return map;
-    }
-
-    private static String formatTime(LocalTime t) {
-        return t == null ? "" : t.toString(); // 필요시 "HH:mm" 포맷터로 변경 가능
+        return boot.employees().names();
     }
 
     private void onDeleteSelected() {
@@ -499,19 +579,21 @@ public class PanelRecords extends JPanel {
         List<Long> ids = new ArrayList<>();
         for (int vr : viewRows) {
             int mr = table.convertRowIndexToModel(vr);
-            Long id = (Long) model.getValueAt(mr, 0);
-            if (id != null) ids.add(id);
+            ids.add(model.id(mr));
         }
 
-        int okCount = 0;
-        for (Long id : ids) {
-            try {
-                if (presenter.remove(id)) okCount++;  // ✅
-            } catch (Exception ignore) { /* ... */ }
+        // 한 트랜잭션으로 일괄 삭제: 실패하면 한 건도 지워지지 않는다
+        int okCount;
+        try {
+            okCount = presenter.removeAll(ids);
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this, "삭제 실패(변경 없음): " + ex.getMessage(),
+                    "오류", JOptionPane.ERROR_MESSAGE);
+            return;
         }
 
         JOptionPane.showMessageDialog(this,
-                okCount + "건 삭제 완료" + (okCount < ids.size() ? " (일부 실패)" : ""));
+                okCount + "건 삭제 완료" + (okCount < ids.size() ? " (이미 없거나 보관된 연도의 항목 제외)" : ""));
 
         doQuery(); // 삭제 후 재조회
     }
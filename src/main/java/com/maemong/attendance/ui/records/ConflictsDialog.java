@@ -0,0 +1,53 @@
+package com.maemong.attendance.ui.records;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.services.attendance.OverlapDetector;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/** 한 달 동안 시간이 겹치는 근무 기록 쌍 목록 */
+public final class ConflictsDialog {
+    private ConflictsDialog() {}
+
+    /**
+     * @param conflicts 겹침 쌍(사번, 시작 순)
+     * @param nameMap   사번→이름
+     */
+    public static void show(Component parent, YearMonth ym, List<OverlapDetector.Conflict> conflicts, Map<Long, String> nameMap) {
+        if (conflicts.isEmpty()) {
+            JOptionPane.showMessageDialog(parent, ym + " 에는 시간이 겹치는 기록이 없습니다.", "겹침 점검", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        String[] cols = {"사번", "이름", "먼저 시작한 기록", "겹치는 기록", "겹친 시간"};
+        Object[][] data = conflicts.stream()
+                .map(c -> new Object[]{
+                        c.first().employeeId(),
+                        nameMap.getOrDefault(c.first().employeeId(), ""),
+                        describe(c.first()),
+                        describe(c.second()),
+                        String.format("%02d:%02d", c.overlapMinutes() / 60, c.overlapMinutes() % 60)})
+                .toArray(Object[][]::new);
+
+        JTable table = new JTable(data, cols);
+        table.setDefaultEditor(Object.class, null);
+        table.getColumnModel().getColumn(2).setPreferredWidth(220);
+        table.getColumnModel().getColumn(3).setPreferredWidth(220);
+        TableUtils.installTriStateSort(table, List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setPreferredSize(new Dimension(760, 420));
+        JPanel panel = new JPanel(new BorderLayout(6, 6));
+        panel.add(new JLabel(String.format("%s 겹침 %,d건", ym, conflicts.size())), BorderLayout.NORTH);
+        panel.add(scroll, BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(parent, panel, "겹침 점검", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    private static String describe(AttendanceRecord r) {
+        String s = "[" + r.workDate() + "] " + r.clockIn() + " ~ " + r.clockOut();
+        return (r.memo() == null || r.memo().isBlank()) ? s : s + " (" + r.memo() + ")";
+    }
+}
@@ -75,6 +75,13 @@ public final class EditorDialog {
         JButton btCancel = new JButton("닫기");
         btns.add(btDel); btns.add(btSave); btns.add(btCancel);
 
+        // 보관된 연도의 기록(기간 조회/검색 창에서 열 수 있다)은 읽기 전용
+        if (date != null && boot.attendance().archivedYears().contains(date.getYear())) {
+            btSave.setEnabled(false);
+            btDel.setEnabled(false);
+            dlg.setTitle("근무 보기 (보관된 연도, 읽기 전용)");
+        }
+
         // ====== UX 보완 (이미 네 코드에 있던 개선들 포함) ======
         // 1) Enter=저장 / Esc=닫기
         dlg.getRootPane().setDefaultButton(btSave);
@@ -224,7 +231,10 @@ public final class EditorDialog {
                     JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
             if (a != JOptionPane.YES_OPTION) return;
             try {
-                if (id != null) boot.attendance().remove(id);
+                if (id != null && !boot.attendance().remove(id)) {
+                    JOptionPane.showMessageDialog(dlg, "삭제된 기록이 없습니다. 이미 삭제된 기록입니다.", "오류", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
                 if (onSavedOrDeleted != null) onSavedOrDeleted.run();
                 dlg.dispose();
             } catch (Exception ex) {
@@ -40,11 +40,13 @@ public class HighlightRenderer extends DefaultTableCellRenderer {
         // 모델 값 기준 멀티키 여부
         boolean isMulti = false;
         int mr = tbl.convertRowIndexToModel(row);
-        Object eidObj  = tbl.getModel().getValueAt(mr, 2);
-        Object dateObj = tbl.getModel().getValueAt(mr, 1);
-        if (eidObj instanceof Number && dateObj instanceof LocalDate d) {
-            long eid = ((Number) eidObj).longValue();
-            Set<LocalDate> set = multiKeys.get(eid);
+        if (tbl.getModel() instanceof RecordsTableModel m) {
+            // 조회 탭 모델은 타입 접근자로 바로
+            Set<LocalDate> set = multiKeys.get(m.employeeId(mr));
+            isMulti = (set != null && set.contains(m.date(mr)));
+        } else if (tbl.getModel().getValueAt(mr, 2) instanceof Number eidObj
+                && tbl.getModel().getValueAt(mr, 1) instanceof LocalDate d) {
+            Set<LocalDate> set = multiKeys.get(eidObj.longValue());
             isMulti = (set != null && set.contains(d));
         }
 
@@ -0,0 +1,161 @@
+package com.maemong.attendance.ui.records;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.PageKey;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * 키셋 페이지 단위로 행을 채우는 지연 로딩 테이블 모델.
+ * 처음엔 첫 페이지만 읽고, 스크롤이 끝 근처에 닿으면 다음 페이지를 이어 붙인다.
+ * 페이지는 공급자가 돌려준 future가 EDT에서 끝날 때 붙인다(조회 중에도 창이 멈추지 않는다).
+ * 컬럼 구성은 조회 탭과 같다: ID, 날짜, 사번, 이름, 출근, 퇴근, 메모
+ */
+public final class PagedRecordsModel extends AbstractTableModel {
+
+    /**
+     * after 다음부터 최대 limit건을 돌려주는 페이지 공급자 (after=null이면 첫 페이지).
+     * future는 EDT에서 끝나야 한다(AsyncQueries의 future, 이미 끝난 future).
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        CompletableFuture<List<AttendanceRecord>> fetch(PageKey after, int limit);
+    }
+
+    private static final String[] COLUMNS = {"ID", "날짜", "사번", "이름", "출근", "퇴근", "메모"};
+    public static final int DEFAULT_PAGE_SIZE = 200;
+
+    private final Map<Long, String> names;
+    private final int pageSize;
+    private final List<AttendanceRecord> rows = new ArrayList<>();
+
+    private PageSource source;
+    private PageKey next;          // 다음 페이지 커서
+    private boolean exhausted = true;
+    private boolean loading;       // 읽는 페이지가 붙을 때까지 다음 로드를 막는다
+    private CompletableFuture<List<AttendanceRecord>> inFlight;
+    private int generation;        // reset마다 증가: 이전 조건의 늦은 페이지는 버린다
+
+    public PagedRecordsModel(Map<Long, String> names, int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("페이지 크기는 1 이상이어야 합니다.");
+        this.names = names;
+        this.pageSize = pageSize;
+    }
+
+    /** 새 조회 조건으로 초기화하고 첫 페이지를 읽는다. 반환: 첫 페이지를 붙인 행 수(EDT에서 끝남) */
+    public CompletableFuture<Integer> reset(PageSource source) {
+        generation++; // 먼저 올려 두면 취소된 이전 로드의 완료 처리는 아무것도 바꾸지 않는다
+        if (inFlight != null) inFlight.cancel(true);
+        this.source = source;
+        this.next = null;
+        this.exhausted = false;
+        this.loading = false;
+        rows.clear();
+        fireTableDataChanged();
+        return loadNextPage();
+    }
+
+    /**
+     * 다음 페이지를 읽어 붙인다(EDT에서 호출). 반환: 붙인 행 수(EDT에서 끝남).
+     * 더 읽을 게 없거나 이미 읽는 중이면 0으로 바로 끝난다. 실패하면 더 읽지 않는다(다시 조회해야 한다).
+     */
+    public CompletableFuture<Integer> loadNextPage() {
+        if (exhausted || loading || source == null) return CompletableFuture.completedFuture(0);
+        loading = true;
+        int gen = generation;
+        CompletableFuture<Integer> appended = new CompletableFuture<>();
+        CompletableFuture<List<AttendanceRecord>> page = source.fetch(next, pageSize);
+        inFlight = page;
+        page.whenComplete((found, err) -> {
+            if (gen != generation) { // 그 사이 reset: 새 조건의 로드가 이미 따로 돈다
+                appended.cancel(false);
+                return;
+            }
+            loading = false;
+            inFlight = null;
+            if (err != null) {
+                exhausted = true;
+                appended.completeExceptionally(err);
+                return;
+            }
+            if (found.size() < pageSize) exhausted = true;
+            if (found.isEmpty()) {
+                appended.complete(0);
+                return;
+            }
+            int first = rows.size();
+            rows.addAll(found);
+            next = PageKey.of(found.getLast());
+            fireTableRowsInserted(first, rows.size() - 1);
+            appended.complete(found.size());
+        });
+        return appended;
+    }
+
+    public boolean hasMore() { return !exhausted; }
+
+    public AttendanceRecord recordAt(int row) { return rows.get(row); }
+
+    /**
+     * 스크롤이 마지막 한 화면 안쪽으로 들어오면 다음 페이지를 읽도록 연결.
+     * @param afterLoad 페이지를 붙인 뒤 실행할 콜백(상태 라벨 갱신 등, 없으면 null)
+     * @param onError   페이지 읽기 실패 콜백(취소는 부르지 않음)
+     */
+    public void installAutoLoad(JScrollPane scroll, Runnable afterLoad, Consumer<Throwable> onError) {
+        JScrollBar bar = scroll.getVerticalScrollBar();
+        bar.addAdjustmentListener(e -> {
+            if (exhausted || loading) return;
+            int remaining = bar.getMaximum() - (bar.getValue() + bar.getVisibleAmount());
+            if (remaining > bar.getVisibleAmount()) return;
+            // 스크롤 이벤트 처리 중 모델을 바꾸지 않도록 다음 EDT 턴으로 미룸
+            SwingUtilities.invokeLater(() -> loadNextPage().whenComplete((n, err) -> {
+                if (err != null) {
+                    Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                    if (!(cause instanceof CancellationException)) onError.accept(cause);
+                } else if (n > 0 && afterLoad != null) {
+                    afterLoad.run();
+                }
+            }));
+        });
+    }
+
+    @Override public int getRowCount() { return rows.size(); }
+    @Override public int getColumnCount() { return COLUMNS.length; }
+    @Override public String getColumnName(int column) { return COLUMNS[column]; }
+
+    @Override public Class<?> getColumnClass(int columnIndex) {
+        return switch (columnIndex) {
+            case 0, 2 -> Long.class;   // ID, 사번
+            case 1 -> LocalDate.class; // 날짜
+            default -> String.class;
+        };
+    }
+
+    @Override public Object getValueAt(int rowIndex, int columnIndex) {
+        AttendanceRecord r = rows.get(rowIndex);
+        return switch (columnIndex) {
+            case 0 -> r.id();
+            case 1 -> r.workDate();
+            case 2 -> r.employeeId();
+            case 3 -> names.getOrDefault(r.employeeId(), "");
+            case 4 -> formatTime(r.clockIn());
+            case 5 -> formatTime(r.clockOut());
+            case 6 -> r.memo() == null ? "" : r.memo();
+            default -> null;
+        };
+    }
+
+    private static String formatTime(LocalTime t) {
+        return t == null ? "" : t.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.maemong.attendance.ui.records;
+
+import com.maemong.attendance.bootstrap.Bootstrap;
+import com.maemong.attendance.ui.attendance.presenters.RecordsPresenter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 임의 기간(연도 걸침 가능) 근무기록 탐색 창.
+ * 월 조회와 달리 전체를 한 번에 읽지 않고, 키셋 페이지를 스크롤에 맞춰 이어 붙인다.
+ */
+public final class RangeBrowseDialog {
+    private RangeBrowseDialog() {}
+
+    public static void open(Component parent,
+                            Bootstrap boot,
+                            Map<Long, String> nameCache,
+                            LocalDate defaultFrom,
+                            LocalDate defaultTo) {
+        RecordsPresenter presenter = new RecordsPresenter(boot);
+        PagedRecordsModel model = new PagedRecordsModel(nameCache, PagedRecordsModel.DEFAULT_PAGE_SIZE);
+
+        JDialog dlg = new JDialog(SwingUtilities.getWindowAncestor(parent), "기간 탐색", Dialog.ModalityType.APPLICATION_MODAL);
+        JTextField tfFrom = new JTextField(defaultFrom.toString(), 10); // yyyy-MM-dd
+        JTextField tfTo   = new JTextField(defaultTo.toString(), 10);
+        JButton btQuery = new JButton("조회");
+        JLabel lbStatus = new JLabel(" ");
+
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        // ID 컬럼은 숨김(편집 열기용)
+        table.getColumnModel().getColumn(0).setMinWidth(0);
+        table.getColumnModel().getColumn(0).setMaxWidth(0);
+        table.getColumnModel().getColumn(0).setPreferredWidth(0);
+        table.getColumnModel().getColumn(3).setPreferredWidth(160);
+        table.getColumnModel().getColumn(6).setPreferredWidth(240);
+
+        JScrollPane scroll = new JScrollPane(table);
+        Runnable refreshStatus = () -> lbStatus.setText(
+                String.format("%,d건 표시%s", model.getRowCount(), model.hasMore() ? " (스크롤하면 더 불러옴)" : ""));
+        model.installAutoLoad(scroll, refreshStatus, err -> {
+            refreshStatus.run();
+            JOptionPane.showMessageDialog(dlg, err.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+        });
+
+        Runnable query = () -> {
+            LocalDate from, to;
+            try {
+                from = LocalDate.parse(tfFrom.getText().trim());
+                to   = LocalDate.parse(tfTo.getText().trim());
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(dlg, "날짜 형식은 yyyy-MM-dd 입니다.");
+                return;
+            }
+            if (from.isAfter(to)) {
+                JOptionPane.showMessageDialog(dlg, "시작일이 종료일보다 늦습니다.");
+                return;
+            }
+            long t0 = System.nanoTime();
+            btQuery.setEnabled(false);
+            lbStatus.setText("불러오는 중…");
+            // 페이지는 가상 스레드에서 읽고 EDT에서 붙인다(스크롤로 읽는 다음 페이지도 같다)
+            model.reset((after, limit) -> presenter.pageAsync(from, to, after, limit)).whenComplete((n, err) -> {
+                Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                if (cause instanceof CancellationException) return; // 그 사이 다시 조회함
+                btQuery.setEnabled(true);
+                refreshStatus.run();
+                if (cause != null) {
+                    JOptionPane.showMessageDialog(dlg, cause.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                long ms = (System.nanoTime() - t0) / 1_000_000;
+                lbStatus.setText(lbStatus.getText() + " · 첫 페이지 " + ms + "ms");
+                scroll.getVerticalScrollBar().setValue(0);
+            });
+        };
+        btQuery.addActionListener(e -> query.run());
+
+        // 더블클릭 → 편집, 저장/삭제 후 같은 조건으로 다시 조회
+        table.addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() != 2 || !SwingUtilities.isLeftMouseButton(e)) return;
+                int vr = table.rowAtPoint(e.getPoint());
+                if (vr < 0) return;
+                EditorDialog.open(dlg, boot, model.recordAt(table.convertRowIndexToModel(vr)), nameCache, query);
+            }
+        });
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 6));
+        top.add(new JLabel("시작일"));
+        top.add(tfFrom);
+        top.add(new JLabel("종료일"));
+        top.add(tfTo);
+        top.add(btQuery);
+
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 6));
+        bottom.add(lbStatus);
+
+        dlg.getRootPane().setDefaultButton(btQuery);
+        dlg.getRootPane().registerKeyboardAction(e -> dlg.dispose(),
+                KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0),
+                JComponent.WHEN_IN_FOCUSED_WINDOW);
+
+        dlg.setLayout(new BorderLayout(6, 6));
+        dlg.add(top, BorderLayout.NORTH);
+        dlg.add(scroll, BorderLayout.CENTER);
+        dlg.add(bottom, BorderLayout.SOUTH);
+        dlg.setSize(820, 560);
+        dlg.setLocationRelativeTo(parent);
+
+        query.run();
+        dlg.setVisible(true);
+    }
+}
@@ -58,6 +58,9 @@ public final class RecordFilter {
         applyNow(); // 초기 적용(빈 필터)
     }
 
+    /** 키워드가 입력되어 일부 행만 보이는 상태인지 */
+    public boolean isActive() { return !tf.getText().trim().isEmpty(); }
+
     /** 상단 패널에 붙일 때 각각 꺼내 쓰기 (GridLayout에 맞추기 좋음) */
     public JLabel label() { return lb; }
     public JTextField field() { return tf; }
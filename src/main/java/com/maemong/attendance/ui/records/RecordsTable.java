@@ -1,7 +1,6 @@
 package com.maemong.attendance.ui.records;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
@@ -11,7 +10,7 @@ import java.util.Set;
 public class RecordsTable extends JTable {
     private final Map<Long, Set<LocalDate>> multiKeys;
 
-    public RecordsTable(DefaultTableModel model,
+    public RecordsTable(RecordsTableModel model,
                         Map<Long, Set<LocalDate>> multiKeys,
                         Color hoverBg) {
         super(model);
@@ -33,12 +32,9 @@ public class RecordsTable extends JTable {
         int vc = columnAtPoint(e.getPoint());
         if (vr < 0 || vc < 0) return null;
         int mr = convertRowIndexToModel(vr);
-        Object emp  = getModel().getValueAt(mr, 2);
-        Object date = getModel().getValueAt(mr, 1);
-        if (emp instanceof Number n && date instanceof java.time.LocalDate d) {
-            java.util.Set<java.time.LocalDate> set = multiKeys.get(n.longValue());
-            if (set != null && set.contains(d)) return "같은 날 다중 근무";
-        }
+        RecordsTableModel m = (RecordsTableModel) getModel();
+        Set<LocalDate> set = multiKeys.get(m.employeeId(mr));
+        if (set != null && set.contains(m.date(mr))) return "같은 날 다중 근무";
         return null;
     }
 }
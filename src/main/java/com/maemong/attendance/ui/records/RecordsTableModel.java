@@ -1,4 +1,154 @@
 package com.maemong.attendance.ui.records;
 
-public class RecordsTableModel {
+import com.maemong.attendance.domain.AttendanceRecord;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조회 탭 테이블 모델: 컬럼별 배열(사번·ID는 long, 날짜는 epochDay int, 출퇴근은 하루 중 분 int).
+ * - 행 묶음(Rows)은 백그라운드에서 만들고, setRows로 한 번에 갈아 끼운다(변경 알림 한 번).
+ * - 값은 타입 그대로 내준다: 날짜 LocalDate, 출퇴근 LocalTime(없으면 null), 근무 분은 workedMinutes(int).
+ *   정렬기/렌더러/내보내기가 문자열을 다시 파싱하지 않는다. LocalTime의 문자열은 "HH:mm"이라
+ *   복사·CSV·키워드 필터에 보이는 글자는 전과 같다.
+ * 컬럼 구성: ID, 날짜, 사번, 이름, 출근, 퇴근, 메모
+ */
+public final class RecordsTableModel extends AbstractTableModel {
+
+    public static final int COL_ID = 0, COL_DATE = 1, COL_EMP = 2, COL_NAME = 3, COL_IN = 4, COL_OUT = 5, COL_MEMO = 6;
+    private static final String[] COLUMNS = {"ID", "날짜", "사번", "이름", "출근", "퇴근", "메모"};
+
+    private static final int DAY_MINUTES = 24 * 60;
+    private static final int NO_TIME = -1;
+    // 하루 중 분 → LocalTime (값을 내줄 때마다 만들지 않도록 미리)
+    private static final LocalTime[] CLOCK = new LocalTime[DAY_MINUTES];
+    static {
+        for (int m = 0; m < DAY_MINUTES; m++) CLOCK[m] = LocalTime.of(m / 60, m % 60);
+    }
+
+    private Rows rows = Rows.EMPTY;
+
+    /**
+     * 한 번에 갈아 끼울 행 묶음(만든 뒤 바뀌지 않는다, 어느 스레드에서 만들어도 된다).
+     * 날짜는 묶음 안의 최소~최대 일자 표로 LocalDate를 공유한다.
+     */
+    public static final class Rows {
+        static final Rows EMPTY = new Rows(0);
+
+        final int size;
+        final long[] ids, empIds;
+        final int[] days, clockIn, clockOut;
+        final String[] names, memos;
+        private LocalDate[] dayTable = new LocalDate[0];
+        private long firstDay;
+
+        private Rows(int size) {
+            this.size = size;
+            ids = new long[size];
+            empIds = new long[size];
+            days = new int[size];
+            clockIn = new int[size];
+            clockOut = new int[size];
+            names = new String[size];
+            memos = new String[size];
+        }
+
+        /** records(표시 순서 그대로)와 사번→이름으로 행 묶음을 만든다 */
+        public static Rows of(List<AttendanceRecord> records, Map<Long, String> nameMap) {
+            Rows out = new Rows(records.size());
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (int i = 0; i < out.size; i++) {
+                AttendanceRecord r = records.get(i);
+                long day = r.workDate().toEpochDay();
+                min = Math.min(min, day);
+                max = Math.max(max, day);
+                out.ids[i] = r.id() == null ? 0 : r.id();
+                out.empIds[i] = r.employeeId();
+                out.days[i] = (int) day;
+                out.clockIn[i] = minute(r.clockIn());
+                out.clockOut[i] = minute(r.clockOut());
+                out.names[i] = nameMap.getOrDefault(r.employeeId(), "");
+                out.memos[i] = r.memo() == null ? "" : r.memo();
+            }
+            if (out.size > 0) {
+                out.firstDay = min;
+                out.dayTable = new LocalDate[(int) (max - min + 1)];
+                for (AttendanceRecord r : records) {
+                    int k = (int) (r.workDate().toEpochDay() - min);
+                    if (out.dayTable[k] == null) out.dayTable[k] = r.workDate();
+                }
+            }
+            return out;
+        }
+
+        public int size() { return size; }
+
+        LocalDate date(int row) {
+            return dayTable[(int) (days[row] - firstDay)];
+        }
+    }
+
+    /** 행 전체 교체(EDT). 변경 알림은 한 번 */
+    public void setRows(Rows rows) {
+        this.rows = rows == null ? Rows.EMPTY : rows;
+        fireTableDataChanged();
+    }
+
+    public long id(int row) { return rows.ids[row]; }
+    public long employeeId(int row) { return rows.empIds[row]; }
+    public LocalDate date(int row) { return rows.date(row); }
+    public LocalTime clockIn(int row) { return clock(rows.clockIn[row]); }
+    public LocalTime clockOut(int row) { return clock(rows.clockOut[row]); }
+    public String memo(int row) { return rows.memos[row]; }
+
+    /** 근무 분(퇴근이 출근보다 이르면 다음날 퇴근). 출근/퇴근 중 하나라도 없으면 -1 */
+    public int workedMinutes(int row) {
+        int in = rows.clockIn[row], out = rows.clockOut[row];
+        if (in == NO_TIME || out == NO_TIME) return -1;
+        int diff = out - in;
+        return diff < 0 ? diff + DAY_MINUTES : diff;
+    }
+
+    /** 편집기로 넘길 원래 기록 */
+    public AttendanceRecord recordAt(int row) {
+        return new AttendanceRecord(id(row), employeeId(row), date(row), clockIn(row), clockOut(row), memo(row));
+    }
+
+    @Override public int getRowCount() { return rows.size; }
+    @Override public int getColumnCount() { return COLUMNS.length; }
+    @Override public String getColumnName(int column) { return COLUMNS[column]; }
+    @Override public boolean isCellEditable(int row, int column) { return false; }
+
+    @Override public Class<?> getColumnClass(int columnIndex) {
+        return switch (columnIndex) {
+            case COL_ID, COL_EMP -> Long.class;
+            case COL_DATE -> LocalDate.class;
+            case COL_IN, COL_OUT -> LocalTime.class;
+            default -> String.class;
+        };
+    }
+
+    @Override public Object getValueAt(int rowIndex, int columnIndex) {
+        return switch (columnIndex) {
+            case COL_ID -> rows.ids[rowIndex];
+            case COL_DATE -> rows.date(rowIndex);
+            case COL_EMP -> rows.empIds[rowIndex];
+            case COL_NAME -> rows.names[rowIndex];
+            case COL_IN -> clockIn(rowIndex);
+            case COL_OUT -> clockOut(rowIndex);
+            case COL_MEMO -> rows.memos[rowIndex];
+            default -> null;
+        };
+    }
+
+    private static int minute(LocalTime t) {
+        return t == null ? NO_TIME : t.getHour() * 60 + t.getMinute();
+    }
+
+    private static LocalTime clock(int minute) {
+        return minute == NO_TIME ? null : CLOCK[minute];
+    }
 }
@@ -0,0 +1,129 @@
+package com.maemong.attendance.ui.records;
+
+import com.maemong.attendance.bootstrap.Bootstrap;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.ui.attendance.presenters.RecordsPresenter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 메모·직원 이름 키워드 검색 창(전체 기간).
+ * 조회 탭의 필터는 불러온 달 안에서만 거르지만, 여기서는 전문검색 인덱스로 전 기간을 찾는다.
+ * 기간 칸을 비우면 그쪽으로 제한 없음.
+ */
+public final class SearchDialog {
+    private SearchDialog() {}
+
+    public static void open(Component parent,
+                            Bootstrap boot,
+                            Map<Long, String> nameCache,
+                            String initialQuery) {
+        RecordsPresenter presenter = new RecordsPresenter(boot);
+        PagedRecordsModel model = new PagedRecordsModel(nameCache, PagedRecordsModel.DEFAULT_PAGE_SIZE);
+
+        JDialog dlg = new JDialog(SwingUtilities.getWindowAncestor(parent), "전체 검색", Dialog.ModalityType.APPLICATION_MODAL);
+        JTextField tfQuery = new JTextField(initialQuery == null ? "" : initialQuery, 18);
+        JTextField tfFrom = new JTextField(10); // yyyy-MM-dd, 비우면 제한 없음
+        JTextField tfTo   = new JTextField(10);
+        JButton btSearch = new JButton("검색");
+        JLabel lbStatus = new JLabel(" ");
+
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        // ID 컬럼은 숨김(편집 열기용)
+        table.getColumnModel().getColumn(0).setMinWidth(0);
+        table.getColumnModel().getColumn(0).setMaxWidth(0);
+        table.getColumnModel().getColumn(0).setPreferredWidth(0);
+        table.getColumnModel().getColumn(3).setPreferredWidth(160);
+        table.getColumnModel().getColumn(6).setPreferredWidth(240);
+        JScrollPane scroll = new JScrollPane(table);
+
+        Runnable search = () -> {
+            String q = tfQuery.getText().trim();
+            if (q.isEmpty()) {
+                lbStatus.setText("검색어를 입력하세요. (여러 단어는 모두 포함, 단어 앞부분 일치)");
+                return;
+            }
+            DateRange range;
+            try {
+                range = DateRange.of(parseOrNull(tfFrom.getText()), parseOrNull(tfTo.getText()));
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(dlg, "날짜 형식은 yyyy-MM-dd 입니다.");
+                return;
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(dlg, ex.getMessage());
+                return;
+            }
+            long t0 = System.nanoTime();
+            btSearch.setEnabled(false);
+            lbStatus.setText("검색 중…");
+            // 검색은 가상 스레드에서, 결과 반영은 EDT에서(검색 중에도 창이 멈추지 않는다)
+            presenter.searchAsync(q, range).whenComplete((found, err) -> {
+                btSearch.setEnabled(true);
+                if (err != null) {
+                    Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                    lbStatus.setText(" ");
+                    JOptionPane.showMessageDialog(dlg, cause.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                // 검색 결과는 한 번에 오므로 첫 페이지에 전부 싣고 다음 페이지는 없음
+                model.reset((after, limit) -> CompletableFuture.completedFuture(after == null ? found : List.of()));
+                long ms = (System.nanoTime() - t0) / 1_000_000;
+                lbStatus.setText(String.format("%,d건 · %dms", found.size(), ms));
+                scroll.getVerticalScrollBar().setValue(0);
+            });
+        };
+        btSearch.addActionListener(e -> search.run());
+
+        // 더블클릭 → 편집, 저장/삭제 후 같은 조건으로 다시 검색
+        table.addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() != 2 || !SwingUtilities.isLeftMouseButton(e)) return;
+                int vr = table.rowAtPoint(e.getPoint());
+                if (vr < 0) return;
+                EditorDialog.open(dlg, boot, model.recordAt(table.convertRowIndexToModel(vr)), nameCache, search);
+            }
+        });
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 6));
+        top.add(new JLabel("검색어"));
+        top.add(tfQuery);
+        top.add(new JLabel("시작일"));
+        top.add(tfFrom);
+        top.add(new JLabel("종료일"));
+        top.add(tfTo);
+        top.add(btSearch);
+
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 6));
+        bottom.add(lbStatus);
+
+        dlg.getRootPane().setDefaultButton(btSearch);
+        dlg.getRootPane().registerKeyboardAction(e -> dlg.dispose(),
+                KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0),
+                JComponent.WHEN_IN_FOCUSED_WINDOW);
+
+        dlg.setLayout(new BorderLayout(6, 6));
+        dlg.add(top, BorderLayout.NORTH);
+        dlg.add(scroll, BorderLayout.CENTER);
+        dlg.add(bottom, BorderLayout.SOUTH);
+        dlg.setSize(900, 560);
+        dlg.setLocationRelativeTo(parent);
+
+        search.run();
+        dlg.setVisible(true);
+    }
+
+    private static LocalDate parseOrNull(String s) {
+        return (s == null || s.isBlank()) ? null : LocalDate.parse(s.trim());
+    }
+}
@@ -1,46 +1,22 @@
 package com.maemong.attendance.ui.records;
 
-import com.maemong.attendance.domain.Employee;
-
 import javax.swing.*;
-import javax.swing.table.TableModel;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public final class SummaryDialog {
     private SummaryDialog(){}
 
+    /**
+     * @param byEmp  사번별 근무 분 합계(집계 테이블 조회 결과)
+     * @param byDate 날짜별 근무 분 합계(집계 테이블 조회 결과)
+     * @param nameMap 사번→이름
+     */
     public static void show(java.awt.Component parent,
-                            TableModel model,
+                            Map<Long,Integer> byEmp,
+                            Map<LocalDate,Integer> byDate,
                             java.util.function.IntFunction<String> minutesToHHmm, // ex) i -> String.format(...)
-                            List<Employee> employees) {
-        // 이름 캐시
-        Map<Long,String> nameMap = employees.stream()
-                .collect(Collectors.toMap(Employee::id, Employee::name));
-
-        // 사번별 합계/날짜별 합계 집계
-        Map<Long,Integer> byEmp = new LinkedHashMap<>();
-        Map<LocalDate,Integer> byDate = new LinkedHashMap<>();
-        for (int i = 0; i < model.getRowCount(); i++) {
-            Object d  = model.getValueAt(i, 1);
-            Object in = model.getValueAt(i, 4);
-            Object out= model.getValueAt(i, 5);
-            Object emp= model.getValueAt(i, 2);
-            if (!(d instanceof LocalDate) || !(in instanceof String) || !(out instanceof String) || !(emp instanceof Number))
-                continue;
-            String is = (String) in, os = (String) out;
-            if (is.isBlank() || os.isBlank()) continue;
-            try {
-                LocalTime tin = LocalTime.parse(is);
-                LocalTime tout= LocalTime.parse(os);
-                int minutes = (int)java.time.Duration.between(tin, tout.isBefore(tin)? tout.plusHours(24): tout).toMinutes();
-                byEmp.merge(((Number)emp).longValue(), minutes, Integer::sum);
-                byDate.merge((LocalDate)d, minutes, Integer::sum);
-            } catch (Exception ignore) {}
-        }
-
+                            Map<Long,String> nameMap) {
         // 테이블 모델 구성
         String[] empCols = {"사번","이름","합계"};
         Object[][] empData = byEmp.entrySet().stream()
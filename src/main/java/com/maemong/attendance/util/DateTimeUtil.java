@@ -9,6 +9,23 @@ public final class DateTimeUtil {
     /** 공용 HH:mm 포맷터(24시간) */
     public static final DateTimeFormatter HHMM = DateTimeFormatter.ofPattern("HH:mm");
 
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    // 분 → LocalTime 캐시(DB 정수 컬럼 매핑 시 할당/파싱 없이 재사용)
+    private static final LocalTime[] BY_MINUTE = new LocalTime[MINUTES_PER_DAY];
+    static {
+        for (int m = 0; m < MINUTES_PER_DAY; m++) BY_MINUTE[m] = LocalTime.of(m / 60, m % 60);
+    }
+
+    /** 자정 기준 분(0~1439) → LocalTime (캐시된 인스턴스) */
+    public static LocalTime ofMinuteOfDay(int minute) {
+        return BY_MINUTE[minute];
+    }
+
+    /** LocalTime → 자정 기준 분(초 이하는 버림) */
+    public static int minuteOfDay(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
     /** 자정 넘김(overnight) 고려 총 분 계산 */
     public static int durationMinutes(LocalTime in, LocalTime out) {
         int a = in.getHour() * 60 + in.getMinute();
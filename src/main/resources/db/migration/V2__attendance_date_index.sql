@@ -0,0 +1,4 @@
+-- 날짜 선두 인덱스: 일/월/기간 조회(work_date 범위)를 인덱스 탐색으로 처리
+-- 조회 컬럼(id는 rowid로 포함)을 모두 담아 테이블 접근 없이 응답(covering)
+CREATE INDEX IF NOT EXISTS idx_attendance_date_emp
+    ON attendance (work_date, employee_id, clock_in, clock_out, memo);
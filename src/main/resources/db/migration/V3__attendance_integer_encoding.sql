@@ -0,0 +1,57 @@
+-- 날짜/시간을 정수로 저장 (조회 시 문자열 파싱 제거)
+--   work_day : epoch-day (1970-01-01 = 0)
+--   in_min / out_min : 자정 기준 분 (0 ~ 1439)
+CREATE TABLE attendance_new (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    employee_id INTEGER NOT NULL,
+    work_day INTEGER NOT NULL,
+    in_min INTEGER,
+    out_min INTEGER,
+    memo TEXT,
+    created_at TEXT DEFAULT (datetime('now')),
+    updated_at TEXT,
+    FOREIGN KEY (employee_id) REFERENCES employees(id) ON DELETE CASCADE
+);
+
+INSERT INTO attendance_new (id, employee_id, work_day, in_min, out_min, memo, created_at, updated_at)
+SELECT id,
+       employee_id,
+       CAST(julianday(work_date) - 2440587.5 AS INTEGER),
+       CASE WHEN clock_in IS NULL OR clock_in = '' THEN NULL
+            ELSE CAST(substr(clock_in, 1, 2) AS INTEGER) * 60 + CAST(substr(clock_in, 4, 2) AS INTEGER) END,
+       CASE WHEN clock_out IS NULL OR clock_out = '' THEN NULL
+            ELSE CAST(substr(clock_out, 1, 2) AS INTEGER) * 60 + CAST(substr(clock_out, 4, 2) AS INTEGER) END,
+       memo,
+       created_at,
+       updated_at
+FROM attendance;
+
+-- AUTOINCREMENT 카운터 보존(삭제된 id 재사용 방지)
+-- 복사한 행이 없으면 attendance_new 행이 아예 없으므로 UPDATE가 아니라 INSERT로 옛 값을 넣는다.
+-- sqlite_sequence에는 name 유일 제약이 없어(OR REPLACE로는 안 바뀜) 넣은 뒤 예전 행을 지운다.
+INSERT INTO sqlite_sequence (name, seq)
+SELECT 'attendance_new', MAX(seq) FROM sqlite_sequence
+ WHERE name IN ('attendance', 'attendance_new')
+HAVING COUNT(*) > 0;
+DELETE FROM sqlite_sequence
+ WHERE name = 'attendance_new'
+   AND rowid <> (SELECT MAX(rowid) FROM sqlite_sequence WHERE name = 'attendance_new');
+
+DROP TABLE attendance;
+ALTER TABLE attendance_new RENAME TO attendance;
+
+CREATE INDEX IF NOT EXISTS idx_attendance_emp_date ON attendance (employee_id, work_day);
+CREATE INDEX IF NOT EXISTS idx_attendance_date_emp
+    ON attendance (work_day, employee_id, in_min, out_min, memo);
+
+-- 하위 호환 뷰: 기존 TEXT 형식(YYYY-MM-DD / HH:mm)으로 보기 (외부 도구/수동 조회용)
+CREATE VIEW IF NOT EXISTS attendance_text AS
+SELECT id,
+       employee_id,
+       date(work_day + 2440587.5) AS work_date,
+       CASE WHEN in_min IS NULL THEN NULL ELSE printf('%02d:%02d', in_min / 60, in_min % 60) END AS clock_in,
+       CASE WHEN out_min IS NULL THEN NULL ELSE printf('%02d:%02d', out_min / 60, out_min % 60) END AS clock_out,
+       memo,
+       created_at,
+       updated_at
+FROM attendance;
@@ -0,0 +1,120 @@
+-- 근무시간 집계 테이블 (요약/합계를 행 재계산 없이 인덱스 조회로)
+--   minutes : 출퇴근이 모두 있는 기록의 근무 분 합. 자정 넘김은 ((out - in) + 1440) % 1440
+--   shifts  : 기록 건수(출퇴근 누락 포함)
+-- 저장/삭제 시 아래 트리거가 같은 문장 안에서 증감을 반영한다(재구성/검증은 AttendanceAggregates).
+
+-- 사번 × 일
+CREATE TABLE agg_emp_day (
+    employee_id INTEGER NOT NULL,
+    work_day INTEGER NOT NULL,
+    minutes INTEGER NOT NULL,
+    shifts INTEGER NOT NULL,
+    PRIMARY KEY (employee_id, work_day)
+) WITHOUT ROWID;
+
+CREATE INDEX IF NOT EXISTS idx_agg_emp_day_day ON agg_emp_day (work_day, employee_id, minutes);
+
+-- 사번 × 월 (ym = yyyymm, 예: 202401)
+CREATE TABLE agg_emp_month (
+    employee_id INTEGER NOT NULL,
+    ym INTEGER NOT NULL,
+    minutes INTEGER NOT NULL,
+    shifts INTEGER NOT NULL,
+    PRIMARY KEY (employee_id, ym)
+) WITHOUT ROWID;
+
+CREATE INDEX IF NOT EXISTS idx_agg_emp_month_ym ON agg_emp_month (ym, employee_id, minutes);
+
+-- 일 (전체 사번)
+CREATE TABLE agg_day (
+    work_day INTEGER PRIMARY KEY,
+    minutes INTEGER NOT NULL,
+    shifts INTEGER NOT NULL
+);
+
+INSERT INTO agg_emp_day (employee_id, work_day, minutes, shifts)
+SELECT employee_id, work_day, IFNULL(SUM((out_min - in_min + 1440) % 1440), 0), COUNT(*)
+FROM attendance
+GROUP BY employee_id, work_day;
+
+INSERT INTO agg_emp_month (employee_id, ym, minutes, shifts)
+SELECT employee_id, CAST(strftime('%Y%m', work_day + 2440587.5) AS INTEGER) AS ym, SUM(minutes), SUM(shifts)
+FROM agg_emp_day
+GROUP BY employee_id, ym;
+
+INSERT INTO agg_day (work_day, minutes, shifts)
+SELECT work_day, SUM(minutes), SUM(shifts)
+FROM agg_emp_day
+GROUP BY work_day;
+
+-- ===== 증분 유지 트리거 =====
+-- 기록 한 행이 바뀔 때마다 같은 문장(=같은 트랜잭션) 안에서 세 집계에 증감을 반영한다.
+-- 출퇴근 중 하나라도 NULL이면 근무 분은 0으로 본다. 건수가 0이 된 버킷은 지운다.
+
+CREATE TRIGGER trg_attendance_agg_insert AFTER INSERT ON attendance
+BEGIN
+    INSERT INTO agg_emp_day (employee_id, work_day, minutes, shifts)
+    VALUES (NEW.employee_id, NEW.work_day, IFNULL((NEW.out_min - NEW.in_min + 1440) % 1440, 0), 1)
+    ON CONFLICT (employee_id, work_day) DO UPDATE SET minutes = minutes + excluded.minutes, shifts = shifts + 1;
+
+    INSERT INTO agg_emp_month (employee_id, ym, minutes, shifts)
+    VALUES (NEW.employee_id, CAST(strftime('%Y%m', NEW.work_day + 2440587.5) AS INTEGER),
+            IFNULL((NEW.out_min - NEW.in_min + 1440) % 1440, 0), 1)
+    ON CONFLICT (employee_id, ym) DO UPDATE SET minutes = minutes + excluded.minutes, shifts = shifts + 1;
+
+    INSERT INTO agg_day (work_day, minutes, shifts)
+    VALUES (NEW.work_day, IFNULL((NEW.out_min - NEW.in_min + 1440) % 1440, 0), 1)
+    ON CONFLICT (work_day) DO UPDATE SET minutes = minutes + excluded.minutes, shifts = shifts + 1;
+END;
+
+CREATE TRIGGER trg_attendance_agg_delete AFTER DELETE ON attendance
+BEGIN
+    UPDATE agg_emp_day
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE employee_id = OLD.employee_id AND work_day = OLD.work_day;
+    DELETE FROM agg_emp_day WHERE employee_id = OLD.employee_id AND work_day = OLD.work_day AND shifts <= 0;
+
+    UPDATE agg_emp_month
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE employee_id = OLD.employee_id AND ym = CAST(strftime('%Y%m', OLD.work_day + 2440587.5) AS INTEGER);
+    DELETE FROM agg_emp_month
+     WHERE employee_id = OLD.employee_id AND ym = CAST(strftime('%Y%m', OLD.work_day + 2440587.5) AS INTEGER) AND shifts <= 0;
+
+    UPDATE agg_day
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE work_day = OLD.work_day;
+    DELETE FROM agg_day WHERE work_day = OLD.work_day AND shifts <= 0;
+END;
+
+-- 수정 = 이전 값 빼기 + 새 값 더하기 (메모만 바뀐 경우는 건너뜀)
+CREATE TRIGGER trg_attendance_agg_update AFTER UPDATE OF employee_id, work_day, in_min, out_min ON attendance
+BEGIN
+    UPDATE agg_emp_day
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE employee_id = OLD.employee_id AND work_day = OLD.work_day;
+    DELETE FROM agg_emp_day WHERE employee_id = OLD.employee_id AND work_day = OLD.work_day AND shifts <= 0;
+
+    UPDATE agg_emp_month
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE employee_id = OLD.employee_id AND ym = CAST(strftime('%Y%m', OLD.work_day + 2440587.5) AS INTEGER);
+    DELETE FROM agg_emp_month
+     WHERE employee_id = OLD.employee_id AND ym = CAST(strftime('%Y%m', OLD.work_day + 2440587.5) AS INTEGER) AND shifts <= 0;
+
+    UPDATE agg_day
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE work_day = OLD.work_day;
+    DELETE FROM agg_day WHERE work_day = OLD.work_day AND shifts <= 0;
+
+    INSERT INTO agg_emp_day (employee_id, work_day, minutes, shifts)
+    VALUES (NEW.employee_id, NEW.work_day, IFNULL((NEW.out_min - NEW.in_min + 1440) % 1440, 0), 1)
+    ON CONFLICT (employee_id, work_day) DO UPDATE SET minutes = minutes + excluded.minutes, shifts = shifts + 1;
+
+    INSERT INTO agg_emp_month (employee_id, ym, minutes, shifts)
+    VALUES (NEW.employee_id, CAST(strftime('%Y%m', NEW.work_day + 2440587.5) AS INTEGER),
+            IFNULL((NEW.out_min - NEW.in_min + 1440) % 1440, 0), 1)
+    ON CONFLICT (employee_id, ym) DO UPDATE SET minutes = minutes + excluded.minutes, shifts = shifts + 1;
+
+    INSERT INTO agg_day (work_day, minutes, shifts)
+    VALUES (NEW.work_day, IFNULL((NEW.out_min - NEW.in_min + 1440) % 1440, 0), 1)
+    ON CONFLICT (work_day) DO UPDATE SET minutes = minutes + excluded.minutes, shifts = shifts + 1;
+END;
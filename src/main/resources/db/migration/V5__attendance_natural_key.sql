@@ -0,0 +1,40 @@
+-- 자연키(사번, 근무일, 출근 분) 유일 인덱스: 같은 엑셀을 다시 가져와도 중복 행이 생기지 않도록
+--   출근 시각이 없는 기록(메모만, 퇴근만 있는 기록)은 자연키가 없다. UNIQUE에서 NULL끼리는 서로 다르므로
+--   하루에 여러 건 둘 수 있고(편집 창/엑셀 가져오기가 만드는 행), 재가져오기 중복은 업서트가
+--   "값이 모두 같은 행이 있으면 건너뜀"으로 막는다(AttendanceRepositoryJdbi).
+--   업서트(ON CONFLICT)의 충돌 대상은 이 인덱스 열과 같아야 한다: (employee_id, work_day, in_min)
+
+-- 기존 중복(출근 시각까지 같은 기록)은 지우지 않고 attendance_dup_v5로 옮긴다.
+--   가장 최근(id가 큰) 기록이 attendance에 남고 kept_id가 그 id다. 옮긴 건수는 앱이 시작할 때 한 번 알린다(notified).
+--   옮긴 행은 V4 트리거가 집계에서 빼 준다.
+CREATE TABLE IF NOT EXISTS attendance_dup_v5 (
+    id INTEGER PRIMARY KEY,
+    employee_id INTEGER NOT NULL,
+    work_day INTEGER NOT NULL,
+    in_min INTEGER,
+    out_min INTEGER,
+    memo TEXT,
+    created_at TEXT,
+    updated_at TEXT,
+    kept_id INTEGER NOT NULL,
+    notified INTEGER NOT NULL DEFAULT 0
+);
+
+INSERT INTO attendance_dup_v5 (id, employee_id, work_day, in_min, out_min, memo, created_at, updated_at, kept_id)
+SELECT a.id, a.employee_id, a.work_day, a.in_min, a.out_min, a.memo, a.created_at, a.updated_at, k.kept_id
+  FROM attendance a
+  JOIN (SELECT employee_id, work_day, in_min, MAX(id) AS kept_id
+          FROM attendance
+         WHERE in_min IS NOT NULL
+         GROUP BY employee_id, work_day, in_min
+        HAVING COUNT(*) > 1) k
+    ON k.employee_id = a.employee_id AND k.work_day = a.work_day AND k.in_min = a.in_min
+ WHERE a.id <> k.kept_id;
+
+DELETE FROM attendance WHERE id IN (SELECT id FROM attendance_dup_v5);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_attendance_natural_key
+    ON attendance (employee_id, work_day, in_min);
+
+-- (employee_id, work_day) 선두가 같은 유일 인덱스가 사번+기간 조회를 대신하므로 중복 인덱스 제거(쓰기 비용 절감)
+DROP INDEX IF EXISTS idx_attendance_emp_date;
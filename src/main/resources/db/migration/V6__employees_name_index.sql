@@ -0,0 +1,3 @@
+-- 이름 인덱스: (name + rowid=id)만 담으므로 사번→이름 조회(SELECT id, name)를 테이블 접근 없이 처리(covering)
+-- 이름 정렬 검색(ORDER BY name)도 정렬 없이 인덱스 순서로 읽는다
+CREATE INDEX IF NOT EXISTS idx_employees_name ON employees (name);
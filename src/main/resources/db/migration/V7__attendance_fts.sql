@@ -0,0 +1,60 @@
+-- 메모 + 직원 이름 전문검색(FTS5). rowid = attendance.id
+--   unicode61 토크나이저는 공백/문장부호로 나누므로 "대타로", "지각함" 같은 어절은 접두어 질의("대타"*)로 찾는다
+--   content=''          : 원문은 attendance/employees에 있으므로 색인만 둔다(rowid로 원본 조인)
+--   contentless_delete  : rowid로 DELETE/전체 컬럼 UPDATE 가능 (SQLite 3.43+)
+--   detail=column       : 위치 정보 없이 단어·컬럼만 기록 → 색인/쓰기 비용 감소 (구(phrase) 질의는 쓰지 않음)
+CREATE VIRTUAL TABLE IF NOT EXISTS attendance_fts USING fts5(
+    memo,
+    name,
+    tokenize = 'unicode61 remove_diacritics 2',
+    content = '',
+    contentless_delete = 1,
+    detail = column
+);
+
+INSERT INTO attendance_fts (rowid, memo, name)
+SELECT a.id, a.memo, e.name
+FROM attendance a
+LEFT JOIN employees e ON e.id = a.employee_id;
+
+-- ===== 동기화 트리거 =====
+CREATE TRIGGER trg_attendance_fts_insert AFTER INSERT ON attendance
+BEGIN
+    INSERT INTO attendance_fts (rowid, memo, name)
+    VALUES (NEW.id, NEW.memo, (SELECT name FROM employees WHERE id = NEW.employee_id));
+END;
+
+CREATE TRIGGER trg_attendance_fts_delete AFTER DELETE ON attendance
+BEGIN
+    DELETE FROM attendance_fts WHERE rowid = OLD.id;
+END;
+
+-- 수정 저장은 모든 열을 다시 쓰므로 값이 실제로 바뀐 경우만
+CREATE TRIGGER trg_attendance_fts_update AFTER UPDATE OF memo, employee_id ON attendance
+WHEN OLD.memo IS NOT NEW.memo OR OLD.employee_id IS NOT NEW.employee_id
+BEGIN
+    UPDATE attendance_fts
+       SET memo = NEW.memo,
+           name = (SELECT name FROM employees WHERE id = NEW.employee_id)
+     WHERE rowid = NEW.id;
+END;
+
+-- 직원 이름이 바뀌면 그 직원의 기록 색인도 갱신
+--   직원 저장은 name을 항상 다시 쓰므로(전화/시급/메모만 고쳐도) 이름이 실제로 바뀐 경우만
+CREATE TRIGGER trg_employees_fts_rename AFTER UPDATE OF name ON employees
+WHEN OLD.name IS NOT NEW.name
+BEGIN
+    UPDATE attendance_fts
+       SET memo = (SELECT a.memo FROM attendance a WHERE a.id = attendance_fts.rowid),
+           name = NEW.name
+     WHERE rowid IN (SELECT id FROM attendance WHERE employee_id = NEW.id);
+END;
+
+-- 직원이 지워져도 기록은 남으므로 이름만 비운다
+CREATE TRIGGER trg_employees_fts_delete AFTER DELETE ON employees
+BEGIN
+    UPDATE attendance_fts
+       SET memo = (SELECT a.memo FROM attendance a WHERE a.id = attendance_fts.rowid),
+           name = NULL
+     WHERE rowid IN (SELECT id FROM attendance WHERE employee_id = OLD.id);
+END;
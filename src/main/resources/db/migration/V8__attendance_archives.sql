@@ -0,0 +1,35 @@
+-- 연도별 보관 DB 목록. 보관된 연도의 기록은 데이터 폴더의 attendance-YYYY.db로 옮겨지고,
+-- 조회 기간이 그 연도에 닿을 때만 ATTACH 해서 함께 읽는다.
+--   first_day/last_day : 보관 구간(epoch-day, 양끝 포함)
+--   rows               : 보관 DB로 옮긴 누적 행 수
+CREATE TABLE IF NOT EXISTS attendance_archives (
+    year INTEGER PRIMARY KEY,
+    first_day INTEGER NOT NULL,
+    last_day INTEGER NOT NULL,
+    file TEXT NOT NULL,
+    rows INTEGER NOT NULL DEFAULT 0,
+    archived_at TEXT
+);
+
+-- 보관 이동으로 지워지는 행은 집계에서 빼지 않는다(보관 연도의 근무시간 요약은 그대로 hot DB 집계에서 읽음).
+-- 연도를 먼저 등록한 뒤 옮기므로, 등록된 구간의 삭제는 집계 트리거를 건너뛴다.
+DROP TRIGGER IF EXISTS trg_attendance_agg_delete;
+CREATE TRIGGER trg_attendance_agg_delete AFTER DELETE ON attendance
+WHEN NOT EXISTS (SELECT 1 FROM attendance_archives x WHERE OLD.work_day BETWEEN x.first_day AND x.last_day)
+BEGIN
+    UPDATE agg_emp_day
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE employee_id = OLD.employee_id AND work_day = OLD.work_day;
+    DELETE FROM agg_emp_day WHERE employee_id = OLD.employee_id AND work_day = OLD.work_day AND shifts <= 0;
+
+    UPDATE agg_emp_month
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE employee_id = OLD.employee_id AND ym = CAST(strftime('%Y%m', OLD.work_day + 2440587.5) AS INTEGER);
+    DELETE FROM agg_emp_month
+     WHERE employee_id = OLD.employee_id AND ym = CAST(strftime('%Y%m', OLD.work_day + 2440587.5) AS INTEGER) AND shifts <= 0;
+
+    UPDATE agg_day
+       SET minutes = minutes - IFNULL((OLD.out_min - OLD.in_min + 1440) % 1440, 0), shifts = shifts - 1
+     WHERE work_day = OLD.work_day;
+    DELETE FROM agg_day WHERE work_day = OLD.work_day AND shifts <= 0;
+END;
@@ -0,0 +1,56 @@
+-- 변경 기록(append-only). 근태/직원 행의 추가·수정·삭제를 같은 트랜잭션 안에서 트리거가 한 줄씩 남긴다.
+-- 캐시/화면/내보내기는 마지막으로 본 seq 이후만 읽어(changesSince) 전체 재조회 없이 따라잡는다.
+--   seq          : 단조 증가 번호(AUTOINCREMENT: 오래된 기록을 지워도 다시 쓰지 않음)
+--   entity       : 'A' 근태, 'E' 직원
+--   op           : 'I' 추가, 'U' 수정, 'D' 삭제
+--   row_id       : 바뀐 행의 id
+--   employee_id  : 근태면 사번(수정 후), 직원이면 row_id와 같음
+--   work_day     : 근태의 근무일(epoch-day, 삭제면 지운 행의 값)
+--   old_work_day / old_employee_id : 근태 수정으로 근무일/사번이 바뀐 경우 이전 값(아니면 NULL)
+-- 오래된 기록은 앞에서부터 잘라낸다(AttendanceRepository.pruneChanges).
+CREATE TABLE IF NOT EXISTS change_log (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    entity TEXT NOT NULL,
+    op TEXT NOT NULL,
+    row_id INTEGER NOT NULL,
+    employee_id INTEGER,
+    work_day INTEGER,
+    old_work_day INTEGER,
+    old_employee_id INTEGER
+);
+
+CREATE TRIGGER trg_attendance_log_insert AFTER INSERT ON attendance
+BEGIN
+    INSERT INTO change_log(entity, op, row_id, employee_id, work_day)
+    VALUES ('A', 'I', NEW.id, NEW.employee_id, NEW.work_day);
+END;
+
+CREATE TRIGGER trg_attendance_log_update AFTER UPDATE ON attendance
+BEGIN
+    INSERT INTO change_log(entity, op, row_id, employee_id, work_day, old_work_day, old_employee_id)
+    VALUES ('A', 'U', NEW.id, NEW.employee_id, NEW.work_day,
+            NULLIF(OLD.work_day, NEW.work_day), NULLIF(OLD.employee_id, NEW.employee_id));
+END;
+
+-- 보관(V8) 이동으로 지워지는 행은 보관 DB에서 그대로 보이므로 변경이 아니다
+CREATE TRIGGER trg_attendance_log_delete AFTER DELETE ON attendance
+WHEN NOT EXISTS (SELECT 1 FROM attendance_archives x WHERE OLD.work_day BETWEEN x.first_day AND x.last_day)
+BEGIN
+    INSERT INTO change_log(entity, op, row_id, employee_id, work_day)
+    VALUES ('A', 'D', OLD.id, OLD.employee_id, OLD.work_day);
+END;
+
+CREATE TRIGGER trg_employees_log_insert AFTER INSERT ON employees
+BEGIN
+    INSERT INTO change_log(entity, op, row_id, employee_id) VALUES ('E', 'I', NEW.id, NEW.id);
+END;
+
+CREATE TRIGGER trg_employees_log_update AFTER UPDATE ON employees
+BEGIN
+    INSERT INTO change_log(entity, op, row_id, employee_id) VALUES ('E', 'U', NEW.id, NEW.id);
+END;
+
+CREATE TRIGGER trg_employees_log_delete AFTER DELETE ON employees
+BEGIN
+    INSERT INTO change_log(entity, op, row_id, employee_id) VALUES ('E', 'D', OLD.id, OLD.id);
+END;
@@ -0,0 +1,205 @@
+package com.maemong.attendance.adapters.db;
+
+import com.maemong.attendance.adapters.memory.ColumnarAttendanceRepository;
+import com.maemong.attendance.adapters.memory.MirroredAttendanceRepository;
+import com.maemong.attendance.db.MigrationRunner;
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.BatchResult;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.ports.AttendanceRepository;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 저장소 구현 간 결과 일치 테스트.
+ * SQLite 저장소(기준), 메모리 열 저장소, SQLite 앞에 메모리 사본을 둔 저장소에 같은 쓰기를 같은 순서로 하고
+ * 쓰기 결과(발급 id, 실패 행, 업서트 건수, 삭제 건수)와 조회·집계 결과가 모두 같은지 본다.
+ * 메모리 열 저장소는 id 값만 빼고 비교한다: SQLite AUTOINCREMENT는 기존 키에 걸린 업서트에도 번호를 하나 쓰므로
+ * 발급 번호가 벌어진다(순서는 둘 다 발급 순이라 같다). 보관 연도는 SQLite 저장소에만 있으므로 다루지 않는다.
+ */
+class AttendanceRepositoryParityTest {
+	private static final int EMPLOYEES = 12;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+	private static final LocalDate LAST_DAY = LocalDate.of(2024, 3, 31);
+
+	@TempDir
+	Path dir;
+
+	private final Map<String, AttendanceRepository> repos = new LinkedHashMap<>();
+
+	@BeforeEach
+	void open() throws Exception {
+		repos.put("jdbi", new AttendanceRepositoryJdbi(migrated("jdbi"), migrated("jdbi"), null));
+		repos.put("columnar", new ColumnarAttendanceRepository());
+		MirroredAttendanceRepository mirrored = new MirroredAttendanceRepository(
+				new AttendanceRepositoryJdbi(migrated("mirrored"), migrated("mirrored"), null));
+		mirrored.load();
+		repos.put("mirrored", mirrored);
+	}
+
+	private Jdbi migrated(String name) throws Exception {
+		Path sub = Files.createDirectories(dir.resolve(name));
+		SQLiteDataSource ds = new SQLiteDataSource();
+		ds.setUrl("jdbc:sqlite:" + sub.resolve("attendance.db"));
+		MigrationRunner.migrate(ds, false);
+		return Jdbi.create(ds);
+	}
+
+	@Test
+	void writesAndReadsMatch() {
+		// 합성 데이터: 출근이 없는 기록(메모만/퇴근만), 자정 넘김, 같은 날 두 번(분할 근무) 포함
+		Random rnd = new Random(23);
+		List<AttendanceRecord> seed = new ArrayList<>();
+		for (LocalDate d = FIRST_DAY; !d.isAfter(LAST_DAY); d = d.plusDays(1)) {
+			for (long emp = 1; emp <= EMPLOYEES; emp++) {
+				int kind = rnd.nextInt(20);
+				if (kind < 6) continue;
+				int start = 7 * 60 + rnd.nextInt(10) * 30;
+				if (kind == 6) seed.add(new AttendanceRecord(null, emp, d, null, null, "연차"));
+				else if (kind == 7) seed.add(new AttendanceRecord(null, emp, d, null, time(18 * 60), null));
+				else if (kind == 8) seed.add(record(emp, d, 22 * 60, 6 * 60, "야간"));
+				else seed.add(record(emp, d, start, start + 240 + rnd.nextInt(5) * 60, kind == 9 ? "대타" : null));
+				if (kind == 19) seed.add(record(emp, d, 20 * 60, 23 * 60, null));
+			}
+		}
+		same("saveAll(seed)", r -> r.saveAll(seed));
+		same("saveAllDurable", r -> r.saveAllDurable(List.of(record(1, LAST_DAY, 1 * 60, 2 * 60, "새벽"))));
+
+		// 한 건 저장: 추가, 수정, 자연키 충돌, 없는 id 수정
+		LocalDate d = LocalDate.of(2024, 2, 14);
+		AttendanceRecord first = repos.get("jdbi").findByDate(d).getFirst();
+		same("save(insert)", r -> outcome(() -> r.save(record(2, d, 5 * 60, 6 * 60, "청소"))));
+		same("save(update)", r -> outcome(() -> r.save(new AttendanceRecord(first.id(), first.employeeId(), d,
+				first.clockIn(), time(23 * 60), "수정"))));
+		same("save(natural key conflict)", r -> outcome(() -> r.save(record(2, d, 5 * 60, 7 * 60, null))));
+		same("save(missing id)", r -> outcome(() -> r.save(new AttendanceRecord(999_999L, 1L, d, time(9 * 60), null, null))));
+		same("saveAll(conflict + missing id)", r -> r.saveAll(List.of(
+				record(3, d.plusDays(1), 4 * 60, 5 * 60, null),
+				record(2, d, 5 * 60, 8 * 60, null),
+				new AttendanceRecord(999_999L, 1L, d, time(9 * 60), null, null))));
+
+		// 자연키 업서트: 새 키, 퇴근/메모만 다른 같은 키, 값이 같은 키, 출근 없는 기록(같은 것/새 것), 배치 안 중복
+		List<AttendanceRecord> existing = repos.get("jdbi").findByDate(LocalDate.of(2024, 3, 4));
+		List<AttendanceRecord> upserts = new ArrayList<>();
+		for (AttendanceRecord e : existing) {
+			AttendanceRecord key = new AttendanceRecord(null, e.employeeId(), e.workDate(), e.clockIn(), e.clockOut(), e.memo());
+			upserts.add(e.clockIn() != null && e.employeeId() % 2 == 0
+					? new AttendanceRecord(null, e.employeeId(), e.workDate(), e.clockIn(), time(21 * 60), "재가져오기")
+					: key);
+		}
+		upserts.add(record(EMPLOYEES, LocalDate.of(2024, 3, 4), 3 * 60, 4 * 60, null));
+		upserts.add(new AttendanceRecord(null, 1L, LocalDate.of(2024, 3, 4), null, null, "외근"));
+		upserts.add(record(EMPLOYEES, LocalDate.of(2024, 3, 5), 3 * 60, 4 * 60, null));
+		upserts.add(record(EMPLOYEES, LocalDate.of(2024, 3, 5), 3 * 60, 5 * 60, "두 번째"));
+		same("upsertAll", r -> r.upsertAll(upserts));
+		same("upsertAll(again)", r -> r.upsertAll(upserts));
+
+		// 삭제: 있는 id, 없는 id, 중복 id
+		List<Long> ids = repos.get("jdbi").findByDate(LocalDate.of(2024, 1, 10)).stream().map(AttendanceRecord::id).toList();
+		same("deleteById", r -> r.deleteById(ids.getFirst()));
+		same("deleteById(missing)", r -> r.deleteById(ids.getFirst()));
+		same("deleteByIds", r -> r.deleteByIds(List.of(ids.get(1), ids.get(1), ids.getLast(), 999_999L)));
+
+		// ===== 조회 =====
+		same("findById", r -> r.findById(first.id()));
+		same("findById(missing)", r -> r.findById(ids.getFirst()));
+		// 날짜/기간 조회는 사번·근무일이 같은 행끼리의 순서를 정하지 않는다(SQLite는 인덱스 순서, 메모리는 id 순)
+		for (LocalDate day : List.of(FIRST_DAY, d, LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 5), LAST_DAY)) {
+			same("findByDate " + day, r -> inKeyOrder(r.findByDate(day)));
+		}
+		same("findByMonth", r -> inKeyOrder(r.findByMonth(YearMonth.of(2024, 2))));
+		same("findByEmployeeAndRange", r -> inKeyOrder(r.findByEmployeeAndRange(2, d.minusDays(3), d.plusDays(3))));
+		same("streamByRange", r -> {
+			try (Stream<AttendanceRecord> s = r.streamByRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29))) {
+				return inKeyOrder(s.toList());
+			}
+		});
+		// 페이지는 (근무일, 사번, id) 순서까지 계약이다
+		same("findPage(keyset walk)", r -> allPages(r, FIRST_DAY, LAST_DAY, 37));
+		same("findPage(after key before range)", r -> r.findPage(d, LAST_DAY, new PageKey(FIRST_DAY, 1, 1), 50));
+
+		// ===== 근무 분 집계(달 단위 구간과 일 단위 구간) =====
+		same("minutesByEmployee(months)", r -> r.minutesByEmployee(FIRST_DAY, LAST_DAY));
+		same("minutesByEmployee(days)", r -> r.minutesByEmployee(LocalDate.of(2024, 2, 10), LocalDate.of(2024, 3, 5)));
+		same("minutesByDate(all)", r -> r.minutesByDate(LocalDate.of(2024, 2, 10), LocalDate.of(2024, 3, 5), null));
+		same("minutesByDate(emp)", r -> r.minutesByDate(FIRST_DAY, LAST_DAY, 2L));
+	}
+
+	/** 모든 저장소에 같은 호출을 하고 기준(jdbi) 결과와 비교한다 */
+	private <T> void same(String label, Function<AttendanceRepository, T> call) {
+		T expected = null;
+		for (Map.Entry<String, AttendanceRepository> e : repos.entrySet()) {
+			T actual = call.apply(e.getValue());
+			if (expected == null) expected = actual;
+			else if (e.getValue() instanceof ColumnarAttendanceRepository) {
+				assertEquals(withoutIds(expected), withoutIds(actual), label + ": " + e.getKey() + " 결과가 jdbi와 다릅니다(id 제외)");
+			} else {
+				assertEquals(expected, actual, label + ": " + e.getKey() + " 결과가 jdbi와 다릅니다");
+			}
+		}
+	}
+
+	private static Object withoutIds(Object v) {
+		return switch (v) {
+			case AttendanceRecord r -> new AttendanceRecord(null, r.employeeId(), r.workDate(), r.clockIn(), r.clockOut(), r.memo());
+			case List<?> l -> l.stream().map(AttendanceRepositoryParityTest::withoutIds).toList();
+			case Optional<?> o -> o.map(AttendanceRepositoryParityTest::withoutIds);
+			case BatchResult b -> List.of(withoutIds(b.saved()), b.failures());
+			case null, default -> v;
+		};
+	}
+
+	// 예외도 결과로 비교(메시지까지)
+	private static Object outcome(java.util.function.Supplier<Object> call) {
+		try {
+			return call.get();
+		} catch (IllegalArgumentException ex) {
+			return "실패: " + ex.getMessage();
+		}
+	}
+
+	// 조회 결과가 (근무일, 사번) 순인지 확인하고 같은 키 안은 id 순으로 맞춘다
+	private static List<AttendanceRecord> inKeyOrder(List<AttendanceRecord> rows) {
+		Comparator<AttendanceRecord> key = Comparator.comparing(AttendanceRecord::workDate).thenComparingLong(AttendanceRecord::employeeId);
+		for (int i = 1; i < rows.size(); i++) {
+			assertTrue(key.compare(rows.get(i - 1), rows.get(i)) <= 0, () -> "(근무일, 사번) 순이 아닙니다: " + rows);
+		}
+		List<AttendanceRecord> out = new ArrayList<>(rows);
+		out.sort(key.thenComparing(AttendanceRecord::id));
+		return out;
+	}
+
+	private static List<AttendanceRecord> allPages(AttendanceRepository r, LocalDate from, LocalDate to, int limit) {
+		List<AttendanceRecord> all = new ArrayList<>();
+		PageKey after = null;
+		while (true) {
+			List<AttendanceRecord> page = r.findPage(from, to, after, limit);
+			all.addAll(page);
+			if (page.size() < limit) return all;
+			after = PageKey.of(page.getLast());
+		}
+	}
+
+	private static AttendanceRecord record(long emp, LocalDate d, int inMin, int outMin, String memo) {
+		return new AttendanceRecord(null, emp, d, time(inMin), time(outMin), memo);
+	}
+
+	private static LocalTime time(int minute) {
+		return LocalTime.of(minute / 60 % 24, minute % 60);
+	}
+}
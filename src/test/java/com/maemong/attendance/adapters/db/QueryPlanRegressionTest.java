@@ -0,0 +1,296 @@
+package com.maemong.attendance.adapters.db;
+
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.domain.DateRange;
+import com.maemong.attendance.domain.Employee;
+import com.maemong.attendance.domain.PageKey;
+import com.maemong.attendance.db.MigrationRunner;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 저장소 SQL 실행 계획 회귀 테스트.
+ * 마이그레이션을 모두 적용한 DB에 매장 규모의 합성 데이터(직원 60명 × 3년)를 넣고,
+ * 저장소 메서드가 실제로 실행하는 SQL을 Jdbi SqlLogger로 가로채 같은 연결에서 EXPLAIN QUERY PLAN을 뜬다.
+ * 인덱스로 찾아야 할 테이블을 처음부터 훑는(SCAN) 계획이 나오면 실패한다.
+ * 전체를 읽는 것이 목적인 호출(직원 목록, 집계 재구성 등)만 허용할 테이블을 명시한다.
+ * 운영 DB처럼 ANALYZE 통계 없이 확인한다.
+ */
+class QueryPlanRegressionTest {
+	private static final int EMPLOYEES = 60;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+	private static final LocalDate LAST_DAY = LocalDate.of(2024, 12, 31);
+	private static final int ARCHIVED_YEAR = 2022;
+
+	// "SCAN a", "SCAN attendance USING COVERING INDEX ..." (SEARCH/가상 테이블/서브쿼리/상수 행은 제외)
+	private static final Pattern SCAN = Pattern.compile("^SCAN (\\S+)(.*)$");
+
+	@TempDir
+	static Path dir;
+
+	private static Jdbi jdbi;
+	private static AttendanceRepositoryJdbi attendance;
+	private static EmployeeRepositoryJdbi employees;
+	private static final PlanCapture capture = new PlanCapture();
+	private static long sampleId;
+	private static long sampleEmp;
+
+	@BeforeAll
+	static void seed() {
+		SQLiteDataSource ds = new SQLiteDataSource();
+		ds.setUrl("jdbc:sqlite:" + dir.resolve("attendance.db"));
+		MigrationRunner.migrate(ds, false);
+		jdbi = Jdbi.create(ds);
+		jdbi.setSqlLogger(capture);
+		attendance = new AttendanceRepositoryJdbi(jdbi, jdbi, dir);
+		employees = new EmployeeRepositoryJdbi(jdbi, jdbi);
+
+		String[] memos = {"대타 근무", "지각", "조퇴(병원)", "야간 연장", "재고 정리", null, null, null};
+		Random rnd = new Random(17);
+		for (int i = 1; i <= EMPLOYEES; i++) {
+			employees.save(new Employee(null, "직원" + i, null, null, null, 10_000, null, null, null, null, null));
+		}
+		// 하루 평균 40명 남짓 근무, 일부는 같은 날 두 번(분할 근무)
+		List<AttendanceRecord> buf = new ArrayList<>();
+		for (LocalDate d = FIRST_DAY; !d.isAfter(LAST_DAY); d = d.plusDays(1)) {
+			for (long emp = 1; emp <= EMPLOYEES; emp++) {
+				if (rnd.nextInt(10) < 3) continue;
+				int start = 7 * 60 + rnd.nextInt(8) * 30;
+				buf.add(record(emp, d, start, start + 240 + rnd.nextInt(5) * 60, memos[rnd.nextInt(memos.length)]));
+				if (rnd.nextInt(20) == 0) buf.add(record(emp, d, 20 * 60, 23 * 60, null));
+			}
+			if (buf.size() >= 5000) {
+				attendance.saveAll(buf);
+				buf.clear();
+			}
+		}
+		attendance.saveAll(buf);
+		AttendanceRecord sample = attendance.findByDate(LocalDate.of(2024, 6, 3)).getFirst();
+		sampleId = sample.id();
+		sampleEmp = sample.employeeId();
+	}
+
+	private static AttendanceRecord record(long emp, LocalDate d, int inMin, int outMin, String memo) {
+		return new AttendanceRecord(null, emp, d, LocalTime.of(inMin / 60, inMin % 60), LocalTime.of(outMin / 60 % 24, outMin % 60), memo);
+	}
+
+	// ===== 근태 조회 =====
+
+	@Test
+	void attendanceReadsUseIndexes() {
+		LocalDate d = LocalDate.of(2024, 6, 3);
+		assertIndexed("findById", () -> attendance.findById(sampleId));
+		assertIndexed("findByDate", () -> attendance.findByDate(d));
+		assertIndexed("findByMonth", () -> attendance.findByMonth(YearMonth.of(2024, 6)));
+		assertIndexed("findByEmployeeAndRange", () -> attendance.findByEmployeeAndRange(sampleEmp, d.minusDays(1), d.plusDays(1)));
+		assertIndexed("findPage(first)", () -> attendance.findPage(d, d.plusMonths(2), null, 200));
+		List<AttendanceRecord> page = attendance.findPage(d, d.plusMonths(2), null, 200);
+		assertIndexed("findPage(after)", () -> attendance.findPage(d, d.plusMonths(2), PageKey.of(page.getLast()), 200));
+		assertIndexed("streamByRange", () -> {
+			try (Stream<AttendanceRecord> s = attendance.streamByRange(d, d.plusMonths(1))) {
+				s.forEach(r -> {});
+			}
+		});
+	}
+
+	@Test
+	void searchUsesFullTextIndex() {
+		assertIndexed("searchRecords(all)", () -> attendance.searchRecords("대타", DateRange.all()));
+		assertIndexed("searchRecords(range)", () -> attendance.searchRecords("직원7 야간",
+				DateRange.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31))));
+	}
+
+	@Test
+	void aggregateReadsUseIndexes() {
+		LocalDate from = LocalDate.of(2024, 6, 1);
+		LocalDate to = LocalDate.of(2024, 6, 30);
+		assertIndexed("minutesByEmployee", () -> attendance.minutesByEmployee(from, to));
+		assertIndexed("minutesByDate(all)", () -> attendance.minutesByDate(from, to, null));
+		assertIndexed("minutesByDate(emp)", () -> attendance.minutesByDate(from, to, sampleEmp));
+	}
+
+	// ===== 근태 쓰기(트리거 본문은 계획에 나오지 않으므로 저장소 문장만 확인) =====
+
+	@Test
+	void attendanceWritesUseIndexes() {
+		LocalDate d = LocalDate.of(2024, 12, 30);
+		assertIndexed("save(insert)", () -> attendance.save(record(1, d, 5 * 60, 6 * 60, "새벽 청소")));
+		AttendanceRecord saved = attendance.findByEmployeeAndRange(1, d, d).getFirst();
+		assertIndexed("save(update)", () -> attendance.save(new AttendanceRecord(saved.id(), 1L, d,
+				saved.clockIn(), saved.clockOut(), "수정")));
+		assertIndexed("saveAll", () -> attendance.saveAll(List.of(record(2, d, 5 * 60, 6 * 60, null), record(3, d, 5 * 60, 6 * 60, null))));
+		assertIndexed("upsertAll", () -> attendance.upsertAll(List.of(record(2, d, 5 * 60, 7 * 60, null), record(4, d, 5 * 60, 6 * 60, null))));
+		List<Long> ids = attendance.findByDate(d).stream().filter(r -> r.clockIn().getHour() == 5).map(AttendanceRecord::id).toList();
+		assertIndexed("deleteById", () -> attendance.deleteById(ids.getFirst()));
+		assertIndexed("deleteByIds", () -> attendance.deleteByIds(ids.subList(1, ids.size())));
+		assertIndexed("upsertAll(no clock-in)", () -> attendance.upsertAll(List.of(new AttendanceRecord(null, 5L, d, null, null, "연차"))));
+	}
+
+	// ===== 변경 기록 =====
+
+	@Test
+	void changeLogUsesSequenceKey() {
+		long head = attendance.lastChangeSeq();
+		// sqlite_sequence는 AUTOINCREMENT 테이블당 한 행(세 행)이라 훑어도 된다
+		assertIndexed("lastChangeSeq", attendance::lastChangeSeq, "sqlite_sequence");
+		assertIndexed("changesSince", () -> attendance.changesSince(head - 100), "sqlite_sequence");
+		assertIndexed("employees.changesSince", () -> employees.changesSince(head - 100), "sqlite_sequence");
+		assertIndexed("pruneChanges", () -> attendance.pruneChanges(1_000_000), "sqlite_sequence");
+	}
+
+	// ===== 직원 =====
+
+	@Test
+	void employeeStatements() {
+		assertIndexed("employees.findById", () -> employees.findById(sampleEmp));
+		assertIndexed("employees.existsById", () -> employees.existsById(sampleEmp));
+		assertIndexed("employees.save(update)", () -> employees.save(new Employee(sampleEmp, "직원" + sampleEmp, null, null, null, 11_000, null, null, null, null, null)));
+		// 목록/부분일치(LIKE '%q%')는 전체를 읽는 것이 목적: 직원 테이블은 수십 행
+		assertIndexed("employees.findAll", employees::findAll, "employees");
+		assertIndexed("employees.searchByName", () -> employees.searchByName("직원1"), "employees");
+		assertIndexed("employees.findNames", employees::findNames, "employees");
+		assertIndexed("employees.findIds", employees::findIds, "employees");
+		assertIndexed("employees.searchNames", () -> employees.searchNames("직원1"), "employees");
+		long id = employees.save(new Employee(null, "임시", null, null, null, null, null, null, null, null, null)).id();
+		assertIndexed("employees.deleteById", () -> employees.deleteById(id));
+	}
+
+	// ===== 보관 연도(보관 DB를 ATTACH 해서 함께 읽음) =====
+
+	@Test
+	void archivedYearReadsUseIndexes() {
+		if (!attendance.archivedYears().contains(ARCHIVED_YEAR)) {
+			// 이동 청크: 구간 탐색 후 id 목록으로 옮기고 지운다. 보관 목록(연도당 한 행)은 훑어도 된다
+			assertIndexed("archiveYear", () -> attendance.archiveYear(ARCHIVED_YEAR), "attendance_archives");
+		}
+		LocalDate d = LocalDate.of(ARCHIVED_YEAR, 6, 3);
+		// archivedYears()는 목록을 잠시 캐시하므로 목록 조회 자체를 직접 확인
+		assertIndexed("AttendanceArchive.load", () -> jdbi.withHandle(AttendanceArchive::load), "attendance_archives");
+		assertIndexed("findByDate(archived)", () -> attendance.findByDate(d));
+		assertIndexed("findByMonth(archived)", () -> attendance.findByMonth(YearMonth.of(ARCHIVED_YEAR, 6)));
+		assertIndexed("findByEmployeeAndRange(archived)", () -> attendance.findByEmployeeAndRange(sampleEmp, d, d.plusDays(1)));
+		assertIndexed("findPage(across)", () -> attendance.findPage(LocalDate.of(ARCHIVED_YEAR, 12, 20), LocalDate.of(ARCHIVED_YEAR + 1, 1, 10), null, 200));
+		assertIndexed("searchRecords(across)", () -> attendance.searchRecords("재고", DateRange.of(LocalDate.of(ARCHIVED_YEAR, 11, 1), LocalDate.of(ARCHIVED_YEAR + 1, 2, 1))));
+	}
+
+	// ===== 집계 재구성/검증: 원본 전체를 다시 읽는 것이 목적 =====
+
+	@Test
+	void aggregateMaintenanceScansOnlyWhatItRebuilds() {
+		String[] rebuilt = {"attendance", "agg_emp_day", "agg_emp_month", "agg_day", "attendance_archives"};
+		assertIndexed("rebuildAggregates", attendance::rebuildAggregates, rebuilt);
+		assertIndexed("verifyAggregates", attendance::verifyAggregates, rebuilt);
+	}
+
+	// 검사 자체가 살아 있는지: 인덱스 없는 열 조건은 잡아내야 한다
+	@Test
+	void detectsFullScan() {
+		assertThrows(AssertionError.class, () -> assertIndexed("memo equality", () ->
+				jdbi.withHandle(h -> h.createQuery("SELECT id FROM attendance WHERE memo = :m").bind("m", "지각").mapTo(Long.class).list())));
+	}
+
+	/**
+	 * call이 실행한 SQL마다 실행 계획을 확인한다. allowedScans: 훑어도 되는 테이블(별칭 말고 실제 이름 또는 계획에 찍힌 이름)
+	 */
+	private static void assertIndexed(String label, Runnable call, String... allowedScans) {
+		List<Plan> plans = capture.during(call);
+		if (plans.isEmpty()) fail(label + ": 실행된 SQL이 없습니다(캡처 실패)");
+		Set<String> allowed = Set.of(allowedScans);
+		List<String> problems = new ArrayList<>();
+		for (Plan p : plans) {
+			for (String scanned : p.scans()) {
+				if (!allowed.contains(scanned) && !allowed.contains(p.aliases().getOrDefault(scanned, scanned))) {
+					problems.add("SCAN " + scanned + "\n  SQL: " + p.sql() + "\n  계획:\n    " + String.join("\n    ", p.details()));
+				}
+			}
+		}
+		assertTrue(problems.isEmpty(), () -> label + ": 인덱스 없이 전체를 훑는 계획\n" + String.join("\n", problems));
+	}
+
+	/** 실행된 SQL 한 문장의 계획 */
+	private record Plan(String sql, List<String> details, Map<String, String> aliases) {
+		/** 계획에서 테이블/인덱스를 처음부터 훑는 대상(SCAN 뒤 이름) */
+		List<String> scans() {
+			List<String> out = new ArrayList<>();
+			for (String d : details) {
+				Matcher m = SCAN.matcher(d);
+				if (!m.matches()) continue;
+				String name = m.group(1);
+				String rest = m.group(2);
+				if (name.startsWith("(") || name.equals("CONSTANT") || rest.contains("VIRTUAL TABLE")) continue;
+				out.add(name);
+			}
+			return out;
+		}
+	}
+
+	/** Jdbi가 문장을 실행하기 직전에 같은 연결에서 EXPLAIN QUERY PLAN을 뜬다(ATTACH된 보관 DB도 그대로 보임) */
+	private static final class PlanCapture implements SqlLogger {
+		private static final Pattern DML = Pattern.compile("^\\s*(SELECT|INSERT|UPDATE|DELETE|REPLACE|WITH)\\b", Pattern.CASE_INSENSITIVE);
+		// FROM/JOIN 뒤 "[schema.]table alias" → alias: table
+		private static final Pattern ALIAS = Pattern.compile(
+				"\\b(?:FROM|JOIN)\\s+(?:\\w+\\.)?(\\w+)\\s+(?!WHERE|JOIN|ON|LEFT|ORDER|GROUP|LIMIT|USING|INNER|CROSS|UNION)(\\w+)",
+				Pattern.CASE_INSENSITIVE);
+
+		private List<Plan> current;
+
+		synchronized List<Plan> during(Runnable call) {
+			current = new ArrayList<>();
+			try {
+				call.run();
+				return current;
+			} finally {
+				current = null;
+			}
+		}
+
+		@Override public void logBeforeExecution(StatementContext ctx) {
+			List<Plan> plans = current;
+			if (plans == null) return;
+			String sql = ctx.getParsedSql().getSql();
+			if (!DML.matcher(sql).find()) return; // PRAGMA/ATTACH/VACUUM 등
+			plans.add(new Plan(sql, explain(ctx.getConnection(), sql), aliases(sql)));
+		}
+
+		// 파라미터는 바인딩하지 않는다(SQLite는 NULL로 보고 계획을 세우며, 값에 따라 인덱스 선택이 바뀌지 않음)
+		private static List<String> explain(Connection c, String sql) {
+			List<String> details = new ArrayList<>();
+			try (PreparedStatement ps = c.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+			     ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) details.add(rs.getString("detail"));
+			} catch (SQLException e) {
+				throw new IllegalStateException("실행 계획을 뜨지 못했습니다: " + sql, e);
+			}
+			return details;
+		}
+
+		private static Map<String, String> aliases(String sql) {
+			Map<String, String> out = new HashMap<>();
+			Matcher m = ALIAS.matcher(sql);
+			while (m.find()) out.put(m.group(2), m.group(1));
+			return out;
+		}
+	}
+}
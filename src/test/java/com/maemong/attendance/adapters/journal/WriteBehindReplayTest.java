@@ -0,0 +1,75 @@
+package com.maemong.attendance.adapters.journal;
+
+import com.maemong.attendance.adapters.db.AttendanceRepositoryJdbi;
+import com.maemong.attendance.db.MigrationRunner;
+import com.maemong.attendance.domain.AttendanceRecord;
+import com.maemong.attendance.ports.AttendanceRepository;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 지연 쓰기 재시작 테스트.
+ * 묶음 커밋은 끝났는데 일지를 비우기 전에 프로세스가 죽은 상황을 만들고(일지 항목을 쓰고, 같은 기록을 DB에 저장하고,
+ * 처리 끝 표시 없이 닫는다) 다시 시작했을 때 이미 들어간 기록이 두 번 들어가지 않는지 본다.
+ * 출근 시각이 없는 기록은 자연키 인덱스가 NULL을 서로 다르게 보므로 중복으로 걸리지 않는 경우다.
+ */
+class WriteBehindReplayTest {
+	private static final LocalDate DAY = LocalDate.of(2024, 5, 7);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void replayAfterCommitDoesNotDuplicate() throws Exception {
+		AttendanceRepository repo = repository();
+		List<AttendanceRecord> committed = List.of(
+				new AttendanceRecord(null, 1L, DAY, LocalTime.of(9, 0), LocalTime.of(18, 0), null),
+				new AttendanceRecord(null, 2L, DAY, null, null, "연차"),
+				new AttendanceRecord(null, 2L, DAY, null, null, "연차"),
+				new AttendanceRecord(null, 3L, DAY, null, LocalTime.of(18, 0), null));
+		// 커밋되지 못한 다음 묶음: 이미 있는 행과 내용이 같아도 한 건 더 들어가야 한다
+		AttendanceRecord uncommitted = new AttendanceRecord(null, 2L, DAY, null, null, "연차");
+
+		Path file = dir.resolve("write-behind.journal");
+		try (WriteBehindJournal journal = WriteBehindJournal.open(file)) {
+			long seq = 0;
+			for (AttendanceRecord r : committed) journal.append(++seq, r);
+			journal.append(++seq, uncommitted);
+			journal.force();
+			assertEquals(committed.size(), repo.saveAllDurable(committed).okCount());
+		} // 일지를 비우지 않고 닫는다 = 커밋 직후 중단
+
+		WriteBehindAttendanceQueue.start(repo, file, 16).close();
+		assertEquals(committed.size() + 1, rows(repo));
+
+		// 일지가 비었으므로 한 번 더 시작해도 그대로
+		WriteBehindAttendanceQueue.start(repo, file, 16).close();
+		assertEquals(committed.size() + 1, rows(repo));
+		try (WriteBehindJournal journal = WriteBehindJournal.open(file)) {
+			assertTrue(journal.pending().isEmpty());
+		}
+	}
+
+	private AttendanceRepository repository() throws Exception {
+		SQLiteDataSource ds = new SQLiteDataSource();
+		ds.setUrl("jdbc:sqlite:" + dir.resolve("attendance.db"));
+		MigrationRunner.migrate(ds, false);
+		Jdbi jdbi = Jdbi.create(ds);
+		return new AttendanceRepositoryJdbi(jdbi, jdbi, null);
+	}
+
+	private static int rows(AttendanceRepository repo) {
+		return repo.findByMonth(YearMonth.from(DAY)).size();
+	}
+}